@@ -0,0 +1,69 @@
+package agp.benchmark;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.ToIntFunction;
+
+import agp.vo.Talk;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+/* Synthetic catalogs of talks. Catalogs are generated from fixed seed, so every run
+   of benchmark (& every engine within run) works on exactly the same talks. */
+
+@UtilityClass
+public class Catalogs {
+
+  private static final long SEED = 20180101L;
+
+  public static Set<Talk> catalogOf(int size, DurationDistribution distribution) {
+    val random = new SplittableRandom(SEED);
+    val talks = new HashSet<Talk>();
+    for (int i = 0; i < size; i++) {
+      talks.add(new Talk(titleOf(i), Duration.ofMinutes(distribution.minutes.applyAsInt(random))));
+    }
+    return talks;
+  }
+
+  public static long minutesOf(Set<Talk> talks) {
+    return talks.stream().mapToLong(talk -> talk.duration().toMinutes()).sum();
+  }
+
+  /* Titles have no digits, like titles of real input files */
+
+  private static String titleOf(int index) {
+    val title = new StringBuilder("Talk ");
+    do {
+      title.append((char) ('a' + index % 26));
+      index /= 26;
+    } while (index > 0);
+    return title.toString();
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                Auxiliary Classes                                */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  public enum DurationDistribution {
+
+    /* any minute from 5 to 60 */
+    UNIFORM(random -> random.nextInt(5, 61)),
+
+    /* multiples of 5 minutes, like in sample input */
+    ROUNDED(random -> 5 * random.nextInt(1, 13)),
+
+    /* mostly lightning talks & half-hour talks */
+    SHORT(random -> random.nextInt(4) == 0 ? 30 : 5),
+
+    /* only half-hour, 45 minutes & hour talks */
+    LONG(random -> 15 * random.nextInt(2, 5));
+
+    private final ToIntFunction<SplittableRandom> minutes;
+
+    DurationDistribution(ToIntFunction<SplittableRandom> minutes) {
+      this.minutes = minutes;
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package agp.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import agp.benchmark.Catalogs.DurationDistribution;
+import agp.scheduler.ConferenceAgendaScheduler;
+import agp.scheduler.ConferenceAgendaSchedulerImpl;
+import agp.scheduler.MorningSessionsSchedulerImpl;
+import agp.scheduler.PortfolioConferenceAgendaScheduler;
+import agp.scheduler.SchedulingException;
+import agp.vo.Talk;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConferenceAgendaSchedulerBenchmark {
+
+  @Param({"JOINT", "GREEDY", "PORTFOLIO"})
+  private Engine engine;
+
+  @Param({"20", "1000", "100000"})
+  private int size;
+
+  @Param({"UNIFORM", "ROUNDED", "LONG"})
+  private DurationDistribution distribution;
+
+  private ConferenceAgendaScheduler scheduler;
+
+  private Set<Talk> talks;
+
+
+  @Setup
+  public void setUp() {
+    scheduler = engine.schedulerFactory.get();
+    talks = Catalogs.catalogOf(size, distribution);
+  }
+
+  /* Failure on infeasible catalog is a legit outcome & its cost is measured as well */
+
+  @Benchmark
+  public Object schedule() {
+    try {
+      return scheduler.apply(talks);
+    } catch (SchedulingException ex) {
+      return ex;
+    }
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                Auxiliary Classes                                */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  public enum Engine {
+
+    JOINT(ConferenceAgendaSchedulerImpl::new),
+
+    GREEDY(() -> new ConferenceAgendaSchedulerImpl("oneByOne", MorningSessionsSchedulerImpl::new)),
+
+    PORTFOLIO(PortfolioConferenceAgendaScheduler::new);
+
+    final Supplier<ConferenceAgendaScheduler> schedulerFactory;
+
+    Engine(Supplier<ConferenceAgendaScheduler> schedulerFactory) {
+      this.schedulerFactory = schedulerFactory;
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package agp.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import agp.InputFileParser;
+import agp.ParallelInputFileParser;
+import agp.benchmark.Catalogs.DurationDistribution;
+import agp.vo.Talk;
+import lombok.val;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InputFileParserBenchmark {
+
+  @Param({"SEQUENTIAL", "PARALLEL"})
+  private Engine engine;
+
+  @Param({"20", "1000", "100000"})
+  private int size;
+
+  @Param({"ROUNDED", "SHORT"})
+  private DurationDistribution distribution;
+
+  private Function<Path, Set<Talk>> parser;
+
+  private Path inputFile;
+
+
+  @Setup
+  public void writeInputFile() throws IOException {
+    parser = engine.parserFactory.get();
+    val talks = Catalogs.catalogOf(size, distribution);
+    val lines = new ArrayList<String>(talks.size() + 1);
+    lines.add(String.valueOf(talks.size()));
+    for (Talk talk : talks) {
+      val minutes = talk.duration().toMinutes();
+      lines.add(talk.title() + " " + (minutes == 5 ? "lightning" : minutes + "min"));
+    }
+    inputFile = Files.createTempFile("talks", ".txt");
+    Files.write(inputFile, lines);
+  }
+
+  @TearDown
+  public void deleteInputFile() throws IOException {
+    Files.deleteIfExists(inputFile);
+  }
+
+  @Benchmark
+  public Set<Talk> parse() {
+    return parser.apply(inputFile);
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                Auxiliary Classes                                */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  public enum Engine {
+
+    SEQUENTIAL(InputFileParser::new),
+
+    PARALLEL(ParallelInputFileParser::new);
+
+    final Supplier<Function<Path, Set<Talk>>> parserFactory;
+
+    Engine(Supplier<Function<Path, Set<Talk>>> parserFactory) {
+      this.parserFactory = parserFactory;
+    }
+  }
+}
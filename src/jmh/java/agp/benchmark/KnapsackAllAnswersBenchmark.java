@@ -0,0 +1,52 @@
+package agp.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Set;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import agp.benchmark.Catalogs.DurationDistribution;
+import agp.util.weighable.KnapsackSolutionForTalks.Answer;
+import agp.util.weighable.SimplifiedKnapsackSolutionForTalks;
+import agp.vo.Talk;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KnapsackAllAnswersBenchmark {
+
+  @Param({"10", "15", "20"})
+  private int size;
+
+  @Param({"UNIFORM", "ROUNDED", "LONG"})
+  private DurationDistribution distribution;
+
+  private final SimplifiedKnapsackSolutionForTalks solution = new SimplifiedKnapsackSolutionForTalks();
+
+  private Set<Talk> talks;
+
+
+  @Setup
+  public void setUp() {
+    talks = Catalogs.catalogOf(size, distribution);
+  }
+
+  @Benchmark
+  public Set<Answer> allAnswers() {
+    return solution.apply(talks, KnapsackSolutionBenchmark.GOAL);
+  }
+}
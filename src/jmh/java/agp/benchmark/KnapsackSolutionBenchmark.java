@@ -0,0 +1,88 @@
+package agp.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import agp.benchmark.Catalogs.DurationDistribution;
+import agp.util.weighable.CachingKnapsackSolutionForTalks;
+import agp.util.weighable.KnapsackSolutionForTalks;
+import agp.util.weighable.KnapsackSolutionForTalks.Answer;
+import agp.util.weighable.SimplifiedKnapsackSolutionForTalks;
+import agp.util.weighable.SubsetSumKnapsackSolutionForTalks;
+import agp.vo.Talk;
+
+/* First answer for morning session is what schedulers actually need, so it's measured
+   for catalogs of all sizes. Enumeration of all answers grows exponentially, so it's
+   measured by KnapsackAllAnswersBenchmark for small catalogs only. */
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KnapsackSolutionBenchmark {
+
+  static final Duration GOAL = Duration.ofHours(3);
+
+  @Param({"SIMPLIFIED", "SUBSET_SUM", "CACHING_SUBSET_SUM"})
+  private Engine engine;
+
+  @Param({"20", "1000", "100000"})
+  private int size;
+
+  @Param({"UNIFORM", "ROUNDED", "LONG"})
+  private DurationDistribution distribution;
+
+  private KnapsackSolutionForTalks solution;
+
+  private Set<Talk> talks;
+
+
+  @Setup
+  public void setUp() {
+    solution = engine.solutionFactory.get();
+    talks = Catalogs.catalogOf(size, distribution);
+  }
+
+  @Benchmark
+  public Optional<Answer> firstAnswer() {
+    return solution.stream(talks, GOAL).findFirst();
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                Auxiliary Classes                                */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  public enum Engine {
+
+    SIMPLIFIED(SimplifiedKnapsackSolutionForTalks::new),
+
+    SUBSET_SUM(SubsetSumKnapsackSolutionForTalks::new),
+
+    /* after first invocation only hits are measured */
+    CACHING_SUBSET_SUM(() -> new CachingKnapsackSolutionForTalks(new SubsetSumKnapsackSolutionForTalks()));
+
+    final Supplier<KnapsackSolutionForTalks> solutionFactory;
+
+    Engine(Supplier<KnapsackSolutionForTalks> solutionFactory) {
+      this.solutionFactory = solutionFactory;
+    }
+  }
+}
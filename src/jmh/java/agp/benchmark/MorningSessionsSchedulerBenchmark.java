@@ -0,0 +1,88 @@
+package agp.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Set;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import agp.benchmark.Catalogs.DurationDistribution;
+import agp.scheduler.JointMorningSessionsSchedulerImpl;
+import agp.scheduler.MorningSessionsScheduler;
+import agp.scheduler.MorningSessionsSchedulerImpl;
+import agp.scheduler.SchedulingException;
+import agp.vo.Talk;
+
+/* Number of sessions is the one agenda scheduler requires for catalog: one per track of 7 hours */
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MorningSessionsSchedulerBenchmark {
+
+  @Param({"GREEDY", "JOINT"})
+  private Engine engine;
+
+  @Param({"20", "1000", "100000"})
+  private int size;
+
+  @Param({"UNIFORM", "ROUNDED", "LONG"})
+  private DurationDistribution distribution;
+
+  private MorningSessionsScheduler scheduler;
+
+  private Set<Talk> talks;
+
+
+  @Setup
+  public void setUp() {
+    talks = Catalogs.catalogOf(size, distribution);
+    scheduler = engine.schedulerFactory.apply(requiredSessionsNumberFor(talks));
+  }
+
+  private static int requiredSessionsNumberFor(Set<Talk> talks) {
+    return (int) ((Catalogs.minutesOf(talks) + 419) / 420);
+  }
+
+  /* Failure on infeasible catalog is a legit outcome & its cost is measured as well */
+
+  @Benchmark
+  public Object schedule() {
+    try {
+      return scheduler.apply(talks);
+    } catch (SchedulingException ex) {
+      return ex;
+    }
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                Auxiliary Classes                                */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  public enum Engine {
+
+    GREEDY(MorningSessionsSchedulerImpl::new),
+
+    JOINT(JointMorningSessionsSchedulerImpl::new);
+
+    final Function<Integer, MorningSessionsScheduler> schedulerFactory;
+
+    Engine(Function<Integer, MorningSessionsScheduler> schedulerFactory) {
+      this.schedulerFactory = schedulerFactory;
+    }
+  }
+}
@@ -0,0 +1,256 @@
+package agp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.google.common.hash.Hashing;
+
+import agp.vo.Talk;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Persistent cache of formatted agendas. Entry is addressed by SHA-256 of talks (sorted by
+   title & duration, so order of lines in input file doesn't matter) & configuration of
+   scheduling & formatting, so any change of them leads to another entry.
+
+   Entry file holds deflated text & header to validate it on load:
+     magic (4 bytes) | version (1 byte) | CRC32 of text (4 bytes) | length of text (4 bytes)
+   Invalid or expired entry is deleted & treated as miss. Directory isn't scanned on each
+   write: size of written entries is added up & only when it exceeds maximum size, entries
+   older then maximum age are evicted, then least recently used ones while directory is
+   larger then maximum size. */
+
+@Accessors(fluent = true)
+public class AgendaCache {
+
+  public static final long DEFAULT_MAX_SIZE_IN_BYTES = 64L << 20;
+
+  public static final Duration DEFAULT_MAX_AGE = Duration.ofDays(7);
+
+  private static final int MAGIC = 0x41475043;   // "AGPC"
+
+  private static final byte VERSION = 1;
+
+  private static final int HEADER_SIZE = 4 + 1 + 4 + 4;
+
+  /* deflate can't compress better, so longer text means corrupted header */
+  private static final int MAX_COMPRESSION_RATIO = 1032;
+
+  private static final String ENTRY_EXTENSION = ".agenda";
+
+  /* before first eviction, so it's done on first write */
+  private static final long UNKNOWN_SIZE = Long.MIN_VALUE;
+
+  @Getter @NonNull
+  private final Path directory;
+
+  @Getter
+  private final long maxSizeInBytes;
+
+  @Getter @NonNull
+  private final Duration maxAge;
+
+  /* size of directory after last eviction plus size of entries written since then */
+  private final AtomicLong sizeInBytes = new AtomicLong(UNKNOWN_SIZE);
+
+
+  public AgendaCache(@NonNull final Path directory) {
+    this(directory, DEFAULT_MAX_SIZE_IN_BYTES, DEFAULT_MAX_AGE);
+  }
+
+  public AgendaCache(@NonNull final Path directory, final long maxSizeInBytes, @NonNull final Duration maxAge) {
+    checkArgument(maxSizeInBytes > 0, "Maximum size must be positive.");
+    checkArgument(!maxAge.isNegative() && !maxAge.isZero(), "Maximum age must be positive.");
+    this.directory = directory;
+    this.maxSizeInBytes = maxSizeInBytes;
+    this.maxAge = maxAge;
+  }
+
+  /* Hit refreshes time of entry, so eviction order is least recently used */
+
+  public Optional<String> get(@NonNull final Set<Talk> talks, @NonNull final String configuration) {
+    val entry = entryFor(talks, configuration);
+    if (!Files.isRegularFile(entry)) {
+      return Optional.empty();
+    }
+
+    try {
+      val agenda = isExpired(entry) ? Optional.<String>empty() : decode(Files.readAllBytes(entry));
+      if (agenda.isPresent()) {
+        Files.setLastModifiedTime(entry, FileTime.from(Instant.now()));
+      } else {
+        Files.deleteIfExists(entry);
+      }
+      return agenda;
+    } catch (IOException ex) {
+      return Optional.empty();
+    }
+  }
+
+  /* Entry is written into temporary file & moved, so readers never see partial entry.
+     Temporary file is deleted when it's not moved. */
+
+  public void put(@NonNull final Set<Talk> talks, @NonNull final String configuration, @NonNull final String agenda) {
+    try {
+      Files.createDirectories(directory);
+      val entry = entryFor(talks, configuration);
+      val bytes = encode(agenda);
+      val temporaryFile = Files.createTempFile(directory, entry.getFileName().toString(), ".tmp");
+      try {
+        Files.write(temporaryFile, bytes);
+        Files.move(temporaryFile, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temporaryFile);
+      }
+
+      val size = sizeInBytes.addAndGet(bytes.length);
+      if (size < 0 || size > maxSizeInBytes) {
+        sizeInBytes.set(evict());
+      }
+    } catch (IOException ex) {
+      throw new IllegalStateException(String.format("Failed to write cache entry into '%s'.", directory), ex);
+    }
+  }
+
+  private Path entryFor(Set<Talk> talks, String configuration) {
+    val hasher = Hashing.sha256().newHasher();
+    talks.stream()
+      .sorted(comparing(Talk::title).thenComparing(Talk::duration))
+      .forEach(talk -> hasher
+        .putString(talk.title(), UTF_8).putByte((byte) 0)
+        .putLong(talk.duration().toMinutes()));
+    hasher.putString(configuration, UTF_8);
+    return directory.resolve(hasher.hash() + ENTRY_EXTENSION);
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                    Eviction                                     */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  /* Size of entries left */
+
+  private long evict() throws IOException {
+    long size = 0;
+
+    for (Path entry : entriesFromNewestToOldest()) {
+      try {
+        val entrySize = Files.size(entry);
+        if (isExpired(entry) || size + entrySize > maxSizeInBytes) {
+          Files.deleteIfExists(entry);
+        } else {
+          size += entrySize;
+        }
+      } catch (NoSuchFileException ex) {
+        // evicted by another writer meanwhile
+      }
+    }
+    return size;
+  }
+
+  private boolean isExpired(Path entry) throws IOException {
+    return Files.getLastModifiedTime(entry).toInstant().isBefore(Instant.now().minus(maxAge));
+  }
+
+  private List<Path> entriesFromNewestToOldest() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+        .filter(file -> file.getFileName().toString().endsWith(ENTRY_EXTENSION))
+        .sorted(comparing(AgendaCache::lastModifiedTimeOf).reversed())
+        .collect(toList());
+    }
+  }
+
+  private static FileTime lastModifiedTimeOf(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException ex) {
+      return FileTime.fromMillis(0);   // deleted meanwhile, so evicted first
+    }
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                 Entry Encoding                                  */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  private static byte[] encode(String agenda) {
+    val text = agenda.getBytes(UTF_8);
+
+    val deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    deflater.setInput(text);
+    deflater.finish();
+
+    val bytes = new ByteArrayOutputStream(HEADER_SIZE + text.length / 4);
+    val header = ByteBuffer.allocate(HEADER_SIZE)
+      .putInt(MAGIC)
+      .put(VERSION)
+      .putInt((int) crcOf(text))
+      .putInt(text.length);
+    bytes.write(header.array(), 0, HEADER_SIZE);
+
+    val buffer = new byte[4096];
+    while (!deflater.finished()) {
+      bytes.write(buffer, 0, deflater.deflate(buffer));
+    }
+    deflater.end();
+    return bytes.toByteArray();
+  }
+
+  private static Optional<String> decode(byte[] entry) {
+    try {
+      val header = ByteBuffer.wrap(entry);
+      if (header.getInt() != MAGIC || header.get() != VERSION) {
+        return Optional.empty();
+      }
+      val crc = header.getInt();
+      val length = header.getInt();
+      if (length < 0 || length > (long) (entry.length - HEADER_SIZE) * MAX_COMPRESSION_RATIO) {
+        return Optional.empty();
+      }
+
+      val inflater = new Inflater();
+      inflater.setInput(entry, HEADER_SIZE, entry.length - HEADER_SIZE);
+      val text = new byte[length];
+      val inflatedLength = inflater.inflate(text);
+      val isComplete = inflater.finished();
+      inflater.end();
+
+      if (!isComplete || inflatedLength != length || (int) crcOf(text) != crc) {
+        return Optional.empty();
+      }
+      return Optional.of(new String(text, UTF_8));
+    } catch (BufferUnderflowException | DataFormatException ex) {
+      return Optional.empty();
+    }
+  }
+
+  private static long crcOf(byte[] bytes) {
+    val crc = new CRC32();
+    crc.update(bytes);
+    return crc.getValue();
+  }
+}
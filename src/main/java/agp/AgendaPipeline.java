@@ -0,0 +1,138 @@
+package agp;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import agp.render.AgendaFormat;
+import agp.scheduler.ConferenceAgendaScheduler;
+import agp.scheduler.ConferenceAgendaSchedulerImpl;
+import agp.util.Budget;
+import agp.vo.ConferenceTrack;
+import agp.vo.Talk;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Parse -> schedule -> render, with rendered agenda looked up in cache (if any) first.
+   Without cache agenda is streamed straight into given writer. */
+
+@Accessors(fluent = true)
+public class AgendaPipeline implements Function<Path, String> {
+
+  @Getter @NonNull
+  private final Function<Path, Set<Talk>> parser;
+
+  @Getter @NonNull
+  private final ConferenceAgendaScheduler scheduler;
+
+  @Getter @NonNull
+  private final AgendaFormat format;
+
+  @Getter @NonNull
+  private final Optional<AgendaCache> cache;
+
+  /* scheduling of each agenda is bounded by it (if any), see ConferenceAgendaScheduler */
+  @Getter @NonNull
+  private final Optional<Duration> timeLimit;
+
+  /* notified when rendered agenda can't be put into cache, agenda is still returned */
+  @Getter @NonNull
+  private final Consumer<? super IllegalStateException> cacheFailureListener;
+
+
+  @Override
+  public String apply(@NonNull final Path inputFile) {
+    return render(parser.apply(inputFile));
+  }
+
+  public void render(@NonNull final Path inputFile, @NonNull final Writer out) throws IOException {
+    render(parser.apply(inputFile), out);
+  }
+
+  public String render(@NonNull final Set<Talk> talks) {
+    val out = new StringWriter();
+    try {
+      render(talks, out);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);    // never thrown by StringWriter
+    }
+    return out.toString();
+  }
+
+  public void render(@NonNull final Set<Talk> talks, @NonNull final Writer out) throws IOException {
+    if (!cache.isPresent()) {
+      format.renderer().render(schedule(talks), out);
+      return;
+    }
+
+    val cachedAgenda = cache.get().get(talks, configuration());
+    if (cachedAgenda.isPresent()) {
+      out.write(cachedAgenda.get());
+      return;
+    }
+
+    val agenda = format.renderer().apply(schedule(talks));
+    putInto(cache.get(), talks, agenda);
+    out.write(agenda);
+  }
+
+  /* Part of cache key: agenda depends on configuration of scheduler, its time limit & format */
+
+  String configuration() {
+    return scheduler.configuration() + "/" + timeLimit.map(Duration::toString).orElse("unlimited") + "/" + format + "/2";
+  }
+
+  private Set<ConferenceTrack> schedule(Set<Talk> talks) {
+    val budget = timeLimit.map(Budget::of).orElseGet(Budget::unlimited);
+    return scheduler.apply(talks, budget);
+  }
+
+  private void putInto(AgendaCache cache, Set<Talk> talks, String agenda) {
+    try {
+      cache.put(talks, configuration(), agenda);
+    } catch (IllegalStateException ex) {
+      cacheFailureListener.accept(ex);
+    }
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                             Builder related stuff                               */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  @lombok.Builder(builderClassName = "Builder", toBuilder = true)
+  private AgendaPipeline(
+    @NonNull final Function<Path, Set<Talk>> parser,
+    @NonNull final ConferenceAgendaScheduler scheduler,
+    @NonNull final AgendaFormat format,
+    @NonNull final Optional<AgendaCache> cache,
+    @NonNull final Optional<Duration> timeLimit,
+    @NonNull final Consumer<? super IllegalStateException> cacheFailureListener) {
+
+    this.parser = parser;
+    this.scheduler = scheduler;
+    this.format = format;
+    this.cache = cache;
+    this.timeLimit = timeLimit;
+    this.cacheFailureListener = cacheFailureListener;
+  }
+
+  /* Default field values for Lombok-generated Builder */
+
+  public static final class Builder {
+    private Function<Path, Set<Talk>> parser = new ParallelInputFileParser();
+    private ConferenceAgendaScheduler scheduler = new ConferenceAgendaSchedulerImpl();
+    private AgendaFormat format = AgendaFormat.TEXT;
+    private Optional<AgendaCache> cache = Optional.empty();
+    private Optional<Duration> timeLimit = Optional.empty();
+    private Consumer<? super IllegalStateException> cacheFailureListener = ex -> { };
+  }
+}
@@ -0,0 +1,222 @@
+package agp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.CodingErrorAction;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import agp.render.AgendaFormat;
+import agp.scheduler.SchedulingException;
+import agp.scheduler.SchedulingTimeoutException;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Resident server keeping JVM warm between scheduling requests, built on JDK HTTP server:
+     POST /schedule - body in format of input file, agenda in response (in format of
+                      pipeline or given by query like "?format=json");
+     GET  /health   - "OK" while server is running.
+   Requests are handled by fixed pool of workers, body larger then limit is rejected
+   without being read. Status is 400 for malformed talks, 422 for talks which can't be
+   scheduled & 503 for talks not scheduled within time limit of pipeline, message of
+   error is sent as body. */
+
+@Accessors(fluent = true)
+public class AgendaServer implements AutoCloseable {
+
+  public static final int DEFAULT_MAX_REQUEST_BYTES = 1 << 20;
+
+  private static final int OK = 200;
+  private static final int BAD_REQUEST = 400;
+  private static final int METHOD_NOT_ALLOWED = 405;
+  private static final int PAYLOAD_TOO_LARGE = 413;
+  private static final int UNPROCESSABLE_ENTITY = 422;
+  private static final int INTERNAL_SERVER_ERROR = 500;
+  private static final int SERVICE_UNAVAILABLE = 503;
+
+  @Getter @NonNull
+  private final AgendaPipeline pipeline;
+
+  private final Map<AgendaFormat, AgendaPipeline> pipelinesByFormat = new EnumMap<>(AgendaFormat.class);
+
+  @Getter
+  private final int maxRequestBytes;
+
+  private final HttpServer server;
+  private final ExecutorService workers;
+  private final InputFileParser parser = new InputFileParser();
+
+
+  /* Port 0 binds to any free port, see address() */
+
+  public AgendaServer(
+    @NonNull final AgendaPipeline pipeline,
+    @NonNull final InetSocketAddress address,
+    final int workersNumber,
+    final int maxRequestBytes) throws IOException {
+
+    checkArgument(workersNumber > 0, "Number of workers must be positive.");
+    checkArgument(maxRequestBytes > 0, "Maximum request size must be positive.");
+    this.pipeline = pipeline;
+    this.maxRequestBytes = maxRequestBytes;
+    for (AgendaFormat format : AgendaFormat.values()) {
+      pipelinesByFormat.put(format, pipeline.toBuilder().format(format).build());
+    }
+
+    this.workers = Executors.newFixedThreadPool(workersNumber,
+      new ThreadFactoryBuilder().setNameFormat("server-%d").setDaemon(true).build());
+    this.server = HttpServer.create(address, 0);
+    this.server.setExecutor(workers);
+    this.server.createContext("/schedule", exchange -> handle(exchange, "POST", this::schedule));
+    this.server.createContext("/health", exchange -> handle(exchange, "GET", it -> new Response(AgendaFormat.TEXT, "OK")));
+  }
+
+  public AgendaServer start() {
+    server.start();
+    return this;
+  }
+
+  public InetSocketAddress address() {
+    return server.getAddress();
+  }
+
+  /* Waits up to a second for requests being handled */
+
+  @Override
+  public void close() {
+    server.stop(1);
+    workers.shutdownNow();
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                   Handlers                                      */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  private Response schedule(HttpExchange exchange) throws IOException {
+    val format = formatOf(exchange);
+    val body = readBody(exchange);
+    val decoder = UTF_8.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPORT)
+      .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), decoder))) {
+      return new Response(format, pipelinesByFormat.get(format).render(parser.parse(reader.lines())));
+    }
+  }
+
+  private AgendaFormat formatOf(HttpExchange exchange) {
+    val query = exchange.getRequestURI().getRawQuery();
+    if (query == null) {
+      return pipeline.format();
+    }
+    for (String parameter : query.split("&")) {
+      if (parameter.startsWith("format=")) {
+        return AgendaFormat.of(parameter.substring("format=".length()));
+      }
+    }
+    return pipeline.format();
+  }
+
+  private byte[] readBody(HttpExchange exchange) throws IOException {
+    val contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+    if (contentLength != null && contentLength.matches("\\d+") && Long.parseLong(contentLength) > maxRequestBytes) {
+      throw new RequestTooLarge();
+    }
+
+    try (InputStream body = exchange.getRequestBody()) {
+      val bytes = ByteStreams.toByteArray(ByteStreams.limit(body, maxRequestBytes + 1L));
+      if (bytes.length > maxRequestBytes) {
+        throw new RequestTooLarge();
+      }
+      return bytes;
+    }
+  }
+
+  private void handle(HttpExchange exchange, String method, Handler handler) throws IOException {
+    try {
+      if (!method.equals(exchange.getRequestMethod())) {
+        exchange.getResponseHeaders().set("Allow", method);
+        respond(exchange, METHOD_NOT_ALLOWED, format("Method %s is not allowed.", exchange.getRequestMethod()));
+      } else {
+        val response = handler.handle(exchange);
+        respond(exchange, OK, response.format.contentType(), response.text);
+      }
+    } catch (RequestTooLarge ex) {
+      respond(exchange, PAYLOAD_TOO_LARGE, format("Request is larger then %s bytes.", maxRequestBytes));
+    } catch (IllegalArgumentException | UncheckedIOException ex) {
+      respond(exchange, BAD_REQUEST, ex.getMessage());
+    } catch (SchedulingTimeoutException ex) {
+      respond(exchange, SERVICE_UNAVAILABLE, ex.getMessage());
+    } catch (SchedulingException ex) {
+      respond(exchange, UNPROCESSABLE_ENTITY, ex.getMessage());
+    } catch (RuntimeException ex) {
+      respond(exchange, INTERNAL_SERVER_ERROR, "Failed to schedule conference agenda.");
+    } catch (Error ex) {
+      respond(exchange, INTERNAL_SERVER_ERROR, "Failed to schedule conference agenda.");
+      throw ex;   // state of worker is unknown, so it's left to die
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static void respond(HttpExchange exchange, int status, String text) throws IOException {
+    respond(exchange, status, AgendaFormat.TEXT.contentType(), text);
+  }
+
+  private static void respond(HttpExchange exchange, int status, String contentType, String text) throws IOException {
+    val bytes = (text == null ? "" : text).getBytes(UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", contentType);
+    exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+    try (OutputStream body = exchange.getResponseBody()) {
+      body.write(bytes);
+    }
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                Auxiliary Classes                                */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  @FunctionalInterface
+  private interface Handler {
+
+    Response handle(HttpExchange exchange) throws IOException;
+  }
+
+  private static final class Response {
+
+    private final AgendaFormat format;
+    private final String text;
+
+
+    private Response(AgendaFormat format, String text) {
+      this.format = format;
+      this.text = text;
+    }
+  }
+
+  private static final class RequestTooLarge extends RuntimeException {
+
+    private RequestTooLarge() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -1,85 +1,114 @@
 package agp;
 
-import static agp.vo.ConferenceTrack.ScheduledEvent;
-
+import static agp.metrics.SchedulerMetrics.metrics;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.format.DateTimeFormatter;
-import java.util.Set;
 
-import com.google.common.collect.Iterables;
 import com.google.common.io.Resources;
 
+import agp.scheduler.ConferenceAgendaScheduler;
 import agp.scheduler.ConferenceAgendaSchedulerImpl;
-import agp.vo.ConferenceTrack;
-import agp.vo.Lunch;
-import agp.vo.NetworkingEvent;
-import agp.vo.Talk;
+import agp.scheduler.LocalSearchAgendaOptimizer;
+import agp.scheduler.OptimizingConferenceAgendaScheduler;
 import lombok.val;
 
 public class AppEntryPoint {
 
-  private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("hh:mm a");
+  private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+
+  public static void main(String[] args) throws URISyntaxException, IOException {
+    val options = AppOptions.parse(args);
+    metrics().registrationFailure().ifPresent(AppEntryPoint::logMetricsFailure);
+
+    val pipeline = AgendaPipeline.builder()
+      .scheduler(schedulerFor(options))
+      .format(options.format())
+      .cache(options.cacheDirectory().map(AgendaCache::new))
+      .timeLimit(options.timeLimit())
+      .cacheFailureListener(AppEntryPoint::logCacheFailure)
+      .build();
 
+    if (options.batch().isPresent()) {
+      runBatch(options, pipeline);
+      return;
+    }
+    if (options.port().isPresent()) {
+      runServer(options, pipeline);
+      return;
+    }
 
-  public static void main(String[] args) throws URISyntaxException {
-    val inputFilePath = getInputFile(args);
+    val inputFilePath = getInputFile(options);
     logUsed(inputFilePath);
-    Set<Talk> talks = parseTalks(inputFilePath);
-    Set<ConferenceTrack> tracks = scheduleTracksFrom(talks);
-    print(tracks);
+
+    Writer out = new BufferedWriter(new OutputStreamWriter(System.out, UTF_8), OUTPUT_BUFFER_SIZE);
+    pipeline.render(inputFilePath, out);
+    out.flush();
   }
 
-  private static Path getInputFile(String[] args) throws URISyntaxException {
-    if (args.length == 0) {
-      return Paths.get(Resources.getResource("SampleInput.txt").toURI());
-    } else {
-      return Paths.get(args[0]);
+  private static ConferenceAgendaScheduler schedulerFor(AppOptions options) {
+    return options.optimizationTimeLimit()
+      .<ConferenceAgendaScheduler>map(timeLimit -> new OptimizingConferenceAgendaScheduler(
+        LocalSearchAgendaOptimizer.builder().timeLimit(timeLimit).build()
+      ))
+      .orElseGet(ConferenceAgendaSchedulerImpl::new);
+  }
+
+  private static Path getInputFile(AppOptions options) throws URISyntaxException {
+    val inputFile = options.inputFile();
+    if (inputFile.isPresent()) {
+      return inputFile.get();
     }
+    return Paths.get(Resources.getResource("SampleInput.txt").toURI());
   }
 
   private static void logUsed(Path path) {
     System.out.println(String.format("File '%s' is used as input.", path));
   }
 
-  private static Set<Talk> parseTalks(Path inputFilePath) {
-    return new InputFileParser().apply(inputFilePath);
-  }
+  /* Agenda is still printed, so failure of cache is only reported */
 
-  private static Set<ConferenceTrack> scheduleTracksFrom(Set<Talk> talks) {
-    return new ConferenceAgendaSchedulerImpl().apply(talks);
+  private static void logCacheFailure(Exception ex) {
+    System.err.println(String.format("%s Cause: %s", ex.getMessage(), ex.getCause()));
   }
 
-  private static void print(Set<ConferenceTrack> tracks) {
-    System.out.println();
-    for (int i = 0; i < tracks.size(); i++) {
-      System.out.println("Track " + (i + 1) + ":");
-      Iterables.get(tracks, i).events().forEach(AppEntryPoint::print);
-      System.out.println();
-    }
-  }
+  /* Scheduling works without JMX, so failure to register metrics is only reported */
 
-  private static void print(ScheduledEvent event) {
-    System.out.println(
-      TIME_FORMATTER.format(event.startTime()) + " "
-        + event.title() + " "
-        + buildDurationStringFor(event)
-    );
+  private static void logMetricsFailure(Exception ex) {
+    System.err.println(String.format("Metrics are not registered as MBeans. Cause: %s", ex));
   }
 
-  private static String buildDurationStringFor(ScheduledEvent event) {
-    if (isLunchOrNetworking(event)) {
-      return "";
-    } else if (event.duration().toMinutes() == 5) {
-      return "lightning";
-    } else {
-      return event.duration().toMinutes() + "min";
+  /* Exit status is non-zero when any file of batch is failed */
+
+  private static void runBatch(AppOptions options, AgendaPipeline pipeline) {
+    val directoryOrGlob = options.batch().get();
+    val inputFiles = BatchRunner.inputFilesOf(directoryOrGlob);
+    val outputExtension = ".agenda" + options.format().fileExtension();
+    val runner = new BatchRunner(pipeline, options.outputDirectory(), outputExtension, options.threadsNumber());
+    val summary = runner.run(BatchRunner.baseDirectoryOf(directoryOrGlob), inputFiles);
+
+    System.out.print(summary.format());
+    if (summary.hasFailures()) {
+      System.exit(1);
     }
   }
 
-  private static boolean isLunchOrNetworking(ScheduledEvent event) {
-    return event.delegate() instanceof Lunch
-      || event.delegate() instanceof NetworkingEvent;
+  /* Server listens on loopback only & is stopped on JVM shutdown */
+
+  private static void runServer(AppOptions options, AgendaPipeline pipeline) throws IOException {
+    val address = new InetSocketAddress(InetAddress.getLoopbackAddress(), options.port().get());
+    val server = new AgendaServer(pipeline, address, options.workersNumber(), options.maxRequestBytes()).start();
+    Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+    System.out.println(String.format("Server is listening on http://%s:%s.",
+      server.address().getHostString(), server.address().getPort()));
   }
 }
@@ -0,0 +1,139 @@
+package agp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import agp.render.AgendaFormat;
+import lombok.NonNull;
+import lombok.val;
+
+/* Command line of AppEntryPoint: positional arguments & options in form "--name value" */
+
+public final class AppOptions {
+
+  static final String CACHE_DIRECTORY = "--cache-dir";
+
+  static final String BATCH = "--batch";
+
+  static final String OUTPUT_DIRECTORY = "--output-dir";
+
+  static final String THREADS = "--threads";
+
+  static final String PORT = "--port";
+
+  static final String WORKERS = "--workers";
+
+  static final String MAX_REQUEST_SIZE = "--max-request-size";
+
+  static final String TIME_LIMIT = "--time-limit";
+
+  static final String FORMAT = "--format";
+
+  static final String OPTIMIZE = "--optimize";
+
+  private static final ImmutableSet<String> KNOWN_OPTIONS = ImmutableSet.of(
+    CACHE_DIRECTORY, BATCH, OUTPUT_DIRECTORY, THREADS, PORT, WORKERS, MAX_REQUEST_SIZE, TIME_LIMIT, FORMAT, OPTIMIZE
+  );
+
+  private static final Path DEFAULT_OUTPUT_DIRECTORY = Paths.get("agendas");
+
+  private final ImmutableList<String> arguments;
+  private final ImmutableMap<String, String> options;
+
+
+  public static AppOptions parse(@NonNull final String... args) {
+    val arguments = new ArrayList<String>();
+    val options = new LinkedHashMap<String, String>();
+
+    for (int i = 0; i < args.length; i++) {
+      if (!args[i].startsWith("--")) {
+        arguments.add(args[i]);
+        continue;
+      }
+      checkArgument(KNOWN_OPTIONS.contains(args[i]), "Unknown option '%s'.", args[i]);
+      checkArgument(i + 1 < args.length, "Value of option '%s' is missing.", args[i]);
+      options.put(args[i], args[++i]);
+    }
+
+    return new AppOptions(arguments, options);
+  }
+
+  private AppOptions(List<String> arguments, Map<String, String> options) {
+    this.arguments = ImmutableList.copyOf(arguments);
+    this.options = ImmutableMap.copyOf(options);
+  }
+
+  public Optional<Path> inputFile() {
+    return arguments.stream().findFirst().map(Paths::get);
+  }
+
+  public Optional<Path> cacheDirectory() {
+    return option(CACHE_DIRECTORY).map(Paths::get);
+  }
+
+  /* Directory or glob of input files to schedule in batch mode */
+  public Optional<String> batch() {
+    return option(BATCH);
+  }
+
+  public Path outputDirectory() {
+    return option(OUTPUT_DIRECTORY).map(Paths::get).orElse(DEFAULT_OUTPUT_DIRECTORY);
+  }
+
+  public int threadsNumber() {
+    return positiveNumberOption(THREADS).orElse(Runtime.getRuntime().availableProcessors());
+  }
+
+  /* Port of AgendaServer to listen, server mode is run when present */
+  public Optional<Integer> port() {
+    val port = positiveNumberOption(PORT);
+    port.ifPresent(it -> checkArgument(it <= 0xFFFF, "Value of option '%s' must be valid port.", PORT));
+    return port;
+  }
+
+  public int workersNumber() {
+    return positiveNumberOption(WORKERS).orElse(Runtime.getRuntime().availableProcessors());
+  }
+
+  public int maxRequestBytes() {
+    return positiveNumberOption(MAX_REQUEST_SIZE).orElse(AgendaServer.DEFAULT_MAX_REQUEST_BYTES);
+  }
+
+  /* Time limit of scheduling per agenda, in milliseconds */
+  public Optional<Duration> timeLimit() {
+    return positiveNumberOption(TIME_LIMIT).map(Duration::ofMillis);
+  }
+
+  /* Time limit of agenda optimization in milliseconds, agenda is optimized when present */
+  public Optional<Duration> optimizationTimeLimit() {
+    return positiveNumberOption(OPTIMIZE).map(Duration::ofMillis);
+  }
+
+  /* One of "text", "json" or "csv" */
+  public AgendaFormat format() {
+    return option(FORMAT).map(AgendaFormat::of).orElse(AgendaFormat.TEXT);
+  }
+
+  private Optional<Integer> positiveNumberOption(String name) {
+    val value = option(name);
+    value.ifPresent(it -> checkArgument(it.matches("\\d{1,9}") && Integer.parseInt(it) > 0,
+      "Value of option '%s' must be positive number.", name));
+    return value.map(Integer::parseInt);
+  }
+
+  private Optional<String> option(String name) {
+    return Optional.ofNullable(options.get(name));
+  }
+}
@@ -0,0 +1,255 @@
+package agp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Runs pipeline for each input file on fixed pool of threads, so whole batch shares one
+   warmed up JVM. Agenda of input file is written into output directory under the same
+   relative path with extension appended (".agenda.txt" by default). Failure of one file doesn't stop others,
+   it's reported in summary together with latency of each file. Errors (like stack overflow) are not
+   failures of file: they stop the whole batch. */
+
+@Accessors(fluent = true)
+public class BatchRunner {
+
+  public static final String DEFAULT_OUTPUT_EXTENSION = ".agenda.txt";
+
+  @Getter @NonNull
+  private final Function<Path, String> pipeline;
+
+  @Getter @NonNull
+  private final Path outputDirectory;
+
+  @Getter @NonNull
+  private final String outputExtension;
+
+  @Getter
+  private final int threadsNumber;
+
+
+  public BatchRunner(@NonNull final Function<Path, String> pipeline, @NonNull final Path outputDirectory, final int threadsNumber) {
+    this(pipeline, outputDirectory, DEFAULT_OUTPUT_EXTENSION, threadsNumber);
+  }
+
+  public BatchRunner(
+    @NonNull final Function<Path, String> pipeline,
+    @NonNull final Path outputDirectory,
+    @NonNull final String outputExtension,
+    final int threadsNumber) {
+
+    checkArgument(threadsNumber > 0, "Number of threads must be positive.");
+    this.pipeline = pipeline;
+    this.outputDirectory = outputDirectory;
+    this.outputExtension = outputExtension;
+    this.threadsNumber = threadsNumber;
+  }
+
+  /* Input files are taken relative to base directory to mirror them into output one */
+
+  public Summary run(@NonNull final Path baseDirectory, @NonNull final List<Path> inputFiles) {
+    val startTime = System.nanoTime();
+    val executor = Executors.newFixedThreadPool(threadsNumber,
+      new ThreadFactoryBuilder().setNameFormat("batch-%d").setDaemon(true).build());
+
+    try {
+      val futures = new ArrayList<Future<FileResult>>(inputFiles.size());
+      for (Path inputFile : inputFiles) {
+        futures.add(executor.submit(() -> process(inputFile, outputFileFor(baseDirectory, inputFile))));
+      }
+
+      val results = new ArrayList<FileResult>(futures.size());
+      for (int i = 0; i < futures.size(); i++) {
+        results.add(resultOf(futures.get(i), inputFiles.get(i)));
+      }
+      return new Summary(results, threadsNumber, Duration.ofNanos(System.nanoTime() - startTime));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /* process() catches all exceptions, so only error of file is left */
+
+  private static FileResult resultOf(Future<FileResult> future, Path inputFile) {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Batch is interrupted.", ex);
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException(String.format("Batch is failed on file '%s'.", inputFile), ex.getCause());
+    }
+  }
+
+  private Path outputFileFor(Path baseDirectory, Path inputFile) {
+    val relativePath = baseDirectory.relativize(inputFile).toString();
+    return outputDirectory.resolve(relativePath + outputExtension);
+  }
+
+  private FileResult process(Path inputFile, Path outputFile) {
+    val startTime = System.nanoTime();
+    try {
+      val agenda = pipeline.apply(inputFile);
+      Files.createDirectories(outputFile.toAbsolutePath().getParent());
+      Files.write(outputFile, agenda.getBytes(UTF_8));
+      return new FileResult(inputFile, Optional.of(outputFile), Optional.empty(), latencySince(startTime));
+    } catch (Exception ex) {
+      val failure = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+      return new FileResult(inputFile, Optional.empty(), Optional.of(failure), latencySince(startTime));
+    }
+  }
+
+  private static Duration latencySince(long startTime) {
+    return Duration.ofNanos(System.nanoTime() - startTime);
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                  Input Files                                    */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  /* Directory stands for its regular files (not nested ones), anything else is glob
+     like "events/**.txt" matched against files under its longest glob-free prefix */
+
+  public static Path baseDirectoryOf(@NonNull final String directoryOrGlob) {
+    val path = Paths.get(directoryOrGlob);
+    if (Files.isDirectory(path)) {
+      return path;
+    }
+
+    Path baseDirectory = Paths.get("");
+    for (Path name : path) {
+      if (isGlob(name.toString())) {
+        break;
+      }
+      baseDirectory = baseDirectory.resolve(name);
+    }
+    return path.getRoot() != null ? path.getRoot().resolve(baseDirectory) : baseDirectory;
+  }
+
+  public static List<Path> inputFilesOf(@NonNull final String directoryOrGlob) {
+    val baseDirectory = baseDirectoryOf(directoryOrGlob);
+    val isDirectory = Files.isDirectory(Paths.get(directoryOrGlob));
+    val matcher = FileSystems.getDefault().getPathMatcher("glob:" + directoryOrGlob);
+    val maxDepth = isDirectory ? 1 : directoryOrGlob.contains("**") ? Integer.MAX_VALUE : depthOf(directoryOrGlob, baseDirectory);
+
+    checkArgument(Files.isDirectory(baseDirectory), "Directory '%s' is not found.", baseDirectory);
+    try (Stream<Path> files = Files.walk(baseDirectory, maxDepth)) {
+      return files
+        .filter(Files::isRegularFile)
+        .filter(file -> isDirectory || matcher.matches(file))
+        .sorted(comparing(Path::toString))
+        .collect(toList());
+    } catch (IOException | UncheckedIOException ex) {
+      throw new IllegalArgumentException(format("Failed to list input files of '%s'.", directoryOrGlob), ex);
+    }
+  }
+
+  private static boolean isGlob(String name) {
+    return name.chars().anyMatch(c -> c == '*' || c == '?' || c == '[' || c == '{');
+  }
+
+  private static int depthOf(String glob, Path baseDirectory) {
+    return Paths.get(glob).getNameCount() - baseDirectory.getNameCount();
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                Auxiliary Classes                                */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  @Value
+  @Accessors(fluent = true)
+  public static class FileResult {
+
+    @NonNull Path inputFile;
+    @NonNull Optional<Path> outputFile;
+    @NonNull Optional<String> failure;
+    @NonNull Duration latency;
+
+    public boolean isFailed() {
+      return failure.isPresent();
+    }
+  }
+
+  @Value
+  @Accessors(fluent = true)
+  public static class Summary {
+
+    @NonNull ImmutableList<FileResult> results;
+    int threadsNumber;
+    @NonNull Duration elapsedTime;
+
+
+    Summary(List<FileResult> results, int threadsNumber, Duration elapsedTime) {
+      this.results = ImmutableList.copyOf(results);
+      this.threadsNumber = threadsNumber;
+      this.elapsedTime = elapsedTime;
+    }
+
+    public long failuresNumber() {
+      return results.stream().filter(FileResult::isFailed).count();
+    }
+
+    public boolean hasFailures() {
+      return failuresNumber() > 0;
+    }
+
+    /* Latency at given percentile (nearest rank), zero for empty batch */
+
+    public Duration latencyAt(final double percentile) {
+      checkArgument(percentile > 0 && percentile <= 100, "Percentile must be in (0, 100].");
+      val latencies = results.stream().map(FileResult::latency).sorted().collect(toList());
+      if (latencies.isEmpty()) {
+        return Duration.ZERO;
+      }
+      val rank = (int) Math.ceil(percentile / 100 * latencies.size());
+      return latencies.get(Math.max(rank, 1) - 1);
+    }
+
+    /* Totals & latency percentiles first, then line per file in order of input */
+
+    public String format() {
+      val text = new StringBuilder()
+        .append(String.format("Batch of %s files is processed in %s ms on %s threads: %s succeeded, %s failed.%n",
+          results.size(), elapsedTime.toMillis(), threadsNumber, results.size() - failuresNumber(), failuresNumber()))
+        .append(String.format("Latency per file: p50 %s ms, p95 %s ms, max %s ms.%n",
+          latencyAt(50).toMillis(), latencyAt(95).toMillis(), latencyAt(100).toMillis()));
+
+      for (FileResult result : results) {
+        text.append(String.format("  %-6s %6s ms  %s%s%n",
+          result.isFailed() ? "FAILED" : "OK",
+          result.latency().toMillis(),
+          result.inputFile(),
+          result.isFailed() ? ": " + result.failure().get() : " -> " + result.outputFile().get()));
+      }
+      return text.toString();
+    }
+  }
+}
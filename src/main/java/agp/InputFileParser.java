@@ -1,5 +1,6 @@
 package agp;
 
+import static agp.metrics.SchedulerMetrics.metrics;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Verify.verify;
 import static java.lang.String.format;
@@ -7,12 +8,14 @@ import static java.nio.file.Files.exists;
 import static java.util.stream.Collectors.toSet;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.google.common.collect.Iterables;
 
@@ -25,10 +28,28 @@ public class InputFileParser implements Function<Path, Set<Talk>> {
   @Override
   public Set<Talk> apply(@NonNull final Path path) {
     requireExistingFile(path);
+    try (Stream<String> lines = Files.lines(path)) {
+      return parse(lines);
+    } catch (IOException | UncheckedIOException ex) {
+      throw new IllegalArgumentException("Invalid file format.", ex);
+    }
+  }
+
+  /* Lines of input file content, e.g. received by AgendaServer */
+
+  public Set<Talk> parse(@NonNull final Stream<String> lines) {
+    val startTime = System.nanoTime();
     try {
-      return parseTalks(path);
+      val talks = lines
+        .skip(1)              // ignore talks count
+        .map(InputFileParser::parseTalk)
+        .collect(toSet());
+      metrics().talksParsed().add(talks.size());
+      return talks;
     } catch (Exception ex) {
       throw new IllegalArgumentException("Invalid file format.", ex);
+    } finally {
+      metrics().parsing().recordSince(startTime);
     }
   }
 
@@ -36,14 +57,9 @@ public class InputFileParser implements Function<Path, Set<Talk>> {
     checkArgument(exists(path), format("File '%s' is not found.", path));
   }
 
-  private Set<Talk> parseTalks(Path path) throws IOException {
-    return Files.lines(path)
-      .skip(1)                // ignore talks count
-      .map(this::parseTalk)
-      .collect(toSet());
-  }
+  /* Also used by ParallelInputFileParser for lines it can't parse on its own */
 
-  private Talk parseTalk(String talkString) {
+  static Talk parseTalk(String talkString) {
     val chunks = Arrays.asList(talkString.split(" "));
     val durationString = Iterables.getLast(chunks);
     val title = talkString.replace(durationString, "");
@@ -58,7 +74,7 @@ public class InputFileParser implements Function<Path, Set<Talk>> {
     }
   }
 
-  private boolean isDuration(String s) {
+  private static boolean isDuration(String s) {
     return s.contains("min") || s.contains("lightning");
   }
 }
@@ -0,0 +1,369 @@
+package agp;
+
+import static agp.metrics.SchedulerMetrics.metrics;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+import static java.nio.file.Files.exists;
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+import agp.vo.Talk;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Parses same files into same talks as InputFileParser, but for huge files. File is split
+   into newline-aligned chunks parsed in parallel on fork-join pool, each chunk is mapped
+   into memory on its own (so file may be larger then 2GB). Trailing duration token of each
+   line is found & parsed by scanning bytes, only title is decoded into string. Lines with
+   unusual tokens or titles containing their own token are parsed by InputFileParser rules.
+   Malformed line closest to the beginning of file is reported with its number. */
+
+@Accessors(fluent = true)
+public class ParallelInputFileParser implements Function<Path, Set<Talk>> {
+
+  /* maximum size of chunk parsed by single task */
+  public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+  private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+  private static final byte[] MIN = "min".getBytes(StandardCharsets.US_ASCII);
+
+  private static final byte[] LIGHTNING = "lightning".getBytes(StandardCharsets.US_ASCII);
+
+  @Getter @NonNull
+  private final ForkJoinPool pool;
+
+  @Getter
+  private final int chunkSize;
+
+
+  public ParallelInputFileParser() {
+    this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+  }
+
+  public ParallelInputFileParser(@NonNull final ForkJoinPool pool, final int chunkSize) {
+    checkArgument(chunkSize > 0, "Chunk size must be positive.");
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public Set<Talk> apply(@NonNull final Path path) {
+    checkArgument(exists(path), format("File '%s' is not found.", path));
+
+    val startTime = System.nanoTime();
+    final Chunk talks;
+    try (FileChannel channel = FileChannel.open(path, READ)) {
+      val talksStart = endOfFirstLine(channel);    // ignore talks count
+      talks = pool.invoke(new ChunkTask(channel, talksStart, channel.size()));
+
+      if (talks.malformedLine != null) {
+        val malformedLine = talks.malformedLine;
+        val lineNumber = linesBefore(channel, malformedLine.chunkStart) + malformedLine.lineInChunk + 1;
+        throw new IllegalArgumentException(
+          format("Invalid file format: malformed talk at line %s.", lineNumber),
+          malformedLine.cause
+        );
+      }
+    } catch (IOException | UncheckedIOException ex) {
+      throw new IllegalArgumentException("Invalid file format.", ex);
+    } finally {
+      metrics().parsing().recordSince(startTime);
+    }
+
+    metrics().talksParsed().add(talks.talks.size());
+    return new HashSet<>(talks.talks);
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                  Chunks Scanning                                */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  /* Line ends with '\n', '\r' or "\r\n" like for BufferedReader */
+
+  private static long endOfFirstLine(FileChannel channel) throws IOException {
+    val buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+    for (long position = 0; channel.read(buffer, position) > 0; buffer.clear()) {
+      buffer.flip();
+      for (int i = 0; i < buffer.limit(); i++, position++) {
+        val b = buffer.get(i);
+        if (b == '\n') {
+          return position + 1;
+        }
+        if (b == '\r') {
+          return position + 1 + (nextByteIs(channel, position + 1, '\n') ? 1 : 0);
+        }
+      }
+    }
+    return channel.size();
+  }
+
+  /* Position right after first '\n' at or after given one, chunks are aligned to it */
+
+  private static long nextLineStart(FileChannel channel, long from, long to) throws IOException {
+    val buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+    for (long position = from; position < to && channel.read(buffer, position) > 0; buffer.clear()) {
+      buffer.flip();
+      for (int i = 0; i < buffer.limit() && position < to; i++, position++) {
+        if (buffer.get(i) == '\n') {
+          return position + 1;
+        }
+      }
+    }
+    return to;
+  }
+
+  private static boolean nextByteIs(FileChannel channel, long position, char expected) throws IOException {
+    val buffer = ByteBuffer.allocate(1);
+    return channel.read(buffer, position) == 1 && buffer.get(0) == expected;
+  }
+
+  /* Counted only for error report, so plain sequential scan is enough */
+
+  private static long linesBefore(FileChannel channel, long end) throws IOException {
+    val buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+    long lines = 0;
+    byte previous = 0;
+    for (long position = 0; position < end && channel.read(buffer, position) > 0; buffer.clear()) {
+      buffer.flip();
+      for (int i = 0; i < buffer.limit() && position < end; i++, position++) {
+        val b = buffer.get(i);
+        if (b == '\n' && previous != '\r' || b == '\r') {
+          lines++;
+        }
+        previous = b;
+      }
+    }
+    return lines;
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                  Chunks Parsing                                 */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  private final class ChunkTask extends RecursiveTask<Chunk> {
+
+    private final FileChannel channel;
+    private final long start;
+    private final long end;
+
+
+    private ChunkTask(FileChannel channel, long start, long end) {
+      this.channel = channel;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected Chunk compute() {
+      try {
+        val split = end - start > chunkSize ? nextLineStart(channel, start + (end - start) / 2, end) : end;
+        if (split >= end) {
+          return parse(channel.map(MapMode.READ_ONLY, start, end - start));
+        }
+
+        val left = new ChunkTask(channel, start, split);
+        val right = new ChunkTask(channel, split, end);
+        left.fork();
+        val rightChunk = right.compute();
+        return left.join().followedBy(rightChunk);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+
+    private Chunk parse(ByteBuffer bytes) {
+      val chunk = new Chunk();
+      val parser = new LineParser(bytes);
+
+      int lineStart = 0;
+      int lineInChunk = 0;
+      while (lineStart < bytes.limit()) {
+        int lineEnd = lineStart;
+        while (lineEnd < bytes.limit() && bytes.get(lineEnd) != '\n' && bytes.get(lineEnd) != '\r') {
+          lineEnd++;
+        }
+
+        try {
+          chunk.talks.add(parser.parse(lineStart, lineEnd));
+        } catch (RuntimeException | CharacterCodingException ex) {
+          chunk.malformedLine = new MalformedLine(start, lineInChunk, ex);
+          return chunk;
+        }
+
+        lineStart = lineEnd + 1;
+        if (lineEnd + 1 < bytes.limit() && bytes.get(lineEnd) == '\r' && bytes.get(lineEnd + 1) == '\n') {
+          lineStart++;
+        }
+        lineInChunk++;
+      }
+      return chunk;
+    }
+  }
+
+  /* Titles are split by ' ' only, like in InputFileParser */
+
+  private static final class LineParser {
+
+    private final ByteBuffer bytes;
+    private byte[] scratch = new byte[256];
+
+
+    private LineParser(ByteBuffer bytes) {
+      this.bytes = bytes;
+    }
+
+    private Talk parse(int lineStart, int lineEnd) throws CharacterCodingException {
+      int tokenEnd = lineEnd;
+      while (tokenEnd > lineStart && bytes.get(tokenEnd - 1) == ' ') {
+        tokenEnd--;
+      }
+      int tokenStart = tokenEnd;
+      while (tokenStart > lineStart && bytes.get(tokenStart - 1) != ' ') {
+        tokenStart--;
+      }
+
+      val minutes = tokenStart > lineStart ? minutesOf(tokenStart, tokenEnd) : -1;
+      if (minutes < 0 || contains(lineStart, tokenStart, tokenStart, tokenEnd)) {
+        return InputFileParser.parseTalk(decode(lineStart, lineEnd));
+      }
+      return new Talk(decode(lineStart, tokenStart), Duration.ofMinutes(minutes));
+    }
+
+    /* Only "NNmin" & "lightning" are parsed here, -1 for any other token */
+
+    private int minutesOf(int tokenStart, int tokenEnd) {
+      if (equals(tokenStart, tokenEnd, LIGHTNING)) {
+        return 5;
+      }
+
+      val digitsEnd = tokenEnd - MIN.length;
+      if (digitsEnd <= tokenStart || digitsEnd - tokenStart > 9 || !equals(digitsEnd, tokenEnd, MIN)) {
+        return -1;
+      }
+
+      int minutes = 0;
+      for (int i = tokenStart; i < digitsEnd; i++) {
+        val b = bytes.get(i);
+        if (b < '0' || b > '9') {
+          return -1;
+        }
+        minutes = minutes * 10 + (b - '0');
+      }
+      return minutes;
+    }
+
+    private boolean equals(int start, int end, byte[] expected) {
+      if (end - start != expected.length) {
+        return false;
+      }
+      for (int i = 0; i < expected.length; i++) {
+        if (bytes.get(start + i) != expected[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /* InputFileParser removes all occurrences of token from line, not only the last one */
+
+    private boolean contains(int start, int end, int tokenStart, int tokenEnd) {
+      val tokenLength = tokenEnd - tokenStart;
+      for (int i = start; i + tokenLength <= end; i++) {
+        int matched = 0;
+        while (matched < tokenLength && bytes.get(i + matched) == bytes.get(tokenStart + matched)) {
+          matched++;
+        }
+        if (matched == tokenLength) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /* Malformed UTF-8 is reported like by Files.lines */
+
+    private String decode(int start, int end) throws CharacterCodingException {
+      val length = end - start;
+      if (scratch.length < length) {
+        scratch = new byte[Math.max(length, 2 * scratch.length)];
+      }
+
+      boolean ascii = true;
+      for (int i = 0; i < length; i++) {
+        scratch[i] = bytes.get(start + i);
+        ascii &= scratch[i] >= 0;
+      }
+
+      if (ascii) {
+        return new String(scratch, 0, length, StandardCharsets.US_ASCII);
+      }
+      CharBuffer chars = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPORT)
+        .onUnmappableCharacter(CodingErrorAction.REPORT)
+        .decode(ByteBuffer.wrap(scratch, 0, length));
+      return chars.toString();
+    }
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                Auxiliary Classes                                */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  private static final class Chunk {
+
+    private List<Talk> talks = new ArrayList<>();
+    private MalformedLine malformedLine;
+
+
+    /* Malformed line of earlier chunk wins, so the first one of file is reported.
+       Order of talks doesn't matter, so smaller list is appended to larger one. */
+
+    private Chunk followedBy(Chunk next) {
+      if (malformedLine == null) {
+        malformedLine = next.malformedLine;
+      }
+      if (talks.size() < next.talks.size()) {
+        next.talks.addAll(talks);
+        talks = next.talks;
+      } else {
+        talks.addAll(next.talks);
+      }
+      return this;
+    }
+  }
+
+  private static final class MalformedLine {
+
+    private final long chunkStart;
+    private final int lineInChunk;
+    private final Exception cause;
+
+
+    private MalformedLine(long chunkStart, int lineInChunk, Exception cause) {
+      this.chunkStart = chunkStart;
+      this.lineInChunk = lineInChunk;
+      this.cause = cause;
+    }
+  }
+}
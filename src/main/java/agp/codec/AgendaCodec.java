@@ -0,0 +1,358 @@
+package agp.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import agp.vo.ConferenceTrack;
+import agp.vo.Event;
+import agp.vo.Lunch;
+import agp.vo.NetworkingEvent;
+import agp.vo.Talk;
+import lombok.NonNull;
+import lombok.val;
+
+/* Compact binary form of scheduled agenda, to store & ship it without re-parsing text:
+
+     magic (4 bytes) | version (1 byte)
+     strings number (varint) | string: length (varint) & UTF-8 bytes, ...
+     tracks number (varint)  | offset of each track from start of agenda (4 bytes), ...
+     track: start minute of day (varint) | events number (varint) | event, ...
+     event: tag (1 byte), for talk followed by index of title (varint) & minutes (varint),
+            for lunch & networking event of other than default duration by minutes (varint)
+
+   Titles are stored once in string table, start of each event is the end of previous one
+   (like built by ConferenceTrack.Builder). Fixed-width offsets let EncodedAgenda decode
+   any single track without decoding others.
+
+   Agenda is always encoded in the latest version, earlier ones are still decoded:
+     1 - tracks start at 9:00, lunch & networking event are of default duration only
+     2 - tracks start at any minute of day, tags of lunch & networking event of minutes */
+
+public final class AgendaCodec {
+
+  private static final int MAGIC = 0x41475042;   // "AGPB"
+
+  private static final byte VERSION_1 = 1;
+  private static final byte VERSION_2 = 2;
+
+  private static final byte VERSION = VERSION_2;
+
+  private static final byte TALK = 0;
+  private static final byte LUNCH = 1;
+  private static final byte NETWORKING = 2;
+  private static final byte LUNCH_OF_MINUTES = 3;
+  private static final byte NETWORKING_OF_MINUTES = 4;
+
+  private static final int MINUTES_PER_DAY = 24 * 60;
+
+  private static final int INITIAL_CAPACITY = 1 << 12;
+
+
+  /* Buffer is flipped, i.e. ready to be read or written into channel */
+
+  public ByteBuffer encode(@NonNull final Set<ConferenceTrack> tracks) {
+    val titleIndexes = new HashMap<String, Integer>();
+    val titles = ImmutableList.<String>builder();
+    for (ConferenceTrack track : tracks) {
+      for (Talk talk : track.talks()) {
+        if (!titleIndexes.containsKey(talk.title())) {
+          titleIndexes.put(talk.title(), titleIndexes.size());
+          titles.add(talk.title());
+        }
+      }
+    }
+
+    val out = new Output(INITIAL_CAPACITY);
+    out.putInt(MAGIC);
+    out.put(VERSION);
+    writeStrings(titles.build(), out);
+
+    out.putVarint(tracks.size());
+    val indexPosition = out.position();
+    out.skip(4 * tracks.size());
+
+    int trackNumber = 0;
+    for (ConferenceTrack track : tracks) {
+      out.putInt(indexPosition + 4 * trackNumber++, out.position());
+      writeTrack(track, titleIndexes, out);
+    }
+    return out.flipped();
+  }
+
+  public void write(@NonNull final Set<ConferenceTrack> tracks, @NonNull final WritableByteChannel channel) throws IOException {
+    val buffer = encode(tracks);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  public Set<ConferenceTrack> decode(@NonNull final ByteBuffer buffer) {
+    return open(buffer).tracks();
+  }
+
+  /* Header & string table are checked at once, tracks are decoded on demand */
+
+  public EncodedAgenda open(@NonNull final ByteBuffer buffer) {
+    return new EncodedAgenda(buffer.slice());
+  }
+
+  /* Agenda file is mapped into memory, so only accessed tracks are read */
+
+  public EncodedAgenda open(@NonNull final FileChannel channel) throws IOException {
+    return open(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+  }
+
+  private static byte tagOf(Event event) {
+    if (event instanceof Talk) {
+      return TALK;
+    } else if (event instanceof Lunch) {
+      return event.duration().equals(Lunch.DEFAULT_DURATION) ? LUNCH : LUNCH_OF_MINUTES;
+    } else if (event instanceof NetworkingEvent) {
+      return event.duration().equals(NetworkingEvent.DEFAULT_DURATION) ? NETWORKING : NETWORKING_OF_MINUTES;
+    }
+    throw new IllegalArgumentException(format("Event '%s' can't be encoded.", event.title()));
+  }
+
+  private static void writeStrings(List<String> strings, Output out) {
+    out.putVarint(strings.size());
+    for (String string : strings) {
+      val bytes = string.getBytes(UTF_8);
+      out.putVarint(bytes.length);
+      out.put(bytes);
+    }
+  }
+
+  private static void writeTrack(ConferenceTrack track, Map<String, Integer> titleIndexes, Output out) {
+    out.putVarint(track.startMinute(0));
+    out.putVarint(track.size());
+
+    for (int i = 0; i < track.size(); i++) {
+      val event = track.event(i);
+      val tag = tagOf(event);
+      out.put(tag);
+      if (tag == TALK) {
+        out.putVarint(titleIndexes.get(event.title()));
+      }
+      if (tag == TALK || tag == LUNCH_OF_MINUTES || tag == NETWORKING_OF_MINUTES) {
+        out.putVarint(event.duration().toMinutes());
+      }
+    }
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                 Encoded Agenda                                  */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  /* Read-only view of encoded agenda, titles are decoded once on first use */
+
+  public static final class EncodedAgenda {
+
+    private final ByteBuffer buffer;
+    private final byte version;
+    private final int[] stringOffsets;
+    private final String[] strings;
+    private final int tracksNumber;
+    private final int indexPosition;
+
+
+    private EncodedAgenda(ByteBuffer buffer) {
+      this.buffer = buffer;
+      try {
+        val in = buffer.duplicate();
+        checkArgument(in.getInt() == MAGIC, "Invalid agenda: unknown format.");
+        this.version = in.get();
+        checkArgument(version == VERSION_1 || version == VERSION_2, "Invalid agenda: unsupported version %s.", version);
+
+        this.stringOffsets = new int[readCount(in)];
+        this.strings = new String[stringOffsets.length];
+        for (int i = 0; i < stringOffsets.length; i++) {
+          stringOffsets[i] = in.position();
+          val length = readCount(in);
+          in.position(in.position() + length);
+        }
+
+        this.tracksNumber = readCount(in);
+        this.indexPosition = in.position();
+        checkArgument((long) indexPosition + 4L * tracksNumber <= buffer.limit(), "Invalid agenda: truncated index.");
+      } catch (BufferUnderflowException | IllegalArgumentException ex) {
+        throw malformed(ex);
+      }
+    }
+
+    public int tracksNumber() {
+      return tracksNumber;
+    }
+
+    /* Track of given (zero-based) number in order of encoding */
+
+    public ConferenceTrack track(final int number) {
+      checkElementIndex(number, tracksNumber, "Track number");
+      try {
+        val in = buffer.duplicate();
+        in.position(buffer.getInt(indexPosition + 4 * number));
+        return readTrack(in);
+      } catch (BufferUnderflowException | IllegalArgumentException ex) {
+        throw malformed(ex);
+      }
+    }
+
+    /* All tracks in order of encoding */
+
+    public Set<ConferenceTrack> tracks() {
+      val tracks = ImmutableSet.<ConferenceTrack>builder();
+      for (int i = 0; i < tracksNumber; i++) {
+        tracks.add(track(i));
+      }
+      return tracks.build();
+    }
+
+    private ConferenceTrack readTrack(ByteBuffer in) {
+      val startMinute = readCount(in);
+      checkArgument(startMinute < MINUTES_PER_DAY, "Track can't start at minute %s.", startMinute);
+      checkArgument(version != VERSION_1 || startMinute * 60L == ConferenceTrack.START_TIME.toSecondOfDay(),
+        "Track starting at %s can't be decoded.", startMinute);
+
+      val eventsNumber = readCount(in);
+      val track = ConferenceTrack.startingAt(LocalTime.ofSecondOfDay(startMinute * 60L));
+      for (int i = 0; i < eventsNumber; i++) {
+        val tag = in.get();
+        if (tag == TALK) {
+          val title = string(readCount(in));
+          track.scheduleEvent(new Talk(title, Duration.ofMinutes(readCount(in))));
+        } else if (tag == LUNCH) {
+          track.scheduleEvent(new Lunch());
+        } else if (tag == NETWORKING) {
+          track.scheduleEvent(new NetworkingEvent());
+        } else if (version == VERSION_1) {
+          throw new IllegalArgumentException(format("Unknown event tag %s.", tag));
+        } else if (tag == LUNCH_OF_MINUTES) {
+          track.scheduleEvent(new Lunch(Duration.ofMinutes(readCount(in))));
+        } else if (tag == NETWORKING_OF_MINUTES) {
+          track.scheduleEvent(new NetworkingEvent(Duration.ofMinutes(readCount(in))));
+        } else {
+          throw new IllegalArgumentException(format("Unknown event tag %s.", tag));
+        }
+      }
+      return track.build();
+    }
+
+    private String string(int index) {
+      checkElementIndex(index, strings.length, "String index");
+      String string = strings[index];
+      if (string == null) {
+        val in = buffer.duplicate();
+        in.position(stringOffsets[index]);
+        val bytes = new byte[readCount(in)];
+        in.get(bytes);
+        string = new String(bytes, UTF_8);
+        strings[index] = string;
+      }
+      return string;
+    }
+
+    private static IllegalArgumentException malformed(Exception cause) {
+      return new IllegalArgumentException("Invalid agenda: " + cause.getMessage(), cause);
+    }
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                     Varints                                     */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  /* Unsigned LEB128: 7 bits per byte, high bit set on all bytes but the last one */
+
+  static int readCount(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      val b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        checkArgument(value <= Integer.MAX_VALUE, "Varint is out of range.");
+        return (int) value;
+      }
+    }
+    throw new IllegalArgumentException("Varint is too long.");
+  }
+
+  /* Growable output, like ByteArrayOutputStream over ByteBuffer */
+
+  private static final class Output {
+
+    private ByteBuffer buffer;
+
+
+    private Output(int capacity) {
+      this.buffer = ByteBuffer.allocate(capacity);
+    }
+
+    private int position() {
+      return buffer.position();
+    }
+
+    private void put(byte b) {
+      ensureRemaining(1);
+      buffer.put(b);
+    }
+
+    private void put(byte[] bytes) {
+      ensureRemaining(bytes.length);
+      buffer.put(bytes);
+    }
+
+    private void putInt(int value) {
+      ensureRemaining(4);
+      buffer.putInt(value);
+    }
+
+    private void putInt(int position, int value) {
+      buffer.putInt(position, value);
+    }
+
+    private void putVarint(long value) {
+      checkArgument(value >= 0 && value <= Integer.MAX_VALUE, "Value %s can't be encoded.", value);
+      ensureRemaining(5);
+      while (value >= 0x80) {
+        buffer.put((byte) (value & 0x7F | 0x80));
+        value >>>= 7;
+      }
+      buffer.put((byte) value);
+    }
+
+    private void skip(int bytes) {
+      ensureRemaining(bytes);
+      buffer.position(buffer.position() + bytes);
+    }
+
+    private void ensureRemaining(int bytes) {
+      if (buffer.remaining() < bytes) {
+        val grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+      }
+    }
+
+    private ByteBuffer flipped() {
+      buffer.flip();
+      return buffer;
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package agp.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Lock-free histogram of latencies with buckets per power of two: bucket i holds latencies
+   of [2^(i-1), 2^i) nanoseconds, so recording is a couple of LongAdder increments and
+   percentiles are estimated by upper bound of bucket (i.e. at most twice larger). */
+
+@Accessors(fluent = true)
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+
+  private static final int BUCKETS_NUMBER = 64;
+
+  @Getter @NonNull
+  private final String phase;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKETS_NUMBER];
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+
+  public LatencyHistogram(@NonNull final String phase) {
+    this.phase = phase;
+    for (int i = 0; i < BUCKETS_NUMBER; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  public void record(final long nanos) {
+    val latency = Math.max(nanos, 0);
+    buckets[bucketOf(latency)].increment();
+    count.increment();
+    totalNanos.add(latency);
+    maxNanos.accumulate(latency);
+  }
+
+  /* Shortcut for "start = System.nanoTime(); ...; recordSince(start)" */
+
+  public void recordSince(final long startNanos) {
+    record(System.nanoTime() - startNanos);
+  }
+
+  public void reset() {
+    for (LongAdder bucket : buckets) {
+      bucket.reset();
+    }
+    count.reset();
+    totalNanos.reset();
+    maxNanos.reset();
+  }
+
+  /* Upper bound of bucket holding latency at given percentile (nearest rank) */
+
+  public long percentileNanos(final double percentile) {
+    checkArgument(percentile > 0 && percentile <= 100, "Percentile must be in (0, 100].");
+    val counts = getBuckets();
+    long total = 0;
+    for (long bucketCount : counts) {
+      total += bucketCount;
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    val rank = (long) Math.ceil(percentile / 100 * total);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(i), maxNanos.get());
+      }
+    }
+    return maxNanos.get();
+  }
+
+  private static int bucketOf(long nanos) {
+    return Math.min(BUCKETS_NUMBER - Long.numberOfLeadingZeros(nanos), BUCKETS_NUMBER - 1);
+  }
+
+  private static long upperBoundOf(int bucket) {
+    return bucket >= BUCKETS_NUMBER - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                    MXBean                                       */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  @Override
+  public double getTotalMillis() {
+    return millisOf(totalNanos.sum());
+  }
+
+  @Override
+  public double getMeanMillis() {
+    val n = count.sum();
+    return n == 0 ? 0 : millisOf(totalNanos.sum()) / n;
+  }
+
+  @Override
+  public double getMaxMillis() {
+    return millisOf(maxNanos.get());
+  }
+
+  @Override
+  public double getP50Millis() {
+    return millisOf(percentileNanos(50));
+  }
+
+  @Override
+  public double getP95Millis() {
+    return millisOf(percentileNanos(95));
+  }
+
+  @Override
+  public double getP99Millis() {
+    return millisOf(percentileNanos(99));
+  }
+
+  @Override
+  public long[] getBuckets() {
+    val counts = new long[BUCKETS_NUMBER];
+    for (int i = 0; i < BUCKETS_NUMBER; i++) {
+      counts[i] = buckets[i].sum();
+    }
+    return counts;
+  }
+
+  private static double millisOf(long nanos) {
+    return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
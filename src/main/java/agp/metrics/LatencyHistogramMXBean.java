@@ -0,0 +1,23 @@
+package agp.metrics;
+
+/* Latency of one phase, times are in milliseconds */
+
+public interface LatencyHistogramMXBean {
+
+  long getCount();
+
+  double getTotalMillis();
+
+  double getMeanMillis();
+
+  double getMaxMillis();
+
+  double getP50Millis();
+
+  double getP95Millis();
+
+  double getP99Millis();
+
+  /* Number of latencies per power of two nanoseconds, see LatencyHistogram */
+  long[] getBuckets();
+}
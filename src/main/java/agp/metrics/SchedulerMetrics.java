@@ -0,0 +1,126 @@
+package agp.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Process-wide metrics of parsing & scheduling, registered as platform MBeans:
+     agp:type=SchedulerMetrics                 - counters (see SchedulerMetricsMXBean);
+     agp:type=SchedulerLatency,phase=<phase>   - latency histogram of each phase.
+   Counters are LongAdders & hot loops add their counts in batches, so metrics are cheap
+   enough to be always on. */
+
+@Accessors(fluent = true)
+public final class SchedulerMetrics implements SchedulerMetricsMXBean {
+
+  private static final SchedulerMetrics INSTANCE = new SchedulerMetrics();
+
+  @Getter
+  private final LongAdder talksParsed = new LongAdder();
+
+  @Getter
+  private final LongAdder combinationsExplored = new LongAdder();
+
+  @Getter
+  private final LongAdder answersProduced = new LongAdder();
+
+  @Getter
+  private final LongAdder morningSessionsScheduled = new LongAdder();
+
+  @Getter
+  private final LongAdder tracksScheduled = new LongAdder();
+
+  /* InputFileParser & ParallelInputFileParser */
+  @Getter
+  private final LatencyHistogram parsing = new LatencyHistogram("parsing");
+
+  /* MorningSessionSchedulerImpl (including knapsack search) */
+  @Getter
+  private final LatencyHistogram morningSession = new LatencyHistogram("morningSession");
+
+  /* MorningSessionsSchedulerImpl & JointMorningSessionsSchedulerImpl */
+  @Getter
+  private final LatencyHistogram morningSessions = new LatencyHistogram("morningSessions");
+
+  /* TracksScheduler of ConferenceAgendaSchedulerImpl (afternoon sessions & tracks) */
+  @Getter
+  private final LatencyHistogram tracks = new LatencyHistogram("tracks");
+
+  /* ConferenceAgendaSchedulerImpl as a whole */
+  @Getter
+  private final LatencyHistogram agenda = new LatencyHistogram("agenda");
+
+  @Getter
+  private final ImmutableList<LatencyHistogram> histograms =
+    ImmutableList.of(parsing, morningSession, morningSessions, tracks, agenda);
+
+  /* Metrics still work (without JMX) when registration is forbidden or name is taken,
+     so failure is only kept & reported once at startup (see AppEntryPoint) */
+  @Getter
+  private final Optional<Exception> registrationFailure = register();
+
+
+  public static SchedulerMetrics metrics() {
+    return INSTANCE;
+  }
+
+  private SchedulerMetrics() {
+  }
+
+  private Optional<Exception> register() {
+    val server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      server.registerMBean(this, new ObjectName("agp:type=SchedulerMetrics"));
+      for (LatencyHistogram histogram : histograms) {
+        server.registerMBean(histogram, new ObjectName("agp:type=SchedulerLatency,phase=" + histogram.phase()));
+      }
+      return Optional.empty();
+    } catch (JMException | SecurityException ex) {
+      return Optional.of(ex);
+    }
+  }
+
+  @Override
+  public long getTalksParsed() {
+    return talksParsed.sum();
+  }
+
+  @Override
+  public long getCombinationsExplored() {
+    return combinationsExplored.sum();
+  }
+
+  @Override
+  public long getAnswersProduced() {
+    return answersProduced.sum();
+  }
+
+  @Override
+  public long getMorningSessionsScheduled() {
+    return morningSessionsScheduled.sum();
+  }
+
+  @Override
+  public long getTracksScheduled() {
+    return tracksScheduled.sum();
+  }
+
+  @Override
+  public void reset() {
+    talksParsed.reset();
+    combinationsExplored.reset();
+    answersProduced.reset();
+    morningSessionsScheduled.reset();
+    tracksScheduled.reset();
+    histograms.forEach(LatencyHistogram::reset);
+  }
+}
@@ -0,0 +1,19 @@
+package agp.metrics;
+
+/* Counters of scheduling work since start (or last reset) */
+
+public interface SchedulerMetricsMXBean {
+
+  long getTalksParsed();
+
+  long getCombinationsExplored();
+
+  long getAnswersProduced();
+
+  long getMorningSessionsScheduled();
+
+  long getTracksScheduled();
+
+  /* Resets counters & latency histograms of all phases */
+  void reset();
+}
@@ -0,0 +1,44 @@
+package agp.render;
+
+import java.util.Locale;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+/* Output formats selectable by "--format" option of AppEntryPoint */
+
+@Accessors(fluent = true)
+public enum AgendaFormat {
+
+  TEXT(new TextAgendaRenderer(), "text/plain; charset=utf-8", ".txt"),
+  JSON(new JsonAgendaRenderer(), "application/json; charset=utf-8", ".json"),
+  CSV(new CsvAgendaRenderer(), "text/csv; charset=utf-8", ".csv");
+
+  @Getter
+  private final AgendaRenderer renderer;
+
+  @Getter
+  private final String contentType;
+
+  @Getter
+  private final String fileExtension;
+
+
+  AgendaFormat(AgendaRenderer renderer, String contentType, String fileExtension) {
+    this.renderer = renderer;
+    this.contentType = contentType;
+    this.fileExtension = fileExtension;
+  }
+
+  /* Case-insensitive, like "json" */
+
+  public static AgendaFormat of(@NonNull final String name) {
+    for (AgendaFormat format : values()) {
+      if (format.name().equals(name.toUpperCase(Locale.ROOT))) {
+        return format;
+      }
+    }
+    throw new IllegalArgumentException(String.format("Unknown format '%s'.", name));
+  }
+}
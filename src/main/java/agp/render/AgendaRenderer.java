@@ -0,0 +1,31 @@
+package agp.render;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.function.Function;
+
+import agp.vo.ConferenceTrack;
+import lombok.NonNull;
+import lombok.val;
+
+/* Renders agenda in one pass over events of each track straight into writer (which is
+   expected to be buffered), tracks are numbered in order of iteration of given set */
+
+public interface AgendaRenderer extends Function<Set<ConferenceTrack>, String> {
+
+  void render(Set<ConferenceTrack> tracks, Writer out) throws IOException;
+
+  @Override
+  default String apply(@NonNull final Set<ConferenceTrack> tracks) {
+    val out = new StringWriter();
+    try {
+      render(tracks, out);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);    // never thrown by StringWriter
+    }
+    return out.toString();
+  }
+}
@@ -0,0 +1,80 @@
+package agp.render;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+
+import agp.vo.ConferenceTrack;
+import lombok.NonNull;
+import lombok.val;
+
+/* Agenda as CSV (RFC 4180) with header & row per event, times are "HH:mm":
+
+   track,start,end,title,minutes,type
+   1,09:00,10:00,Java Is Not Magic,60,talk
+*/
+
+public class CsvAgendaRenderer implements AgendaRenderer {
+
+  private static final String HEADER = "track,start,end,title,minutes,type";
+
+  private static final String LINE_SEPARATOR = "\r\n";
+
+
+  @Override
+  public void render(@NonNull final Set<ConferenceTrack> tracks, @NonNull final Writer out) throws IOException {
+    out.write(HEADER);
+    out.write(LINE_SEPARATOR);
+
+    int trackNumber = 1;
+    for (ConferenceTrack track : tracks) {
+      val trackNumberString = RenderedValues.number(trackNumber++);
+      for (int i = 0; i < track.size(); i++) {
+        val event = track.event(i);
+        out.write(trackNumberString);
+        out.write(',');
+        out.write(RenderedValues.clock24(track.startMinute(i)));
+        out.write(',');
+        out.write(RenderedValues.clock24(track.endMinute(i)));
+        out.write(',');
+        writeField(event.title(), out);
+        out.write(',');
+        out.write(RenderedValues.number(event.duration().toMinutes()));
+        out.write(',');
+        out.write(RenderedValues.typeOf(event));
+        out.write(LINE_SEPARATOR);
+      }
+    }
+  }
+
+  /* Field is quoted (with doubled quotes) only if it has separator, quote or line break */
+
+  private static void writeField(String s, Writer out) throws IOException {
+    if (!needsQuotes(s)) {
+      out.write(s);
+      return;
+    }
+
+    out.write('"');
+    int runStart = 0;
+    for (int i = 0; i < s.length(); i++) {
+      if (s.charAt(i) == '"') {
+        out.write(s, runStart, i + 1 - runStart);
+        out.write('"');
+        runStart = i + 1;
+      }
+    }
+    out.write(s, runStart, s.length() - runStart);
+    out.write('"');
+  }
+
+  private static boolean needsQuotes(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+        return true;
+      }
+    }
+    return false;
+  }
+}
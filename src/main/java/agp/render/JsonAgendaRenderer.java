@@ -0,0 +1,96 @@
+package agp.render;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+
+import agp.vo.ConferenceTrack;
+import lombok.NonNull;
+import lombok.val;
+
+/* Agenda as single JSON object, times are "HH:mm" & types are "talk", "lunch" or "networking":
+
+   {"tracks":[{"track":1,"events":[
+     {"start":"09:00","end":"10:00","title":"Java Is Not Magic","minutes":60,"type":"talk"},...]},...]}
+*/
+
+public class JsonAgendaRenderer implements AgendaRenderer {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+
+  @Override
+  public void render(@NonNull final Set<ConferenceTrack> tracks, @NonNull final Writer out) throws IOException {
+    out.write("{\"tracks\":[");
+    int trackNumber = 1;
+    for (ConferenceTrack track : tracks) {
+      if (trackNumber > 1) {
+        out.write(',');
+      }
+      out.write("{\"track\":");
+      out.write(RenderedValues.number(trackNumber++));
+      out.write(",\"events\":[");
+
+      for (int i = 0; i < track.size(); i++) {
+        if (i > 0) {
+          out.write(',');
+        }
+        render(track, i, out);
+      }
+      out.write("]}");
+    }
+    out.write("]}");
+    out.write(System.lineSeparator());
+  }
+
+  private static void render(ConferenceTrack track, int i, Writer out) throws IOException {
+    val event = track.event(i);
+    out.write("{\"start\":\"");
+    out.write(RenderedValues.clock24(track.startMinute(i)));
+    out.write("\",\"end\":\"");
+    out.write(RenderedValues.clock24(track.endMinute(i)));
+    out.write("\",\"title\":\"");
+    writeEscaped(event.title(), out);
+    out.write("\",\"minutes\":");
+    out.write(RenderedValues.number(event.duration().toMinutes()));
+    out.write(",\"type\":\"");
+    out.write(RenderedValues.typeOf(event));
+    out.write("\"}");
+  }
+
+  /* Runs of characters which need no escaping are written at once */
+
+  private static void writeEscaped(String s, Writer out) throws IOException {
+    int runStart = 0;
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c >= 0x20 && c != '"' && c != '\\') {
+        continue;
+      }
+      out.write(s, runStart, i - runStart);
+      runStart = i + 1;
+      switch (c) {
+        case '"':
+          out.write("\\\"");
+          break;
+        case '\\':
+          out.write("\\\\");
+          break;
+        case '\n':
+          out.write("\\n");
+          break;
+        case '\r':
+          out.write("\\r");
+          break;
+        case '\t':
+          out.write("\\t");
+          break;
+        default:
+          out.write("\\u00");
+          out.write(HEX_DIGITS[c >> 4]);
+          out.write(HEX_DIGITS[c & 0xF]);
+      }
+    }
+    out.write(s, runStart, s.length() - runStart);
+  }
+}
@@ -0,0 +1,68 @@
+package agp.render;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+import agp.vo.Event;
+import agp.vo.Lunch;
+import agp.vo.NetworkingEvent;
+import agp.vo.Talk;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+/* Strings rendered for times & durations are computed once per minute of day, so events
+   are written without formatting or concatenation */
+
+@UtilityClass
+class RenderedValues {
+
+  private static final int MINUTES_PER_DAY = 24 * 60;
+
+  private static final String[] CLOCK_12 = timesOf(DateTimeFormatter.ofPattern("hh:mm a"));
+
+  private static final String[] CLOCK_24 = timesOf(DateTimeFormatter.ofPattern("HH:mm"));
+
+  private static final String[] NUMBERS = numbersUpTo(MINUTES_PER_DAY);
+
+
+  private static String[] timesOf(DateTimeFormatter formatter) {
+    val times = new String[MINUTES_PER_DAY];
+    for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+      times[minute] = formatter.format(LocalTime.ofSecondOfDay(minute * 60L));
+    }
+    return times;
+  }
+
+  private static String[] numbersUpTo(int max) {
+    val numbers = new String[max + 1];
+    for (int i = 0; i <= max; i++) {
+      numbers[i] = Integer.toString(i);
+    }
+    return numbers;
+  }
+
+  /* Like "09:00 AM" for minute of day (wrapped after midnight) */
+  static String clock12(int minute) {
+    return CLOCK_12[Math.floorMod(minute, MINUTES_PER_DAY)];
+  }
+
+  /* Like "13:00" for minute of day (wrapped after midnight) */
+  static String clock24(int minute) {
+    return CLOCK_24[Math.floorMod(minute, MINUTES_PER_DAY)];
+  }
+
+  static String number(long n) {
+    return n >= 0 && n < NUMBERS.length ? NUMBERS[(int) n] : Long.toString(n);
+  }
+
+  static String typeOf(Event event) {
+    if (event instanceof Talk) {
+      return "talk";
+    } else if (event instanceof Lunch) {
+      return "lunch";
+    } else if (event instanceof NetworkingEvent) {
+      return "networking";
+    }
+    return "event";
+  }
+}
@@ -0,0 +1,71 @@
+package agp.render;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+
+import agp.vo.ConferenceTrack;
+import agp.vo.Event;
+import agp.vo.Lunch;
+import agp.vo.NetworkingEvent;
+import lombok.NonNull;
+import lombok.val;
+
+/* Agenda as text printed by AppEntryPoint, e.g.:
+
+   Track 1:
+   09:00 AM Writing Fast Tests Against Enterprise Rails 60min
+   ...
+   12:00 PM Lunch
+   ...
+   04:45 PM Rails for Java Developers lightning
+   05:00 PM Networking event
+*/
+
+public class TextAgendaRenderer implements AgendaRenderer {
+
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+
+
+  @Override
+  public void render(@NonNull final Set<ConferenceTrack> tracks, @NonNull final Writer out) throws IOException {
+    out.write(LINE_SEPARATOR);
+    int trackNumber = 1;
+    for (ConferenceTrack track : tracks) {
+      out.write("Track ");
+      out.write(RenderedValues.number(trackNumber++));
+      out.write(':');
+      out.write(LINE_SEPARATOR);
+      for (int i = 0; i < track.size(); i++) {
+        render(track, i, out);
+      }
+      out.write(LINE_SEPARATOR);
+    }
+  }
+
+  /* Lunch & networking event have no duration, but keep separating space */
+
+  private static void render(ConferenceTrack track, int i, Writer out) throws IOException {
+    val event = track.event(i);
+    out.write(RenderedValues.clock12(track.startMinute(i)));
+    out.write(' ');
+    out.write(event.title());
+    out.write(' ');
+
+    if (!isLunchOrNetworking(event)) {
+      long minutes = event.duration().toMinutes();
+      if (minutes == 5) {
+        out.write("lightning");
+      } else {
+        out.write(RenderedValues.number(minutes));
+        out.write("min");
+      }
+    }
+    out.write(LINE_SEPARATOR);
+  }
+
+  private static boolean isLunchOrNetworking(Event event) {
+    return event instanceof Lunch
+      || event instanceof NetworkingEvent;
+  }
+}
@@ -0,0 +1,196 @@
+package agp.scheduler;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+import static java.util.Comparator.comparingInt;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import agp.util.TalksHistogram;
+import agp.vo.Talk;
+import lombok.NonNull;
+import lombok.val;
+
+/* Packs talks into given number of afternoon sessions none of which is longer then
+   maximum duration. Talks are placed longest first, each into session with the least
+   remaining capacity still enough for it (best-fit decreasing). Then sessions are
+   repaired for balance: talks are moved from the fullest session to the emptiest one
+   while it brings their durations closer. Sessions are kept ordered by remaining
+   capacity, so each placement & each move takes O(log sessions).
+
+   Packing works on counts of talks per distinct duration: talks of equal duration are
+   placed & moved in batches, so it scales with number of distinct durations & sessions
+   rather than with number of talks. Talks themselves are taken only for packed sessions. */
+
+final class AfternoonTalksPacker {
+
+  private static final Comparator<Session> FULLEST_FIRST =
+    comparingInt(Session::remainingMinutes).thenComparingInt(Session::index);
+
+  private final int maxSessionMinutes;
+
+
+  AfternoonTalksPacker(@NonNull final Duration maxSessionDuration) {
+    checkArgument(maxSessionDuration.toMinutes() > 0, "Maximum session duration must be positive.");
+    this.maxSessionMinutes = Math.toIntExact(maxSessionDuration.toMinutes());
+  }
+
+  /* Returns talks of each session (in order of indexes), some sessions may be left empty */
+
+  List<Set<Talk>> pack(@NonNull final Set<Talk> talks, final int sessionsNumber) {
+    return pack(TalksHistogram.of(talks), sessionsNumber);
+  }
+
+  /* Takes all talks from histogram */
+
+  List<Set<Talk>> pack(@NonNull final TalksHistogram talks, final int sessionsNumber) {
+    checkArgument(sessionsNumber > 0, "At least one session is required.");
+    val sessionsMinutes = new int[sessionsNumber];
+    Arrays.fill(sessionsMinutes, maxSessionMinutes);
+    return packInto(talks, sessionsMinutes);
+  }
+
+  /* Sessions may differ in maximum duration, talks of each are returned in order of given
+     durations. Balancing evens out remaining capacities of sessions rather than durations. */
+
+  static List<Set<Talk>> packInto(@NonNull final TalksHistogram talks, @NonNull final int[] sessionsMinutes) {
+    checkArgument(sessionsMinutes.length > 0, "At least one session is required.");
+    checkArgument(Arrays.stream(sessionsMinutes).allMatch(minutes -> minutes > 0),
+      "Maximum session duration must be positive.");
+
+    val durations = talks.durations();
+    val counts = talks.counts();
+
+    val sessions = new TreeSet<Session>(FULLEST_FIRST);
+    for (int i = 0; i < sessionsMinutes.length; i++) {
+      sessions.add(new Session(i, durations.length, sessionsMinutes[i]));
+    }
+
+    /* best fit for talk stays best fit for next talk of equal duration while it fits */
+
+    for (int i = 0; i < durations.length; i++) {
+      for (int left = counts[i]; left > 0; ) {
+        val bestFit = sessions.ceiling(Session.probe(durations[i]));
+        if (bestFit == null) {
+          throw new SchedulingException(format(
+            "Failed to fit talks into %s afternoon sessions of %s minutes.",
+            sessionsMinutes.length, describe(sessionsMinutes)
+          ));
+        }
+        val fitting = Math.min(left, bestFit.remainingMinutes() / durations[i]);
+        move(i, durations[i], fitting, null, bestFit, sessions);
+        left -= fitting;
+      }
+    }
+
+    balance(sessions, durations, talks.size());
+
+    return sessions.stream()
+      .sorted(comparingInt(Session::index))
+      .map(session -> talks.take(session.pattern()))
+      .collect(Collectors.toList());
+  }
+
+  /* Like "240" for sessions of equal durations or "120-240" otherwise */
+
+  private static String describe(int[] sessionsMinutes) {
+    val stats = Arrays.stream(sessionsMinutes).summaryStatistics();
+    return stats.getMin() == stats.getMax()
+      ? Integer.toString(stats.getMax())
+      : stats.getMin() + "-" + stats.getMax();
+  }
+
+  /* Moving of x < gap minutes changes sum of squared remaining capacities by 2x(x - gap),
+     so each move strictly decreases it & repair ends. Number of talks of chosen duration
+     to move is the one bringing remaining capacities closest to each other. */
+
+  private static void balance(TreeSet<Session> sessions, int[] durations, int maxMoves) {
+    for (int moves = 0; moves < maxMoves && sessions.size() > 1; moves++) {
+      val fullest = sessions.first();
+      val emptiest = sessions.last();
+      val gap = emptiest.remainingMinutes() - fullest.remainingMinutes();
+
+      int bestIndex = -1;
+      int bestNumber = 0;
+      int bestGap = gap;
+
+      for (int i = 0; i < durations.length; i++) {
+        if (fullest.pattern()[i] == 0 || durations[i] >= gap) {
+          continue;
+        }
+        val number = Math.min(fullest.pattern()[i], Math.max(1, Math.round(gap / (2f * durations[i]))));
+        val newGap = Math.abs(gap - 2 * number * durations[i]);
+        if (newGap < bestGap) {
+          bestIndex = i;
+          bestNumber = number;
+          bestGap = newGap;
+        }
+      }
+
+      if (bestIndex < 0) {
+        return;
+      }
+      move(bestIndex, durations[bestIndex], bestNumber, fullest, emptiest, sessions);
+    }
+  }
+
+  private static void move(
+    int i, int duration, int number, Session from, Session to, TreeSet<Session> sessions) {
+
+    if (from != null) {
+      sessions.remove(from);
+      from.add(i, duration, -number);
+      sessions.add(from);
+    }
+    sessions.remove(to);
+    to.add(i, duration, number);
+    sessions.add(to);
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                Auxiliary Classes                                */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  private static final class Session {
+
+    private final int index;
+    private final int[] pattern;
+    private int remainingMinutes;
+
+
+    private Session(int index, int durationsNumber, int capacityMinutes) {
+      this.index = index;
+      this.pattern = new int[durationsNumber];
+      this.remainingMinutes = capacityMinutes;
+    }
+
+    /* Precedes any real session with given remaining capacity in FULLEST_FIRST order */
+    private static Session probe(int remainingMinutes) {
+      return new Session(-1, 0, remainingMinutes);
+    }
+
+    private int index() {
+      return index;
+    }
+
+    private int remainingMinutes() {
+      return remainingMinutes;
+    }
+
+    /* Number of talks per distinct duration */
+    private int[] pattern() {
+      return pattern;
+    }
+
+    private void add(int i, int duration, int number) {
+      pattern[i] += number;
+      remainingMinutes -= number * duration;
+    }
+  }
+}
@@ -3,9 +3,25 @@ package agp.scheduler;
 import java.util.Set;
 import java.util.function.Function;
 
+import agp.util.Budget;
+import agp.util.Cancellation;
 import agp.vo.ConferenceTrack;
 import agp.vo.Talk;
+import lombok.NonNull;
 
 public interface ConferenceAgendaScheduler extends Function<Set<Talk>, Set<ConferenceTrack>> {
 
+  /* Search stops at its next safepoint once budget is exhausted (see Cancellation) &
+     SchedulingTimeoutException with partial result is thrown */
+
+  default Set<ConferenceTrack> apply(@NonNull final Set<Talk> talks, @NonNull final Budget budget) {
+    return Cancellation.within(budget, () -> apply(talks));
+  }
+
+  /* Everything agenda depends on, like parameters & wrapped schedulers, so agendas of
+     schedulers of different configurations are never taken one for another (see AgendaCache) */
+
+  default String configuration() {
+    return getClass().getSimpleName();
+  }
 }
@@ -1,19 +1,21 @@
 package agp.scheduler;
 
+import static agp.metrics.SchedulerMetrics.metrics;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptySet;
 import static java.util.stream.Collectors.toSet;
 
 import java.time.Duration;
-import java.util.ArrayDeque;
-import java.util.Collection;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Multimap;
 
-import agp.util.Events;
+import agp.util.BudgetExhaustedException;
+import agp.util.TalksHistogram;
 import agp.vo.AfternoonSession;
 import agp.vo.ConferenceTrack;
 import agp.vo.Lunch;
@@ -21,15 +23,21 @@ import agp.vo.MorningSession;
 import agp.vo.NetworkingEvent;
 import agp.vo.Talk;
 import lombok.NonNull;
+import lombok.experimental.Accessors;
 import lombok.val;
 
+/* Scheduling works on counts of talks per distinct duration (see TalksHistogram) wherever
+   it searches, so its cost depends on number of distinct durations & tracks rather than on
+   number of talks. Talks themselves are taken from per-duration queues to build sessions. */
+
+@Accessors(fluent = true)
 public class ConferenceAgendaSchedulerImpl implements ConferenceAgendaScheduler {
 
   /* duration of morning session */
-  private final Duration MS_DURATION = Duration.ofHours(3);
+  private final Duration MS_DURATION = TrackTemplate.MORNING_SESSION_DURATION;
 
   /* maximum duration of afternoon session */
-  private final Duration MAX_AS_DURATION = Duration.ofHours(4);
+  private final Duration MAX_AS_DURATION = TrackTemplate.MAX_AFTERNOON_SESSION_DURATION;
 
   /* minimum duration of track session */
   private final Duration MIN_TRACK_DURATION = MS_DURATION.plus(Duration.ofMinutes(1));
@@ -37,18 +45,61 @@ public class ConferenceAgendaSchedulerImpl implements ConferenceAgendaScheduler
   /* maximum duration of track session */
   private final Duration MAX_TRACK_DURATION = MS_DURATION.plus(MAX_AS_DURATION);
 
+  /* name of morning sessions schedulers, part of configuration */
+  private final String morningSessionsSchedulerName;
+
+  /* creates factory of schedulers of given number of morning sessions for each scheduling */
+  private final Supplier<Function<Integer, MorningSessionsScheduler>> morningSessionsSchedulerFactories;
+
+
+  public ConferenceAgendaSchedulerImpl() {
+    this("sharingSearch", JointMorningSessionsSchedulerImpl::sharingSearch);
+  }
+
+  /* Factories can't be told apart, so the name must be unique for each of them: agendas of
+     schedulers of the same name are taken one for another (see configuration) */
+
+  public ConferenceAgendaSchedulerImpl(
+    @NonNull final String morningSessionsSchedulerName,
+    @NonNull final Function<Integer, MorningSessionsScheduler> morningSessionsSchedulerFactory) {
+
+    this(morningSessionsSchedulerName, () -> morningSessionsSchedulerFactory);
+  }
+
+  private ConferenceAgendaSchedulerImpl(
+    @NonNull final String morningSessionsSchedulerName,
+    @NonNull final Supplier<Function<Integer, MorningSessionsScheduler>> morningSessionsSchedulerFactories) {
+
+    checkArgument(!morningSessionsSchedulerName.isEmpty(), "Name of morning sessions scheduler must not be empty.");
+    this.morningSessionsSchedulerName = morningSessionsSchedulerName;
+    this.morningSessionsSchedulerFactories = morningSessionsSchedulerFactories;
+  }
+
+  /* Creates scheduler of given number of morning sessions, factory is used by one scheduling */
+  public Function<Integer, MorningSessionsScheduler> morningSessionsSchedulerFactory() {
+    return morningSessionsSchedulerFactories.get();
+  }
 
   @Override
   public Set<ConferenceTrack> apply(@NonNull final Set<Talk> availableTalks) {
-    validate(availableTalks);
-    val morningSessionsSchedulingResult = scheduleMorningSessionsFor(availableTalks);
-    return scheduleTracksBasedOn(morningSessionsSchedulingResult);
+    val talksDurationInMinutes = availableTalks.stream().mapToLong(talk -> talk.duration().toMinutes()).sum();
+    validate(talksDurationInMinutes);
+
+    val startTime = System.nanoTime();
+    try {
+      return scheduleTracksFor(availableTalks, talksDurationInMinutes);
+    } finally {
+      metrics().agenda().recordSince(startTime);
+    }
   }
 
-  private void validate(Set<Talk> talks) {
-    val minutes = Events.durationOf(talks).toMinutes();
+  @Override
+  public String configuration() {
+    return getClass().getSimpleName() + "(" + morningSessionsSchedulerName + ")";
+  }
 
-    if (minutes <= MIN_TRACK_DURATION.toMinutes()) {
+  private void validate(long talksDurationInMinutes) {
+    if (talksDurationInMinutes <= MIN_TRACK_DURATION.toMinutes()) {
       throw new IllegalArgumentException(
         "Overall duration of talks must be > " + MIN_TRACK_DURATION.toHours() +
           " hours to schedule at least one track of morning & afternoon session."
@@ -56,25 +107,60 @@ public class ConferenceAgendaSchedulerImpl implements ConferenceAgendaScheduler
     }
   }
 
+  /* Numbers of tracks are tried from lower bound up while afternoon talks can't be packed
+     into tracks. Morning sessions are filled exactly, so once they fail for some number of
+     tracks they fail for any greater number too & search ends. Morning sessions schedulers
+     of all numbers are made by one factory, which may share state of search among them
+     (see JointMorningSessionsSchedulerImpl.sharingSearch). */
+
+  private Set<ConferenceTrack> scheduleTracksFor(Set<Talk> talks, long talksDurationInMinutes) {
+    val morningSessionsSchedulerFactory = morningSessionsSchedulerFactory();
+    val maxTracksNumber = calcMaxTracksNumberFor(talksDurationInMinutes);
+
+    for (int tracksNumber = calcRequiredTracksNumberFor(talksDurationInMinutes); ; tracksNumber++) {
+      val morningSessionsSchedulingResult =
+        scheduleMorningSessionsFor(talks, tracksNumber, morningSessionsSchedulerFactory);
+      try {
+        return scheduleTracksBasedOn(morningSessionsSchedulingResult);
+      } catch (SchedulingException ex) {
+        if (tracksNumber >= maxTracksNumber) {
+          throw ex;
+        }
+      }
+    }
+  }
+
   /* Methods to schedule required number of morning sessions */
 
-  private MorningSessionsScheduler.Result scheduleMorningSessionsFor(Set<Talk> talks) {
-    val requiredTracksNumber = calcRequiredTracksNumberFor(talks);
+  private MorningSessionsScheduler.Result scheduleMorningSessionsFor(
+    Set<Talk> talks, int requiredTracksNumber, Function<Integer, MorningSessionsScheduler> factory) {
+
     try {
-      return new MorningSessionsSchedulerImpl(requiredTracksNumber).apply(talks);
+      return factory.apply(requiredTracksNumber).apply(talks);
+    } catch (SchedulingTimeoutException ex) {
+      throw ex;
+    } catch (BudgetExhaustedException ex) {
+      val nothingScheduled = new MorningSessionsScheduler.Result(emptySet(), talks);
+      throw new SchedulingTimeoutException("Failed to schedule conference agenda within time budget.", nothingScheduled, ex);
     } catch (Exception ex) {
       throw new SchedulingException("Failed to schedule conference agenda.", ex);
     }
   }
 
-  private int calcRequiredTracksNumberFor(Set<Talk> talks) {
-    val talksDurationInMinutes = Events.durationOf(talks).toMinutes();
+  /* Tracks can't be fewer then needed to fit all talks, nor more then morning sessions
+     which can be filled by all talks */
+
+  private int calcRequiredTracksNumberFor(long talksDurationInMinutes) {
     val maxTrackDurationInMunutes = MAX_TRACK_DURATION.toMinutes();
     val div = talksDurationInMinutes / maxTrackDurationInMunutes;
     val mod = talksDurationInMinutes % maxTrackDurationInMunutes;
     return (int) (mod == 0 ? div : div + 1);
   }
 
+  private int calcMaxTracksNumberFor(long talksDurationInMinutes) {
+    return (int) (talksDurationInMinutes / MS_DURATION.toMinutes());
+  }
+
   /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
   /*                                Tracks Scheduler                                 */
   /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
@@ -82,58 +168,61 @@ public class ConferenceAgendaSchedulerImpl implements ConferenceAgendaScheduler
   private Set<ConferenceTrack> scheduleTracksBasedOn(
     MorningSessionsScheduler.Result morningSessionsSchedulingResult) {
 
-    return new TracksScheduler(morningSessionsSchedulingResult).schedule();
+    val startTime = System.nanoTime();
+    try {
+      val afternoonTalksPacker = new AfternoonTalksPacker(MAX_AS_DURATION);
+      val tracks = new TracksScheduler(morningSessionsSchedulingResult, afternoonTalksPacker).schedule();
+      metrics().tracksScheduled().add(tracks.size());
+      return tracks;
+    } finally {
+      metrics().tracks().recordSince(startTime);
+    }
   }
 
   private static final class TracksScheduler {
 
     private final ImmutableList<MorningSession> morningSessions;
-    private final ImmutableSet<Talk> unusedTalks;
     private final Integer tracksNumber;
-    private final Multimap<Integer, Talk> unusedTalksByTracksNumber;
+    private final List<Set<Talk>> unusedTalksByTrackIndex;
 
 
-    private TracksScheduler(@NonNull MorningSessionsScheduler.Result morningSessionsSchedulingResult) {
+    private TracksScheduler(
+      @NonNull MorningSessionsScheduler.Result morningSessionsSchedulingResult,
+      @NonNull AfternoonTalksPacker afternoonTalksPacker) {
+
       this.morningSessions = ImmutableList.copyOf(morningSessionsSchedulingResult.sessions());
-      this.unusedTalks = morningSessionsSchedulingResult.unusedTalks();
       this.tracksNumber = morningSessions.size();
-      this.unusedTalksByTracksNumber = distributeAmongTracks(unusedTalks, tracksNumber);
+      this.unusedTalksByTrackIndex = afternoonTalksPacker.pack(
+        TalksHistogram.of(morningSessionsSchedulingResult.unusedTalks()), tracksNumber
+      );
     }
 
     Set<ConferenceTrack> schedule() {
-      return unusedTalksByTracksNumber
-        .asMap().entrySet().stream()
-        .map(this::scheduleConferenceTrack)
+      return IntStream.range(0, tracksNumber)
+        .mapToObj(this::scheduleConferenceTrack)
         .collect(toSet());
     }
 
-    private ConferenceTrack scheduleConferenceTrack(Map.Entry<Integer, Collection<Talk>> entry) {
-      val morningSession = morningSessions.get(entry.getKey());
-      val unusedTalksForTrack = ImmutableSet.copyOf(entry.getValue());
-      val afternoonSession = AfternoonSession.of(unusedTalksForTrack);
-
-      return ConferenceTrack.builder()
-        .scheduleSequence(morningSession)
-        .scheduleEvent(new Lunch())
-        .scheduleSequence(afternoonSession)
-        .scheduleEvent(new NetworkingEvent())
-        .build();
+    private ConferenceTrack scheduleConferenceTrack(int trackIndex) {
+      val morningSession = morningSessions.get(trackIndex);
+      val unusedTalksForTrack = unusedTalksByTrackIndex.get(trackIndex);
+      return newConferenceTrack(morningSession, unusedTalksForTrack);
     }
+  }
 
-    private static Multimap<Integer, Talk> distributeAmongTracks(
-      final Set<Talk> unusedTalks, final int tracksNumber) {
-
-      val indexBuilder = ImmutableMultimap.<Integer, Talk>builder();
-      val unusedTalksDeque = new ArrayDeque<Talk>(unusedTalks);
-      val lastTrackIndex = tracksNumber - 1;
+  /* Afternoon session is skipped when there are no talks for it */
 
-      for (int trackIndex = 0; !unusedTalksDeque.isEmpty(); ) {
-        val unusedTalk = unusedTalksDeque.pollFirst();
-        indexBuilder.put(trackIndex, unusedTalk);
-        trackIndex = (trackIndex == lastTrackIndex) ? 0 : trackIndex + 1;
-      }
+  static ConferenceTrack newConferenceTrack(MorningSession morningSession, Set<Talk> afternoonTalks) {
+    val trackBuilder = ConferenceTrack.builder()
+      .scheduleSequence(morningSession)
+      .scheduleEvent(new Lunch());
 
-      return indexBuilder.build();
+    if (!afternoonTalks.isEmpty()) {
+      trackBuilder.scheduleSequence(AfternoonSession.of(afternoonTalks));
     }
+
+    return trackBuilder
+      .scheduleEvent(new NetworkingEvent())
+      .build();
   }
 }
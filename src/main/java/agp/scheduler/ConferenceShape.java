@@ -0,0 +1,58 @@
+package agp.scheduler;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+/* Conference of given number of days, each with the same number of rooms, track of each
+   room & day is made by the same template. Tracks are numbered day by day, room by room. */
+
+@ToString
+@Accessors(fluent = true)
+public final class ConferenceShape {
+
+  @Getter
+  private final int days;
+
+  @Getter
+  private final int rooms;
+
+  @Getter @NonNull
+  private final TrackTemplate trackTemplate;
+
+
+  public int tracksNumber() {
+    return days * rooms;
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                             Builder related stuff                               */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  @lombok.Builder(builderClassName = "Builder")
+  private ConferenceShape(final int days, final int rooms, @NonNull final TrackTemplate trackTemplate) {
+    checkArgument(days > 0, "Number of days must be positive.");
+    checkArgument(rooms > 0, "Number of rooms must be positive.");
+    checkArgument((long) days * rooms <= Integer.MAX_VALUE, "Number of tracks is too large.");
+    this.days = days;
+    this.rooms = rooms;
+    this.trackTemplate = trackTemplate;
+  }
+
+  /* Default field values for Lombok-generated Builder */
+
+  public static final class Builder {
+    private int days = 1;
+    private int rooms = 1;
+    private TrackTemplate trackTemplate = TrackTemplate.DEFAULT;
+  }
+
+  /* Shortcut methods for Builder creation */
+
+  public static Builder of(final int days, final int rooms) {
+    return builder().days(days).rooms(rooms);
+  }
+}
@@ -0,0 +1,50 @@
+package agp.scheduler;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+import agp.vo.ConferenceTrack;
+import agp.vo.Talk;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.experimental.Accessors;
+
+/* Applies change of talks to already scheduled agenda & returns new agenda */
+
+public interface IncrementalConferenceAgendaScheduler extends
+  BiFunction<Set<ConferenceTrack>, IncrementalConferenceAgendaScheduler.Change, Set<ConferenceTrack>> {
+
+  @Value
+  @Accessors(fluent = true)
+  final class Change {
+
+    @NonNull
+    private final ImmutableSet<Talk> addedTalks;
+
+    @NonNull
+    private final ImmutableSet<Talk> removedTalks;
+
+
+    public static Change adding(@NonNull final Set<Talk> talks) {
+      return new Change(talks, ImmutableSet.of());
+    }
+
+    public static Change removing(@NonNull final Set<Talk> talks) {
+      return new Change(ImmutableSet.of(), talks);
+    }
+
+    public Change(@NonNull final Set<Talk> addedTalks, @NonNull final Set<Talk> removedTalks) {
+      checkArgument(
+        Sets.intersection(addedTalks, removedTalks).isEmpty(),
+        "Talk can't be added & removed at once."
+      );
+      this.addedTalks = ImmutableSet.copyOf(addedTalks);
+      this.removedTalks = ImmutableSet.copyOf(removedTalks);
+    }
+  }
+}
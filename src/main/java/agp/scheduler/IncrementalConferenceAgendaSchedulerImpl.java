@@ -0,0 +1,261 @@
+package agp.scheduler;
+
+import static agp.scheduler.ConferenceAgendaSchedulerImpl.newConferenceTrack;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingLong;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.collect.Sets;
+
+import agp.vo.ConferenceTrack;
+import agp.vo.ConferenceTrack.ScheduledEvent;
+import agp.vo.Lunch;
+import agp.vo.MorningSession;
+import agp.vo.Talk;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Repairs only tracks affected by change, other tracks are kept as they are:
+   - removed afternoon talk simply leaves its session;
+   - removed morning talk leaves gap, so its track is re-solved alone, or together with
+     another track when it can't fill morning session on its own;
+   - added talk goes to afternoon session with the least room still enough for it, or
+     two tracks with the most room are re-solved together with it.
+   Agenda is scheduled from scratch only when local repair fails. */
+
+@Accessors(fluent = true)
+public class IncrementalConferenceAgendaSchedulerImpl implements IncrementalConferenceAgendaScheduler {
+
+  /* maximum number of local re-solves per changed talk before falling back */
+  private static final int MAX_REPAIR_ATTEMPTS = 64;
+
+  /* schedules both tracks being re-solved & whole agenda on fallback */
+  @Getter @NonNull
+  private final ConferenceAgendaScheduler scheduler;
+
+  /* added talks never make afternoon session longer, it should match one of scheduler */
+  @Getter @NonNull
+  private final Duration maxAfternoonSessionDuration;
+
+
+  public IncrementalConferenceAgendaSchedulerImpl() {
+    this(new ConferenceAgendaSchedulerImpl());
+  }
+
+  public IncrementalConferenceAgendaSchedulerImpl(@NonNull final ConferenceAgendaScheduler scheduler) {
+    this(scheduler, TrackTemplate.MAX_AFTERNOON_SESSION_DURATION);
+  }
+
+  public IncrementalConferenceAgendaSchedulerImpl(
+    @NonNull final ConferenceAgendaScheduler scheduler,
+    @NonNull final Duration maxAfternoonSessionDuration) {
+
+    checkArgument(maxAfternoonSessionDuration.toMinutes() > 0, "Maximum duration of afternoon session must be positive.");
+    this.scheduler = scheduler;
+    this.maxAfternoonSessionDuration = maxAfternoonSessionDuration;
+  }
+
+  @Override
+  public Set<ConferenceTrack> apply(@NonNull final Set<ConferenceTrack> tracks, @NonNull final Change change) {
+    val agenda = new Agenda(tracks);
+    validate(agenda, change);
+
+    try {
+      agenda.remove(change.removedTalks());
+      change.addedTalks().stream()
+        .sorted(comparing(Talk::duration).reversed().thenComparing(Talk::title))
+        .forEach(agenda::add);
+      return agenda.tracks();
+    } catch (LocalRepairFailure failure) {
+      val keptTalks = Sets.difference(agenda.initialTalks, change.removedTalks());
+      return scheduler.apply(Sets.union(keptTalks, change.addedTalks()));
+    }
+  }
+
+  private static void validate(Agenda agenda, Change change) {
+    for (Talk talk : change.removedTalks()) {
+      checkArgument(agenda.initialTalks.contains(talk), "Talk '%s' is not scheduled.", talk.title());
+    }
+    for (Talk talk : change.addedTalks()) {
+      checkArgument(!agenda.initialTalks.contains(talk), "Talk '%s' is already scheduled.", talk.title());
+    }
+  }
+
+  /* Local re-solve fails when scheduler finds talks too short or can't fit them */
+
+  private Optional<Set<ConferenceTrack>> tryToSchedule(Set<Talk> talks) {
+    try {
+      return Optional.of(scheduler.apply(talks));
+    } catch (IllegalArgumentException | SchedulingException ex) {
+      return Optional.empty();
+    }
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                     Agenda                                      */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  private final class Agenda {
+
+    private final List<Track> tracks;
+    private final Set<Talk> initialTalks = new HashSet<>();
+
+
+    private Agenda(Set<ConferenceTrack> tracks) {
+      this.tracks = tracks.stream().map(Track::new).collect(toList());
+      this.tracks.forEach(track -> initialTalks.addAll(track.talks()));
+    }
+
+    private Set<ConferenceTrack> tracks() {
+      return tracks.stream().map(Track::conferenceTrack).collect(toSet());
+    }
+
+    /* All removed talks leave their sessions first, so talks of re-solved tracks are actual */
+
+    private void remove(Set<Talk> talks) {
+      val tracksWithGaps = new ArrayList<Track>();
+      for (Track track : tracks) {
+        if (track.afternoonTalks.removeAll(talks)) {
+          track.conferenceTrack = null;
+        }
+        if (track.morningTalks.removeAll(talks)) {
+          track.conferenceTrack = null;
+          tracksWithGaps.add(track);
+        }
+      }
+
+      for (Track track : tracksWithGaps) {
+        if (!tracks.contains(track)) {
+          continue;   // already re-solved together with another track
+        }
+        if (track.talks().isEmpty()) {
+          tracks.remove(track);
+        } else if (!resolve(emptySet(), track)) {
+          resolveWithOneOf(track, tracksWithTheMostRoomExcept(track));
+        }
+      }
+    }
+
+    private void add(Talk talk) {
+      val minutes = talk.duration().toMinutes();
+
+      val bestFit = tracks.stream()
+        .filter(track -> track.afternoonRoom() >= minutes)
+        .min(comparingLong(Track::afternoonRoom));
+
+      if (bestFit.isPresent()) {
+        bestFit.get().afternoonTalks.add(talk);
+        bestFit.get().conferenceTrack = null;
+        return;
+      }
+
+      val candidates = tracksWithTheMostRoomExcept(null);
+      int attempts = 0;
+      for (int i = 0; i < candidates.size() && attempts < MAX_REPAIR_ATTEMPTS; i++) {
+        for (int j = i + 1; j < candidates.size() && attempts < MAX_REPAIR_ATTEMPTS; j++, attempts++) {
+          if (candidates.get(i).afternoonRoom() + candidates.get(j).afternoonRoom() < minutes) {
+            break;
+          }
+          if (resolve(singleton(talk), candidates.get(i), candidates.get(j))) {
+            return;
+          }
+        }
+      }
+      throw new LocalRepairFailure();
+    }
+
+    private void resolveWithOneOf(Track track, List<Track> partners) {
+      for (int i = 0; i < partners.size() && i < MAX_REPAIR_ATTEMPTS; i++) {
+        if (resolve(emptySet(), track, partners.get(i))) {
+          return;
+        }
+      }
+      throw new LocalRepairFailure();
+    }
+
+    private List<Track> tracksWithTheMostRoomExcept(Track excludedTrack) {
+      return tracks.stream()
+        .filter(track -> track != excludedTrack)
+        .sorted(comparingLong(Track::afternoonRoom).reversed())
+        .collect(toList());
+    }
+
+    /* Re-solved tracks replace given ones, their number may become smaller */
+
+    private boolean resolve(Set<Talk> addedTalks, Track... resolvedTracks) {
+      val talks = new HashSet<Talk>(addedTalks);
+      for (Track track : resolvedTracks) {
+        talks.addAll(track.talks());
+      }
+
+      val newTracks = tryToSchedule(talks);
+      if (!newTracks.isPresent() || newTracks.get().size() > resolvedTracks.length) {
+        return false;
+      }
+
+      for (Track track : resolvedTracks) {
+        tracks.remove(track);
+      }
+      newTracks.get().forEach(track -> tracks.add(new Track(track)));
+      return true;
+    }
+  }
+
+  /* Track is rebuilt from its sessions only if they were changed */
+
+  private final class Track {
+
+    private final Set<Talk> morningTalks = new HashSet<>();
+    private final Set<Talk> afternoonTalks = new HashSet<>();
+    private ConferenceTrack conferenceTrack;
+
+
+    private Track(ConferenceTrack conferenceTrack) {
+      this.conferenceTrack = conferenceTrack;
+
+      boolean isAfternoon = false;
+      for (ScheduledEvent event : conferenceTrack) {
+        if (event.delegate() instanceof Lunch) {
+          isAfternoon = true;
+        } else if (event.delegate() instanceof Talk) {
+          (isAfternoon ? afternoonTalks : morningTalks).add((Talk) event.delegate());
+        }
+      }
+    }
+
+    private Set<Talk> talks() {
+      return Sets.union(morningTalks, afternoonTalks);
+    }
+
+    private long afternoonRoom() {
+      return maxAfternoonSessionDuration.toMinutes() - afternoonTalks.stream().mapToLong(talk -> talk.duration().toMinutes()).sum();
+    }
+
+    private ConferenceTrack conferenceTrack() {
+      if (conferenceTrack == null) {
+        conferenceTrack = newConferenceTrack(MorningSession.of(morningTalks), afternoonTalks);
+      }
+      return conferenceTrack;
+    }
+  }
+
+  private static final class LocalRepairFailure extends RuntimeException {
+
+    private LocalRepairFailure() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,406 @@
+package agp.scheduler;
+
+import static agp.metrics.SchedulerMetrics.metrics;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableSet;
+
+import agp.util.BudgetExhaustedException;
+import agp.util.Cancellation;
+import agp.util.TalksHistogram;
+import agp.vo.MorningSession;
+import agp.vo.Talk;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Unlike MorningSessionsSchedulerImpl, which takes first possible session one by one,
+   this scheduler solves all sessions as one multi-knapsack problem & backtracks across
+   sessions when earlier ones leave no way to fill later ones. Talks of equal duration
+   are interchangeable, so search works on counts of talks per distinct duration (bounded
+   knapsack) & concrete talks are taken from histogram only for found sessions. */
+
+@Accessors(fluent = true)
+public class JointMorningSessionsSchedulerImpl implements MorningSessionsScheduler {
+
+  @NonNull @Getter
+  private final Duration sessionGoalDuration;
+
+  @NonNull @Getter
+  private final Integer requiredSessionsNumber;
+
+  /* shared by schedulers of growing numbers of sessions for the same talks, if any */
+  private final SearchMemo searchMemo;
+
+
+  public JointMorningSessionsSchedulerImpl(Integer requiredSessionsNumber) {
+    this(Duration.ofHours(3), requiredSessionsNumber, null);
+  }
+
+  @Override
+  public Result apply(@NonNull final Set<Talk> availableTalks) {
+    validateNumberOf(availableTalks);
+
+    val startTime = System.nanoTime();
+    val talks = TalksHistogram.of(availableTalks);
+    val memo = searchMemo == null ? new SearchMemo() : searchMemo;
+    val search = new Search(talks.durations(), talks.counts(), goalMinutes(), memo);
+    try {
+      val patterns = search
+        .patternsFor(requiredSessionsNumber)
+        .orElseThrow(this::newSchedulingException);
+
+      return newResultFrom(patterns, talks);
+    } catch (BudgetExhaustedException ex) {
+      throw newSchedulingTimeoutException(newResultFrom(search.mostPatterns(), talks), ex);
+    } finally {
+      metrics().morningSessions().recordSince(startTime);
+    }
+  }
+
+  private void validateNumberOf(Set<Talk> talks) {
+    checkArgument(
+      talks.size() >= requiredSessionsNumber,
+      "Number of talks should be at least %s.",
+      requiredSessionsNumber
+    );
+  }
+
+  private int goalMinutes() {
+    return Math.toIntExact(sessionGoalDuration.toMinutes());
+  }
+
+  /* Each pattern holds number of talks per distinct duration */
+
+  private static Result newResultFrom(List<int[]> patterns, TalksHistogram talks) {
+    val sessions = ImmutableSet.<MorningSession>builder();
+    patterns.forEach(pattern -> sessions.add(MorningSession.of(talks.take(pattern))));
+    metrics().morningSessionsScheduled().add(patterns.size());
+    return new Result(sessions.build(), talks.takeRemaining());
+  }
+
+  private SchedulingTimeoutException newSchedulingTimeoutException(Result partialResult, Exception cause) {
+    return new SchedulingTimeoutException(format(
+      "Only %s of required number (%s) of sessions are scheduled within time budget.",
+      partialResult.sessions().size(), requiredSessionsNumber), partialResult, cause
+    );
+  }
+
+  private SchedulingException newSchedulingException() {
+    return new SchedulingException(format(
+      "Failed to schedule required number (%s) of " +
+        "sessions.", requiredSessionsNumber)
+    );
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                 Backtracking Search                             */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  /* Sessions are filled one after another. Before filling of each session it's checked
+     that enough minutes are left for all remaining sessions & table of sums reachable
+     with remaining talks is built, so only patterns leading to filled session are tried.
+     Counts from which remaining sessions can't be filled are remembered as failed (see
+     SearchMemo), for the fewest number of sessions failed from them.
+     Found pattern is repeated for as many sessions as possible at once, so depth of
+     recursion depends on number of distinct patterns rather than on number of sessions.
+     Each tried number of talks of some duration is counted as explored combination.
+     The most sessions filled at once are remembered as partial result of search stopped
+     by exhausted budget. */
+
+  private static final class Search {
+
+    private final int[] durations;
+    private final int[] counts;
+    private final int goal;
+    private final SearchMemo memo;
+    private final Deque<int[]> patterns = new ArrayDeque<>();
+    private List<int[]> mostPatterns = Collections.emptyList();
+    private long remainingMinutes;
+    private long exploredCombinations;
+
+
+    private Search(int[] durations, int[] counts, int goal, SearchMemo memo) {
+      this.durations = durations;
+      this.counts = counts;
+      this.goal = goal;
+      this.memo = memo.boundTo(durations, counts, goal);
+      for (int i = 0; i < durations.length; i++) {
+        remainingMinutes += (long) durations[i] * counts[i];
+      }
+    }
+
+    Optional<List<int[]>> patternsFor(int sessionsNumber) {
+      try {
+        if (fillSessions(sessionsNumber)) {
+          val orderedPatterns = new ArrayList<int[]>(patterns);
+          Collections.reverse(orderedPatterns);
+          return Optional.of(orderedPatterns);
+        }
+        return Optional.empty();
+      } finally {
+        memo.exploredCombinations += exploredCombinations;
+        metrics().combinationsExplored().add(exploredCombinations);
+      }
+    }
+
+    /* In order of sessions filling */
+
+    List<int[]> mostPatterns() {
+      return mostPatterns;
+    }
+
+    private boolean fillSessions(int sessionsLeft) {
+      Cancellation.checkpoint();
+      if (sessionsLeft == 0) {
+        return true;
+      }
+      if (remainingMinutes < (long) sessionsLeft * goal) {
+        return false;
+      }
+
+      val state = new Counts(counts.clone());
+      if (memo.hasFailed(state, sessionsLeft)) {
+        return false;
+      }
+
+      val session = new Session(patterns.isEmpty() ? memo.initialReachableSums(this) : reachableSumsTable());
+      if (session.isReachable(0, goal) && fillSession(session, 0, goal, sessionsLeft)) {
+        return true;
+      }
+
+      memo.fail(state, sessionsLeft);
+      return false;
+    }
+
+    /* Larger numbers of longer talks are tried first: long talks are harder to place */
+
+    private boolean fillSession(Session session, int i, int goalLeft, int sessionsLeft) {
+      if (goalLeft == 0) {
+        return fillSessionsRepeating(session.pattern.clone(), sessionsLeft);
+      }
+
+      val duration = durations[i];
+      val maxTaken = Math.min(counts[i], goalLeft / duration);
+
+      for (int taken = maxTaken; taken >= 0; taken--) {
+        val minutes = taken * duration;
+        if (!session.isReachable(i + 1, goalLeft - minutes)) {
+          continue;
+        }
+
+        exploredCombinations++;
+        take(session, i, taken);
+        if (fillSession(session, i + 1, goalLeft - minutes, sessionsLeft)) {
+          return true;
+        }
+        take(session, i, -taken);
+      }
+
+      return false;
+    }
+
+    private void take(Session session, int i, int taken) {
+      counts[i] -= taken;
+      session.pattern[i] += taken;
+      remainingMinutes -= taken * durations[i];
+    }
+
+    /* Pattern is already taken once. Extra repeats are tried from maximum possible
+       halving down to none, taking none at last keeps search complete. */
+
+    private boolean fillSessionsRepeating(int[] pattern, int sessionsLeft) {
+      for (int extra = maxExtraRepeatsOf(pattern, sessionsLeft - 1); ; extra /= 2) {
+        takeRepeatedly(pattern, extra);
+        for (int repeat = 0; repeat <= extra; repeat++) {
+          patterns.push(pattern);
+        }
+        if (patterns.size() > mostPatterns.size()) {
+          mostPatterns = new ArrayList<>(patterns);
+          Collections.reverse(mostPatterns);
+        }
+
+        if (fillSessions(sessionsLeft - 1 - extra)) {
+          return true;
+        }
+
+        for (int repeat = 0; repeat <= extra; repeat++) {
+          patterns.pop();
+        }
+        takeRepeatedly(pattern, -extra);
+
+        if (extra == 0) {
+          return false;
+        }
+      }
+    }
+
+    private int maxExtraRepeatsOf(int[] pattern, int sessionsLeft) {
+      int repeats = sessionsLeft;
+      for (int i = 0; i < pattern.length; i++) {
+        if (pattern[i] > 0) {
+          repeats = Math.min(repeats, counts[i] / pattern[i]);
+        }
+      }
+      return repeats;
+    }
+
+    private void takeRepeatedly(int[] pattern, int repeats) {
+      for (int i = 0; i < pattern.length; i++) {
+        counts[i] -= repeats * pattern[i];
+        remainingMinutes -= (long) repeats * pattern[i] * durations[i];
+      }
+    }
+
+    /* reachable[i][sum] tells if sum can be reached using talks of durations[i..] only */
+
+    private boolean[][] reachableSumsTable() {
+      val reachable = new boolean[durations.length + 1][goal + 1];
+      val taken = new int[goal + 1];
+      reachable[durations.length][0] = true;
+
+      for (int i = durations.length - 1; i >= 0; i--) {
+        for (int sum = 0; sum <= goal; sum++) {
+          if (reachable[i + 1][sum]) {
+            reachable[i][sum] = true;
+            taken[sum] = 0;
+          } else if (sum >= durations[i] && reachable[i][sum - durations[i]]
+            && taken[sum - durations[i]] < counts[i]) {
+            reachable[i][sum] = true;
+            taken[sum] = taken[sum - durations[i]] + 1;
+          }
+        }
+      }
+
+      return reachable;
+    }
+
+    private final class Session {
+
+      private final boolean[][] reachable;
+      private final int[] pattern = new int[durations.length];
+
+      private Session(boolean[][] reachable) {
+        this.reachable = reachable;
+      }
+
+      private boolean isReachable(int i, int sum) {
+        return reachable[i][sum];
+      }
+    }
+  }
+
+  @EqualsAndHashCode
+  @RequiredArgsConstructor
+  private static final class Counts {
+    private final int[] counts;
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                   Search Memo                                   */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  /* Sessions which can't be filled from some counts of talks can't be filled from them
+     together with any more sessions, so failed states found by search of some number of
+     sessions prune searches of greater numbers of sessions for the same talks, as well as
+     table of sums reachable with all talks is built once for all of them. Memo is bound to
+     talks & goal of the first search & is reset by search of other ones. Not thread-safe,
+     it's meant to be shared by schedulers of one scheduling call (see sharingSearch). */
+
+  @Accessors(fluent = true)
+  public static final class SearchMemo {
+
+    private final Map<Counts, Integer> fewestFailedSessions = new HashMap<>();
+    private int[] durations;
+    private int[] counts;
+    private int goal;
+    private boolean[][] initialReachableSums;
+
+    /* by all searches using this memo, unlike process-wide metrics */
+    @Getter
+    private long exploredCombinations;
+
+
+    private SearchMemo boundTo(int[] durations, int[] counts, int goal) {
+      if (goal != this.goal || !Arrays.equals(durations, this.durations) || !Arrays.equals(counts, this.counts)) {
+        this.durations = durations.clone();
+        this.counts = counts.clone();
+        this.goal = goal;
+        this.initialReachableSums = null;
+        fewestFailedSessions.clear();
+      }
+      return this;
+    }
+
+    private boolean hasFailed(Counts state, int sessionsNumber) {
+      val fewestSessions = fewestFailedSessions.get(state);
+      return fewestSessions != null && fewestSessions <= sessionsNumber;
+    }
+
+    private void fail(Counts state, int sessionsNumber) {
+      fewestFailedSessions.merge(state, sessionsNumber, Math::min);
+    }
+
+    private boolean[][] initialReachableSums(Search search) {
+      if (initialReachableSums == null) {
+        initialReachableSums = search.reachableSumsTable();
+      }
+      return initialReachableSums;
+    }
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                             Builder related stuff                               */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+   /* Builder is mostly a replacement for partial application & carrying,
+   to avoid 'apply' with several arguments when it's possible & convenient. */
+
+  @lombok.Builder(builderClassName = "Builder")
+  private JointMorningSessionsSchedulerImpl(
+    @NonNull final Duration sessionGoalDuration,
+    @NonNull final Integer requiredSessionsNumber,
+    final SearchMemo searchMemo) {
+
+    checkArgument(sessionGoalDuration.toMinutes() > 0, "Session goal duration must be positive.");
+    this.sessionGoalDuration = sessionGoalDuration;
+    this.requiredSessionsNumber = requiredSessionsNumber;
+    this.searchMemo = searchMemo;
+  }
+
+  /* Default field values for Lombok-generated Builder */
+
+  public static final class Builder {
+    private Duration sessionGoalDuration = Duration.ofHours(3);
+  }
+
+  /* Shortcut methods for Builder creation */
+
+  public static Builder using(@NonNull Duration sessionGoalDuration) {
+    return builder().sessionGoalDuration(sessionGoalDuration);
+  }
+
+  /* Factory of schedulers sharing one SearchMemo, for schedulers of one scheduling call */
+
+  public static Function<Integer, MorningSessionsScheduler> sharingSearch() {
+    val memo = new SearchMemo();
+    return sessionsNumber -> builder().requiredSessionsNumber(sessionsNumber).searchMemo(memo).build();
+  }
+}
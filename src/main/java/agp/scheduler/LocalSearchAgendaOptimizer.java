@@ -0,0 +1,445 @@
+package agp.scheduler;
+
+import static agp.scheduler.ConferenceAgendaSchedulerImpl.newConferenceTrack;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import agp.util.Budget;
+import agp.util.Cancellation;
+import agp.util.SchedulingExecutor;
+import agp.util.TalkCatalog;
+import agp.vo.ConferenceTrack;
+import agp.vo.Lunch;
+import agp.vo.MorningSession;
+import agp.vo.Talk;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Improves feasible agenda: first by the number of tracks, then by balance of afternoon
+   sessions (so networking events of all tracks start at about the same time).
+
+   Track is eliminated when all its talks fit into afternoon sessions of other tracks
+   (best-fit decreasing, lightest tracks are tried first). Then afternoon talks are moved &
+   swapped between tracks by simulated annealing minimizing sum of squared durations of
+   afternoon sessions. Durations of sessions are cached, so each move is evaluated in O(1).
+   Independent restarts (seeded by seed + number of restart) run in parallel until given
+   time limit or budget of calling thread is exhausted; the best of their agendas wins.
+   Number of restarts is fixed, only number of threads running them depends on executor.
+   Unless stopped by time, optimization of the same tracks with the same seed gives the
+   same agenda, in any JVM.
+   Morning sessions are kept as they are: they are exactly 3 hours anyway. */
+
+@Accessors(fluent = true)
+@lombok.Builder(builderClassName = "Builder")
+public class LocalSearchAgendaOptimizer implements UnaryOperator<Set<ConferenceTrack>> {
+
+  /* checks of time budget are this often, in iterations */
+  private static final int ITERATIONS_BETWEEN_CHECKS = 1 << 10;
+
+  /* final temperature of annealing, moves making agenda worse are hardly accepted at it */
+  private static final double FINAL_TEMPERATURE = 0.5;
+
+  @Getter @NonNull
+  private final Duration timeLimit;
+
+  /* sessions of given agenda must not be longer & are never made longer */
+  @Getter @NonNull
+  private final Duration maxAfternoonSessionDuration;
+
+  @Getter
+  private final int restartsNumber;
+
+  @Getter
+  private final int iterationsPerRestart;
+
+  @Getter
+  private final long seed;
+
+  @Getter @NonNull
+  private final ExecutorService executor;
+
+
+  @Override
+  public Set<ConferenceTrack> apply(@NonNull final Set<ConferenceTrack> tracks) {
+    checkArgument(!tracks.isEmpty(), "At least one track is required.");
+    checkArgument(restartsNumber > 0, "Number of restarts must be positive.");
+    checkArgument(iterationsPerRestart >= 0, "Number of iterations must not be negative.");
+
+    val initial = Agenda.of(tracks, Math.toIntExact(maxAfternoonSessionDuration.toMinutes()));
+    initial.eliminateTracks();
+
+    val budget = Budget.of(timeLimit);
+    val callerBudget = Cancellation.currentBudget().orElseGet(Budget::unlimited);
+    final BooleanSupplier isExhausted = () -> budget.isExhausted() || callerBudget.isExhausted();
+
+    val restarts = IntStream.range(0, restartsNumber)
+      .mapToObj(restart -> (Callable<Agenda>) () -> initial.copy().anneal(seed + restart, iterationsPerRestart, isExhausted))
+      .collect(toList());
+
+    return best(restarts).tracks();
+  }
+
+  /* Parameters agenda depends on, see ConferenceAgendaScheduler#configuration */
+
+  public String configuration() {
+    return String.format("%s(timeLimit=%s, maxAfternoonSessionDuration=%s, restarts=%s, iterations=%s, seed=%s)",
+      getClass().getSimpleName(), timeLimit, maxAfternoonSessionDuration, restartsNumber, iterationsPerRestart, seed);
+  }
+
+  /* The best agenda of all restarts, ties are resolved by number of restart */
+
+  private Agenda best(List<Callable<Agenda>> restarts) {
+    try {
+      Agenda best = null;
+      for (Future<Agenda> future : executor.invokeAll(restarts)) {
+        val agenda = future.get();
+        if (best == null || agenda.cost() < best.cost()) {
+          best = agenda;
+        }
+      }
+      return best;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SchedulingException("Optimization of conference agenda was interrupted.", ex);
+    } catch (ExecutionException ex) {
+      throw new SchedulingException("Failed to optimize conference agenda.", ex.getCause());
+    }
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                             Builder related stuff                               */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  /* Default field values for Lombok-generated Builder */
+
+  public static final class Builder {
+    private Duration timeLimit = Duration.ofMillis(200);
+    private Duration maxAfternoonSessionDuration = TrackTemplate.MAX_AFTERNOON_SESSION_DURATION;
+    private int restartsNumber = 4;
+    private int iterationsPerRestart = 200_000;
+    private long seed = 0;
+    private ExecutorService executor = SchedulingExecutor.shared();
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                     Agenda                                      */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  /* Talks are ids in catalog, afternoon talks of each track are kept in array (removal
+     swaps removed talk with the last one) next to cached duration of session in minutes */
+
+  private static final class Agenda {
+
+    private final TalkCatalog catalog;
+    private final int maxAfternoonMinutes;
+    private int[][] morningTalks;
+    private int[][] afternoonTalks;
+    private int[] afternoonSizes;
+    private int[] afternoonMinutes;
+    private long cost;
+
+
+    private Agenda(
+      TalkCatalog catalog, int maxAfternoonMinutes, int[][] morningTalks, int[][] afternoonTalks, int[] afternoonSizes) {
+
+      this.catalog = catalog;
+      this.maxAfternoonMinutes = maxAfternoonMinutes;
+      this.morningTalks = morningTalks;
+      this.afternoonTalks = afternoonTalks;
+      this.afternoonSizes = afternoonSizes;
+      this.afternoonMinutes = new int[afternoonTalks.length];
+      for (int track = 0; track < afternoonTalks.length; track++) {
+        for (int i = 0; i < afternoonSizes[track]; i++) {
+          afternoonMinutes[track] += catalog.minutes(afternoonTalks[track][i]);
+        }
+        checkArgument(afternoonMinutes[track] <= maxAfternoonMinutes,
+          "Afternoon session must not be longer then %s minutes.", maxAfternoonMinutes);
+      }
+      this.cost = costOf(afternoonMinutes);
+    }
+
+    /* Talks scheduled before lunch are morning ones, the others are afternoon ones.
+       Ids of talks are in order of titles & durations, talks of each session & tracks (by
+       their first talk) are in order of ids, so search depends on talks of given tracks
+       only, not on order of their iteration (which may differ from one run to another). */
+
+    private static Agenda of(Set<ConferenceTrack> tracks, int maxAfternoonMinutes) {
+      val catalog = TalkCatalog.of(tracks.stream()
+        .flatMap(track -> track.talks().stream())
+        .sorted(comparing(Talk::title).thenComparing(Talk::duration))
+        .collect(toList()));
+
+      val sessions = new ArrayList<int[][]>(tracks.size());
+      for (ConferenceTrack track : tracks) {
+        val morning = IntStream.builder();
+        val afternoon = IntStream.builder();
+        boolean isAfternoon = false;
+        for (int i = 0; i < track.size(); i++) {
+          val event = track.event(i);
+          if (event instanceof Lunch) {
+            isAfternoon = true;
+          } else if (event instanceof Talk) {
+            (isAfternoon ? afternoon : morning).add(catalog.idOf(event));
+          }
+        }
+        sessions.add(new int[][] {morning.build().sorted().toArray(), afternoon.build().sorted().toArray()});
+      }
+      sessions.sort(comparingInt(Agenda::firstTalkOf));
+
+      val morningTalks = new int[tracks.size()][];
+      val afternoonTalks = new int[tracks.size()][];
+      val afternoonSizes = new int[tracks.size()];
+      for (int track = 0; track < sessions.size(); track++) {
+        morningTalks[track] = sessions.get(track)[0];
+        afternoonTalks[track] = sessions.get(track)[1];
+        afternoonSizes[track] = afternoonTalks[track].length;
+      }
+      return new Agenda(catalog, maxAfternoonMinutes, morningTalks, afternoonTalks, afternoonSizes);
+    }
+
+    private static int firstTalkOf(int[][] sessions) {
+      int first = Integer.MAX_VALUE;
+      for (int[] session : sessions) {
+        if (session.length > 0) {
+          first = Math.min(first, session[0]);
+        }
+      }
+      return first;
+    }
+
+    /* Morning sessions are never changed after track elimination, so they are shared */
+
+    private Agenda copy() {
+      val talks = new int[afternoonTalks.length][];
+      for (int track = 0; track < talks.length; track++) {
+        talks[track] = afternoonTalks[track].clone();
+      }
+      return new Agenda(catalog, maxAfternoonMinutes, morningTalks, talks, afternoonSizes.clone());
+    }
+
+    private int tracksNumber() {
+      return morningTalks.length;
+    }
+
+    /* Sum of squared durations of afternoon sessions */
+    private long cost() {
+      return cost;
+    }
+
+    private static long costOf(int[] sessionsMinutes) {
+      long sum = 0;
+      for (int minutes : sessionsMinutes) {
+        sum += (long) minutes * minutes;
+      }
+      return sum;
+    }
+
+    /* Cost of sessions of equal (up to a minute) durations */
+    private static long balancedCostOf(long totalMinutes, int sessionsNumber) {
+      val quotient = totalMinutes / sessionsNumber;
+      val remainder = totalMinutes % sessionsNumber;
+      return remainder * (quotient + 1) * (quotient + 1) + (sessionsNumber - remainder) * quotient * quotient;
+    }
+
+    private Set<ConferenceTrack> tracks() {
+      return IntStream.range(0, tracksNumber())
+        .mapToObj(track -> newConferenceTrack(
+          MorningSession.of(talksOf(morningTalks[track], morningTalks[track].length)),
+          talksOf(afternoonTalks[track], afternoonSizes[track])
+        ))
+        .collect(toSet());
+    }
+
+    private Set<Talk> talksOf(int[] ids, int size) {
+      val talks = new HashSet<Talk>(size * 2);
+      for (int i = 0; i < size; i++) {
+        talks.add(catalog.talk(ids[i]));
+      }
+      return talks;
+    }
+
+    /* Track elimination */
+
+    private void eliminateTracks() {
+      boolean isEliminated = true;
+      while (isEliminated && tracksNumber() > 1) {
+        isEliminated = false;
+        val lightestFirst = IntStream.range(0, tracksNumber()).boxed()
+          .sorted(comparingInt(track -> afternoonMinutes[track]))
+          .collect(toList());
+        for (int track : lightestFirst) {
+          if (tryToEliminate(track)) {
+            isEliminated = true;
+            break;
+          }
+        }
+      }
+    }
+
+    /* Talks of eliminated track go to afternoon sessions, longest first, each into the
+       fullest session still having room for it */
+
+    private boolean tryToEliminate(int eliminated) {
+      val talks = IntStream.concat(
+        Arrays.stream(morningTalks[eliminated]),
+        Arrays.stream(afternoonTalks[eliminated], 0, afternoonSizes[eliminated])
+      ).boxed().sorted(comparingInt(catalog::minutes).reversed()).mapToInt(Integer::intValue).toArray();
+
+      val minutesAfter = afternoonMinutes.clone();
+      val targets = new int[talks.length];
+      for (int i = 0; i < talks.length; i++) {
+        val minutes = catalog.minutes(talks[i]);
+        int bestFit = -1;
+        for (int track = 0; track < tracksNumber(); track++) {
+          if (track != eliminated && minutesAfter[track] + minutes <= maxAfternoonMinutes
+            && (bestFit < 0 || minutesAfter[track] > minutesAfter[bestFit])) {
+            bestFit = track;
+          }
+        }
+        if (bestFit < 0) {
+          return false;
+        }
+        minutesAfter[bestFit] += minutes;
+        targets[i] = bestFit;
+      }
+
+      for (int i = 0; i < talks.length; i++) {
+        append(targets[i], talks[i]);
+      }
+      morningTalks = withoutElement(morningTalks, eliminated);
+      afternoonTalks = withoutElement(afternoonTalks, eliminated);
+      afternoonSizes = withoutElement(afternoonSizes, eliminated);
+      afternoonMinutes = withoutElement(afternoonMinutes, eliminated);
+      cost = costOf(afternoonMinutes);
+      return true;
+    }
+
+    private static int[][] withoutElement(int[][] array, int index) {
+      val result = new int[array.length - 1][];
+      System.arraycopy(array, 0, result, 0, index);
+      System.arraycopy(array, index + 1, result, index, result.length - index);
+      return result;
+    }
+
+    private static int[] withoutElement(int[] array, int index) {
+      val result = new int[array.length - 1];
+      System.arraycopy(array, 0, result, 0, index);
+      System.arraycopy(array, index + 1, result, index, result.length - index);
+      return result;
+    }
+
+    /* Simulated annealing: random talk is moved to another track or swapped with random
+       talk of it. Moving of x minutes from session of a to session of b minutes changes
+       cost by (a - x)^2 + (b + x)^2 - a^2 - b^2 = 2x(b - a + x). */
+
+    private Agenda anneal(long seed, int iterations, BooleanSupplier isExhausted) {
+      val tracksNumber = tracksNumber();
+      if (tracksNumber < 2 || iterations == 0) {
+        return this;
+      }
+
+      val random = new Random(seed);
+      val lowerBound = balancedCostOf(IntStream.of(afternoonMinutes).asLongStream().sum(), tracksNumber);
+      val initialTemperature = initialTemperature();
+      val cooling = Math.pow(FINAL_TEMPERATURE / initialTemperature, 1.0 / iterations);
+
+      Agenda best = copy();
+      double temperature = initialTemperature;
+
+      for (int iteration = 0; iteration < iterations && best.cost > lowerBound; iteration++, temperature *= cooling) {
+        if (iteration % ITERATIONS_BETWEEN_CHECKS == 0 && isExhausted.getAsBoolean()) {
+          break;
+        }
+
+        val from = random.nextInt(tracksNumber);
+        if (afternoonSizes[from] == 0) {
+          continue;
+        }
+        val to = (from + 1 + random.nextInt(tracksNumber - 1)) % tracksNumber;
+
+        val x = random.nextInt(afternoonSizes[from]);
+        val y = afternoonSizes[to] == 0 || random.nextBoolean() ? -1 : random.nextInt(afternoonSizes[to]);
+
+        val moved = y < 0
+          ? catalog.minutes(afternoonTalks[from][x])
+          : catalog.minutes(afternoonTalks[from][x]) - catalog.minutes(afternoonTalks[to][y]);
+
+        if (moved == 0 || afternoonMinutes[to] + moved > maxAfternoonMinutes || afternoonMinutes[from] - moved > maxAfternoonMinutes) {
+          continue;
+        }
+        val delta = 2L * moved * (afternoonMinutes[to] - afternoonMinutes[from] + moved);
+
+        if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+          if (y < 0) {
+            append(to, remove(from, x));
+          } else {
+            swap(from, x, to, y);
+          }
+          cost += delta;
+          if (cost < best.cost) {
+            best = copy();
+          }
+        }
+      }
+      return best;
+    }
+
+    /* Moves of a mean talk make worse agenda about as often as better one at first */
+    private double initialTemperature() {
+      double meanMinutes = 0;
+      for (int id = 0; id < catalog.size(); id++) {
+        meanMinutes += catalog.minutes(id);
+      }
+      meanMinutes /= Math.max(1, catalog.size());
+      return Math.max(FINAL_TEMPERATURE * 2, 2 * meanMinutes * meanMinutes);
+    }
+
+    private void swap(int from, int fromIndex, int to, int toIndex) {
+      val fromId = afternoonTalks[from][fromIndex];
+      val toId = afternoonTalks[to][toIndex];
+      afternoonTalks[from][fromIndex] = toId;
+      afternoonTalks[to][toIndex] = fromId;
+      val moved = catalog.minutes(fromId) - catalog.minutes(toId);
+      afternoonMinutes[from] -= moved;
+      afternoonMinutes[to] += moved;
+    }
+
+    private int remove(int track, int index) {
+      val size = --afternoonSizes[track];
+      val id = afternoonTalks[track][index];
+      afternoonTalks[track][index] = afternoonTalks[track][size];
+      afternoonMinutes[track] -= catalog.minutes(id);
+      return id;
+    }
+
+    private void append(int track, int id) {
+      val size = afternoonSizes[track];
+      if (size == afternoonTalks[track].length) {
+        afternoonTalks[track] = Arrays.copyOf(afternoonTalks[track], Math.max(4, size * 2));
+      }
+      afternoonTalks[track][size] = id;
+      afternoonSizes[track]++;
+      afternoonMinutes[track] += catalog.minutes(id);
+    }
+  }
+}
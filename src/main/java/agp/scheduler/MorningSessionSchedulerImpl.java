@@ -1,11 +1,11 @@
 package agp.scheduler;
 
+import static agp.metrics.SchedulerMetrics.metrics;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import java.time.Duration;
 import java.util.Set;
-
-import com.google.common.collect.Sets;
+import java.util.stream.Stream;
 
 import agp.util.weighable.KnapsackSolutionForTalks;
 import agp.util.weighable.KnapsackSolutionForTalks.Answer;
@@ -36,23 +36,30 @@ public class MorningSessionSchedulerImpl implements MorningSessionScheduler {
   public Result apply(@NonNull final Set<Talk> availableTalks) {
     requireNonEmpty(availableTalks);
 
-    return findPossibleCombinationsForSessionAmong(availableTalks)
-      .stream()
-      .findFirst()
-      .map(talksCombination -> newResultFrom(availableTalks, talksCombination))
-      .orElseThrow(this::newSchedulingException);
+    val startTime = System.nanoTime();
+    try {
+      return findPossibleCombinationsForSessionAmong(availableTalks)
+        .findFirst()
+        .map(talksCombination -> newResultFrom(availableTalks, talksCombination))
+        .orElseThrow(this::newSchedulingException);
+    } finally {
+      metrics().morningSession().recordSince(startTime);
+    }
   }
 
   private void requireNonEmpty(Set<Talk> talks) {
     checkArgument(!talks.isEmpty(), "At least one talk is required.");
   }
 
-  private Set<Answer> findPossibleCombinationsForSessionAmong(Set<Talk> availableTalks) {
-    return knapsackSolution.apply(availableTalks, sessionGoalDuration);
+  private Stream<Answer> findPossibleCombinationsForSessionAmong(Set<Talk> availableTalks) {
+    return knapsackSolution.stream(availableTalks, sessionGoalDuration);
   }
 
+  /* Unused talks are Answer, so next session is searched over the same catalog of talks
+     & its answer is subtracted from them word by word, without hashing of talks */
+
   private Result newResultFrom(Set<Talk> allTalks, Set<Talk> morningSessionTalks) {
-    val unusedTalks = Sets.difference(allTalks, morningSessionTalks);
+    val unusedTalks = Answer.of(allTalks).minus(morningSessionTalks);
     return new Result(MorningSession.of(morningSessionTalks), unusedTalks);
   }
 
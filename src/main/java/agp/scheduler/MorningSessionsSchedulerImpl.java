@@ -1,5 +1,6 @@
 package agp.scheduler;
 
+import static agp.metrics.SchedulerMetrics.metrics;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 
@@ -8,6 +9,8 @@ import java.util.Set;
 
 import com.google.common.collect.ImmutableSet;
 
+import agp.util.BudgetExhaustedException;
+import agp.util.Cancellation;
 import agp.vo.MorningSession;
 import agp.vo.Talk;
 import lombok.Getter;
@@ -33,16 +36,32 @@ public class MorningSessionsSchedulerImpl implements MorningSessionsScheduler {
   public Result apply(@NonNull final Set<Talk> availableTalks) {
     validateNumberOf(availableTalks);
 
+    val startTime = System.nanoTime();
+    try {
+      return scheduleSessionsFrom(availableTalks);
+    } finally {
+      metrics().morningSessions().recordSince(startTime);
+    }
+  }
+
+  private Result scheduleSessionsFrom(Set<Talk> availableTalks) {
     val morningSessionsSetBuilder = ImmutableSet.<MorningSession>builder();
     Set<Talk> unusedTalks = availableTalks;
 
     for (int i = 0; i < requiredSessionsNumber; i++) {
-      MorningSessionScheduler.Result result = scheduleSessionFrom(unusedTalks);
+      final MorningSessionScheduler.Result result;
+      try {
+        Cancellation.checkpoint();
+        result = scheduleSessionFrom(unusedTalks);
+      } catch (BudgetExhaustedException ex) {
+        throw newSchedulingTimeoutException(new Result(morningSessionsSetBuilder.build(), unusedTalks), ex);
+      }
       morningSessionsSetBuilder.add(result.session());
       unusedTalks = result.unusedTalks();
     }
 
     val morningSessions = morningSessionsSetBuilder.build();
+    metrics().morningSessionsScheduled().add(morningSessions.size());
     return new Result(morningSessions, unusedTalks);
   }
 
@@ -57,11 +76,20 @@ public class MorningSessionsSchedulerImpl implements MorningSessionsScheduler {
   private MorningSessionScheduler.Result scheduleSessionFrom(Set<Talk> talks) {
     try {
       return sessionScheduler.apply(talks);
+    } catch (BudgetExhaustedException ex) {
+      throw ex;
     } catch (Exception ex) {
       throw newSchedulingException(ex);
     }
   }
 
+  private SchedulingTimeoutException newSchedulingTimeoutException(Result partialResult, Exception cause) {
+    return new SchedulingTimeoutException(format(
+      "Only %s of required number (%s) of sessions are scheduled within time budget.",
+      partialResult.sessions().size(), requiredSessionsNumber), partialResult, cause
+    );
+  }
+
   private SchedulingException newSchedulingException(Exception cause) {
     return new SchedulingException(format(
       "Failed to schedule required number (%s) of " +
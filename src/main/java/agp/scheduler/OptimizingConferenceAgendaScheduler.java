@@ -0,0 +1,45 @@
+package agp.scheduler;
+
+import java.util.Set;
+
+import agp.vo.ConferenceTrack;
+import agp.vo.Talk;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+/* Agenda of another scheduler is improved by optimizer, which stops on its own time limit
+   or once budget of calling thread (if any) is exhausted, whichever comes first */
+
+@Accessors(fluent = true)
+public class OptimizingConferenceAgendaScheduler implements ConferenceAgendaScheduler {
+
+  @Getter @NonNull
+  private final ConferenceAgendaScheduler scheduler;
+
+  @Getter @NonNull
+  private final LocalSearchAgendaOptimizer optimizer;
+
+
+  public OptimizingConferenceAgendaScheduler(@NonNull final LocalSearchAgendaOptimizer optimizer) {
+    this(new ConferenceAgendaSchedulerImpl(), optimizer);
+  }
+
+  public OptimizingConferenceAgendaScheduler(
+    @NonNull final ConferenceAgendaScheduler scheduler,
+    @NonNull final LocalSearchAgendaOptimizer optimizer) {
+
+    this.scheduler = scheduler;
+    this.optimizer = optimizer;
+  }
+
+  @Override
+  public Set<ConferenceTrack> apply(@NonNull final Set<Talk> availableTalks) {
+    return optimizer.apply(scheduler.apply(availableTalks));
+  }
+
+  @Override
+  public String configuration() {
+    return String.format("%s(%s, %s)", getClass().getSimpleName(), scheduler.configuration(), optimizer.configuration());
+  }
+}
@@ -0,0 +1,348 @@
+package agp.scheduler;
+
+import static agp.metrics.SchedulerMetrics.metrics;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+import static java.util.Comparator.comparingLong;
+import static java.util.Comparator.reverseOrder;
+import static java.util.stream.Collectors.toList;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+
+import agp.util.Budget;
+import agp.util.Cancellation;
+import agp.util.SchedulingExecutor;
+import agp.util.TalksHistogram;
+import agp.vo.AfternoonSession;
+import agp.vo.ConferenceTrack;
+import agp.vo.MorningSession;
+import agp.vo.Talk;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Schedules conference of given shape (days x rooms x track template). Talks are dealt
+   among all tracks longest first, each to the least loaded track, so tracks get similar
+   minutes & mix of durations. Then each track is scheduled as separate small problem, all
+   of them in parallel. Only when some partition fails, it's merged with its neighbour &
+   talks of both are scheduled again jointly (as one problem of more tracks), so tracks are
+   rebalanced only where it's needed, up to all of them scheduled at once. Budget of calling
+   thread (if any) is shared by all partitions. */
+
+@Accessors(fluent = true)
+public class PartitionedConferenceAgendaScheduler implements ConferenceAgendaScheduler {
+
+  @Getter @NonNull
+  private final ConferenceShape shape;
+
+  @Getter @NonNull
+  private final ExecutorService executor;
+
+
+  public PartitionedConferenceAgendaScheduler(@NonNull final ConferenceShape shape) {
+    this(shape, SchedulingExecutor.shared());
+  }
+
+  public PartitionedConferenceAgendaScheduler(
+    @NonNull final ConferenceShape shape,
+    @NonNull final ExecutorService executor) {
+
+    this.shape = shape;
+    this.executor = executor;
+  }
+
+  /* Tracks day by day, room by room */
+
+  @Override
+  public Set<ConferenceTrack> apply(@NonNull final Set<Talk> availableTalks) {
+    return ImmutableSet.copyOf(Iterables.concat(schedule(availableTalks)));
+  }
+
+  /* Tracks of each day in order of rooms */
+
+  public ImmutableList<ImmutableList<ConferenceTrack>> schedule(@NonNull final Set<Talk> availableTalks) {
+    validate(availableTalks.stream().mapToLong(talk -> talk.duration().toMinutes()).sum());
+
+    val startTime = System.nanoTime();
+    try {
+      val tracks = new ConferenceTrack[shape.tracksNumber()];
+      val scheduled = new HashSet<Partition>();
+      List<Partition> partitions = deal(availableTalks);
+      List<Partition> unscheduled = partitions;
+
+      while (!unscheduled.isEmpty()) {
+        val failures = schedulePartitions(unscheduled, tracks);
+        unscheduled.stream().filter(partition -> !failures.containsKey(partition)).forEach(scheduled::add);
+        partitions = merge(partitions, failures);
+        unscheduled = partitions.stream().filter(partition -> !scheduled.contains(partition)).collect(toList());
+      }
+
+      metrics().tracksScheduled().add(tracks.length);
+      return tracksByDay(tracks);
+    } finally {
+      metrics().agenda().recordSince(startTime);
+    }
+  }
+
+  @Override
+  public String configuration() {
+    return getClass().getSimpleName() + "(" + shape + ")";
+  }
+
+  private void validate(long talksDurationInMinutes) {
+    val template = shape.trackTemplate();
+    val minMinutes = shape.tracksNumber() * template.minMinutes();
+    val maxMinutes = shape.tracksNumber() * template.maxMinutes();
+    checkArgument(
+      talksDurationInMinutes >= minMinutes && talksDurationInMinutes <= maxMinutes,
+      "Overall duration of talks must be from %s to %s minutes to schedule %s tracks.",
+      minMinutes, maxMinutes, shape.tracksNumber()
+    );
+  }
+
+  private ImmutableList<ImmutableList<ConferenceTrack>> tracksByDay(ConferenceTrack[] tracks) {
+    val days = ImmutableList.<ImmutableList<ConferenceTrack>>builder();
+    for (int day = 0; day < shape.days(); day++) {
+      days.add(ImmutableList.copyOf(Arrays.copyOfRange(tracks, day * shape.rooms(), (day + 1) * shape.rooms())));
+    }
+    return days.build();
+  }
+
+  /* Longest talks are dealt first, so shorter ones even out minutes of tracks */
+
+  private List<Partition> deal(Set<Talk> talks) {
+    val partitions = new ArrayList<Partition>(shape.tracksNumber());
+    for (int track = 0; track < shape.tracksNumber(); track++) {
+      partitions.add(new Partition(track, 1, new ArrayList<>()));
+    }
+
+    val leastLoaded = new PriorityQueue<Partition>(
+      comparingLong(Partition::minutes).thenComparingInt(Partition::firstTrack)
+    );
+    leastLoaded.addAll(partitions);
+
+    talks.stream()
+      .sorted(comparingLong((Talk talk) -> talk.duration().toMinutes()).reversed())
+      .forEachOrdered(talk -> {
+        Partition partition = leastLoaded.poll();
+        partition.add(talk);
+        leastLoaded.add(partition);
+      });
+
+    return partitions;
+  }
+
+  /* Partitions are scheduled in parallel & their tracks are stored, failed ones are returned */
+
+  private Map<Partition, SchedulingException> schedulePartitions(
+    List<Partition> partitions, ConferenceTrack[] tracks) {
+
+    val budget = Cancellation.currentBudget().orElseGet(Budget::unlimited);
+    val tasks = partitions.stream()
+      .map(partition -> (Callable<List<ConferenceTrack>>) () -> Cancellation.within(budget, partition::schedule))
+      .collect(toList());
+
+    final List<Future<List<ConferenceTrack>>> futures;
+    try {
+      futures = executor.invokeAll(tasks);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SchedulingException("Scheduling of conference agenda was interrupted.", ex);
+    }
+
+    val failures = new HashMap<Partition, SchedulingException>();
+    for (int i = 0; i < futures.size(); i++) {
+      val partition = partitions.get(i);
+      try {
+        val partitionTracks = futures.get(i).get();
+        for (int track = 0; track < partition.tracksNumber; track++) {
+          tracks[partition.firstTrack + track] = partitionTracks.get(track);
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new SchedulingException("Scheduling of conference agenda was interrupted.", ex);
+      } catch (ExecutionException ex) {
+        if (!isRecoverable(ex.getCause())) {
+          throw asRuntimeException(ex.getCause());
+        }
+        failures.put(partition, (SchedulingException) ex.getCause());
+      }
+    }
+    return failures;
+  }
+
+  /* Partition failed to be scheduled within time budget isn't rescheduled */
+
+  private static boolean isRecoverable(Throwable cause) {
+    return cause instanceof SchedulingException && !(cause instanceof SchedulingTimeoutException);
+  }
+
+  private static RuntimeException asRuntimeException(Throwable cause) {
+    if (cause instanceof IllegalArgumentException || cause instanceof SchedulingException) {
+      return (RuntimeException) cause;
+    }
+    return new SchedulingException("Failed to schedule conference agenda.", cause);
+  }
+
+  /* Each failed partition is merged with the next one (or previous one for the last), so
+     merged partitions keep consecutive tracks & halve in number if all of them fail */
+
+  private static List<Partition> merge(List<Partition> partitions, Map<Partition, SchedulingException> failures) {
+    if (failures.isEmpty()) {
+      return partitions;
+    }
+    if (partitions.size() == 1) {
+      throw failures.values().iterator().next();
+    }
+
+    val merged = new ArrayDeque<Partition>(partitions.size());
+    for (int i = 0; i < partitions.size(); i++) {
+      val partition = partitions.get(i);
+      if (!failures.containsKey(partition)) {
+        merged.addLast(partition);
+      } else if (i + 1 < partitions.size()) {
+        merged.addLast(partition.plus(partitions.get(++i)));
+      } else {
+        merged.addLast(merged.pollLast().plus(partition));
+      }
+    }
+    return new ArrayList<>(merged);
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                    Partition                                    */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  /* Consecutive tracks & talks dealt to them. Exactly filled sessions of each duration are
+     scheduled jointly for all tracks of partition (longer sessions first), the rest of talks
+     is packed into sessions filled up to their durations. */
+
+  private final class Partition {
+
+    private final int firstTrack;
+    private final int tracksNumber;
+    private final List<Talk> talks;
+    private long minutes;
+
+
+    private Partition(int firstTrack, int tracksNumber, List<Talk> talks) {
+      this.firstTrack = firstTrack;
+      this.tracksNumber = tracksNumber;
+      this.talks = talks;
+      this.minutes = talks.stream().mapToLong(talk -> talk.duration().toMinutes()).sum();
+    }
+
+    private int firstTrack() {
+      return firstTrack;
+    }
+
+    private long minutes() {
+      return minutes;
+    }
+
+    private void add(Talk talk) {
+      talks.add(talk);
+      minutes += talk.duration().toMinutes();
+    }
+
+    private Partition plus(Partition next) {
+      val allTalks = new ArrayList<Talk>(talks);
+      allTalks.addAll(next.talks);
+      return new Partition(firstTrack, tracksNumber + next.tracksNumber, allTalks);
+    }
+
+    private List<ConferenceTrack> schedule() {
+      val template = shape.trackTemplate();
+      Set<Talk> unusedTalks = ImmutableSet.copyOf(talks);
+
+      val sessionsByDuration = new HashMap<Duration, ArrayDeque<MorningSession>>();
+      for (val entry : sessionsNumbersByDuration(template).entrySet()) {
+        val sessionsNumber = entry.getValue() * tracksNumber;
+        if (unusedTalks.size() < sessionsNumber) {
+          throw new SchedulingException(format(
+            "Failed to schedule required number (%s) of sessions of %s minutes.",
+            sessionsNumber, entry.getKey().toMinutes()
+          ));
+        }
+        val result = JointMorningSessionsSchedulerImpl.using(entry.getKey())
+          .requiredSessionsNumber(sessionsNumber)
+          .build()
+          .apply(unusedTalks);
+        sessionsByDuration.put(entry.getKey(), new ArrayDeque<>(result.sessions()));
+        unusedTalks = result.unusedTalks();
+      }
+
+      val packedSessions = new ArrayDeque<Set<Talk>>(pack(template, unusedTalks));
+
+      val tracks = new ArrayList<ConferenceTrack>(tracksNumber);
+      for (int track = 0; track < tracksNumber; track++) {
+        val builder = ConferenceTrack.startingAt(template.startTime());
+        for (val slot : template.slots()) {
+          if (slot.kind() == TrackTemplate.Slot.Kind.EVENT) {
+            builder.scheduleEvent(slot.event().get());
+          } else if (slot.kind() == TrackTemplate.Slot.Kind.SESSION_OF) {
+            builder.scheduleSequence(sessionsByDuration.get(slot.duration()).poll());
+          } else {
+            val session = packedSessions.poll();
+            if (!session.isEmpty()) {
+              builder.scheduleSequence(AfternoonSession.of(session));
+            }
+          }
+        }
+        tracks.add(builder.build());
+      }
+      return tracks;
+    }
+
+    /* Sessions filled up to their durations, in order of tracks & their slots */
+
+    private List<Set<Talk>> pack(TrackTemplate template, Set<Talk> unusedTalks) {
+      val slotsMinutes = template.slots().stream()
+        .filter(slot -> slot.kind() == TrackTemplate.Slot.Kind.SESSION_UP_TO)
+        .mapToInt(slot -> Math.toIntExact(slot.duration().toMinutes()))
+        .toArray();
+
+      if (slotsMinutes.length == 0) {
+        if (!unusedTalks.isEmpty()) {
+          throw new SchedulingException(format("Failed to schedule %s remaining talks.", unusedTalks.size()));
+        }
+        return ImmutableList.of();
+      }
+
+      val sessionsMinutes = new int[slotsMinutes.length * tracksNumber];
+      for (int track = 0; track < tracksNumber; track++) {
+        System.arraycopy(slotsMinutes, 0, sessionsMinutes, track * slotsMinutes.length, slotsMinutes.length);
+      }
+      return AfternoonTalksPacker.packInto(TalksHistogram.of(unusedTalks), sessionsMinutes);
+    }
+  }
+
+  /* Numbers of exactly filled sessions per track, the longest sessions first */
+
+  private static Map<Duration, Integer> sessionsNumbersByDuration(TrackTemplate template) {
+    val numbers = new TreeMap<Duration, Integer>(reverseOrder());
+    template.slots().stream()
+      .filter(slot -> slot.kind() == TrackTemplate.Slot.Kind.SESSION_OF)
+      .forEach(slot -> numbers.merge(slot.duration(), 1, Integer::sum));
+    return numbers;
+  }
+}
@@ -0,0 +1,123 @@
+package agp.scheduler;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import com.google.common.collect.ImmutableList;
+
+import agp.util.Budget;
+import agp.util.Cancellation;
+import agp.util.SchedulingExecutor;
+import agp.util.weighable.CachingKnapsackSolutionForTalks;
+import agp.util.weighable.KnapsackSolutionForTalks;
+import agp.util.weighable.SubsetSumKnapsackSolutionForTalks;
+import agp.vo.ConferenceTrack;
+import agp.vo.Talk;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Runs several scheduling strategies at the same time & returns agenda of the one which
+   succeeded first, the others are cancelled (interrupted). So latency on hard inputs is
+   set by the fastest strategy for that particular input. Budget of calling thread (if
+   any) is shared by all strategies. Called from thread of SchedulingExecutor (nested in
+   another parallel scheduler), strategies are tried one by one on that thread. */
+
+@Accessors(fluent = true)
+public class PortfolioConferenceAgendaScheduler implements ConferenceAgendaScheduler {
+
+  /* shared by default strategies, so repeated runs reuse answers for same durations */
+  private static final KnapsackSolutionForTalks SHARED_CACHING_SUBSET_SUM_SOLUTION =
+    new CachingKnapsackSolutionForTalks(new SubsetSumKnapsackSolutionForTalks());
+
+  @Getter @NonNull
+  private final ImmutableList<ConferenceAgendaScheduler> strategies;
+
+  @Getter @NonNull
+  private final ExecutorService executor;
+
+
+  public PortfolioConferenceAgendaScheduler() {
+    this(defaultStrategies(), SchedulingExecutor.shared());
+  }
+
+  public PortfolioConferenceAgendaScheduler(
+    @NonNull final List<ConferenceAgendaScheduler> strategies,
+    @NonNull final ExecutorService executor) {
+
+    checkArgument(!strategies.isEmpty(), "At least one strategy is required.");
+    this.strategies = ImmutableList.copyOf(strategies);
+    this.executor = executor;
+  }
+
+  @Override
+  public Set<ConferenceTrack> apply(@NonNull final Set<Talk> availableTalks) {
+    val budget = Cancellation.currentBudget().orElseGet(Budget::unlimited);
+    val tasks = strategies.stream()
+      .map(strategy -> (Callable<Set<ConferenceTrack>>) () -> strategy.apply(availableTalks, budget))
+      .collect(toList());
+
+    try {
+      return executor.invokeAny(tasks);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SchedulingException("Scheduling of conference agenda was interrupted.", ex);
+    } catch (ExecutionException ex) {
+      throw asRuntimeException(ex.getCause());
+    }
+  }
+
+  @Override
+  public String configuration() {
+    return strategies.stream()
+      .map(ConferenceAgendaScheduler::configuration)
+      .collect(joining(", ", getClass().getSimpleName() + "(", ")"));
+  }
+
+  /* Failure of all strategies is reported as failure of the last one */
+
+  private static RuntimeException asRuntimeException(Throwable cause) {
+    if (cause instanceof IllegalArgumentException || cause instanceof SchedulingException) {
+      return (RuntimeException) cause;
+    }
+    return new SchedulingException("Failed to schedule conference agenda.", cause);
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                Default Strategies                               */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  public static List<ConferenceAgendaScheduler> defaultStrategies() {
+    return ImmutableList.of(
+      // all morning sessions are solved jointly
+      new ConferenceAgendaSchedulerImpl(),
+      // morning sessions are taken one by one from enumeration of combinations
+      new ConferenceAgendaSchedulerImpl("oneByOne", MorningSessionsSchedulerImpl::new),
+      // morning sessions are taken one by one from (cached) table of reachable sums
+      new ConferenceAgendaSchedulerImpl(
+        "oneByOneSubsetSum", PortfolioConferenceAgendaScheduler::subsetSumMorningSessionsScheduler
+      )
+    );
+  }
+
+  private static MorningSessionsScheduler subsetSumMorningSessionsScheduler(Integer sessionsNumber) {
+    val sessionScheduler = MorningSessionSchedulerImpl
+      .using(SHARED_CACHING_SUBSET_SUM_SOLUTION)
+      .sessionGoalDuration(Duration.ofHours(3))
+      .build();
+
+    return MorningSessionsSchedulerImpl
+      .using(sessionScheduler)
+      .requiredSessionsNumber(sessionsNumber)
+      .build();
+  }
+}
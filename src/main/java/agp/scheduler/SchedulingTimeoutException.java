@@ -0,0 +1,23 @@
+package agp.scheduler;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+/* Scheduling ran out of its budget, partial result holds morning sessions filled so far
+   (the most of them found by search) & talks left unscheduled */
+
+@Accessors(fluent = true)
+public class SchedulingTimeoutException extends SchedulingException {
+
+  @Getter @NonNull
+  private final transient MorningSessionsScheduler.Result partialResult;
+
+
+  public SchedulingTimeoutException(
+    String message, @NonNull MorningSessionsScheduler.Result partialResult, Throwable cause) {
+
+    super(message, cause);
+    this.partialResult = partialResult;
+  }
+}
@@ -0,0 +1,152 @@
+package agp.scheduler;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableList;
+
+import agp.vo.ConferenceTrack;
+import agp.vo.Event;
+import agp.vo.Lunch;
+import agp.vo.NetworkingEvent;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Sequence of slots each track of conference is made of, starting at given time:
+   sessions filled with talks exactly (like morning session), sessions filled with talks
+   up to their duration (like afternoon session, skipped when left empty) & events made
+   anew for each track (like lunch). */
+
+@ToString
+@Accessors(fluent = true)
+public final class TrackTemplate {
+
+  public static final Duration MORNING_SESSION_DURATION = Duration.ofHours(3);
+
+  public static final Duration MAX_AFTERNOON_SESSION_DURATION = Duration.ofHours(4);
+
+  /* Morning session, lunch, afternoon session & networking event */
+  public static final TrackTemplate DEFAULT = startingAt(ConferenceTrack.START_TIME)
+    .sessionOf(MORNING_SESSION_DURATION)
+    .event(Lunch::new)
+    .sessionUpTo(MAX_AFTERNOON_SESSION_DURATION)
+    .event(NetworkingEvent::new)
+    .build();
+
+  @Getter @NonNull
+  private final LocalTime startTime;
+
+  @Getter @NonNull
+  private final ImmutableList<Slot> slots;
+
+
+  private TrackTemplate(LocalTime startTime, List<Slot> slots) {
+    checkArgument(slots.stream().anyMatch(Slot::isSession), "Track template must have sessions.");
+    this.startTime = startTime;
+    this.slots = ImmutableList.copyOf(slots);
+  }
+
+  /* Minutes of talks in sessions filled exactly */
+  public long minMinutes() {
+    return minutesOf(Slot.Kind.SESSION_OF);
+  }
+
+  /* Minutes of talks in all sessions filled up */
+  public long maxMinutes() {
+    return minutesOf(Slot.Kind.SESSION_OF) + minutesOf(Slot.Kind.SESSION_UP_TO);
+  }
+
+  private long minutesOf(Slot.Kind kind) {
+    return slots.stream().filter(slot -> slot.kind() == kind).mapToLong(slot -> slot.duration().toMinutes()).sum();
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                      Slot                                       */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  @Value
+  @Accessors(fluent = true)
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  public static final class Slot {
+
+    public enum Kind { SESSION_OF, SESSION_UP_TO, EVENT }
+
+    @NonNull
+    private final Kind kind;
+
+    /* Duration of session, null for event */
+    private final Duration duration;
+
+    /* Factory of event, null for session */
+    private final Supplier<? extends Event> event;
+
+
+    public boolean isSession() {
+      return kind != Kind.EVENT;
+    }
+
+    /* Event is made to tell its title & duration */
+    @Override
+    public String toString() {
+      if (isSession()) {
+        return kind + "(" + duration.toMinutes() + "min)";
+      }
+      val sample = event.get();
+      return kind + "(" + sample.title() + ", " + sample.duration().toMinutes() + "min)";
+    }
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                             Builder related stuff                               */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  public static Builder startingAt(@NonNull final LocalTime startTime) {
+    return new Builder(startTime);
+  }
+
+  public static final class Builder {
+
+    private final LocalTime startTime;
+    private final ImmutableList.Builder<Slot> slots = ImmutableList.builder();
+
+
+    private Builder(LocalTime startTime) {
+      this.startTime = startTime;
+    }
+
+    /* Session to be filled with talks of exactly given duration */
+    public Builder sessionOf(@NonNull Duration duration) {
+      return session(Slot.Kind.SESSION_OF, duration);
+    }
+
+    /* Session to be filled with talks of at most given duration */
+    public Builder sessionUpTo(@NonNull Duration duration) {
+      return session(Slot.Kind.SESSION_UP_TO, duration);
+    }
+
+    private Builder session(Slot.Kind kind, Duration duration) {
+      checkArgument(duration.toMinutes() > 0, "Session duration must be positive.");
+      slots.add(new Slot(kind, duration, null));
+      return this;
+    }
+
+    public Builder event(@NonNull Supplier<? extends Event> event) {
+      slots.add(new Slot(Slot.Kind.EVENT, null, event));
+      return this;
+    }
+
+    public TrackTemplate build() {
+      return new TrackTemplate(startTime, slots.build());
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package agp.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import lombok.NonNull;
+
+/* Time budget and/or cancellation token of search, checked by Cancellation.checkpoint().
+   Budget is exhausted when its deadline is passed or it's cancelled (from any thread). */
+
+public final class Budget {
+
+  private final boolean hasDeadline;
+  private final long deadlineNanos;
+  private volatile boolean cancelled;
+
+
+  public static Budget unlimited() {
+    return new Budget(false, 0);
+  }
+
+  public static Budget of(@NonNull final Duration timeLimit) {
+    checkArgument(!timeLimit.isNegative(), "Time limit can't be negative.");
+    return new Budget(true, System.nanoTime() + saturatedNanosOf(timeLimit));
+  }
+
+  private Budget(boolean hasDeadline, long deadlineNanos) {
+    this.hasDeadline = hasDeadline;
+    this.deadlineNanos = deadlineNanos;
+  }
+
+  private static long saturatedNanosOf(Duration duration) {
+    try {
+      return Math.min(duration.toNanos(), Long.MAX_VALUE / 2);
+    } catch (ArithmeticException ex) {
+      return Long.MAX_VALUE / 2;
+    }
+  }
+
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  public boolean isExpired() {
+    return hasDeadline && System.nanoTime() - deadlineNanos >= 0;
+  }
+
+  public boolean isExhausted() {
+    return cancelled || isExpired();
+  }
+
+  /* Empty for budget without deadline */
+
+  public Optional<Duration> remaining() {
+    if (!hasDeadline) {
+      return Optional.empty();
+    }
+    return Optional.of(Duration.ofNanos(Math.max(deadlineNanos - System.nanoTime(), 0)));
+  }
+}
@@ -0,0 +1,12 @@
+package agp.util;
+
+import java.util.concurrent.CancellationException;
+
+/* Thrown at safepoint of search when its Budget is exhausted */
+
+public class BudgetExhaustedException extends CancellationException {
+
+  public BudgetExhaustedException(String message) {
+    super(message);
+  }
+}
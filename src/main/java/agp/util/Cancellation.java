@@ -0,0 +1,51 @@
+package agp.util;
+
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+/* Safepoints for long-running searches: cancelled (interrupted) search must stop, as well
+   as search out of its Budget. Budget is bound to thread running search, so it doesn't
+   have to be passed through all levels of scheduling down to knapsack solutions. */
+
+@UtilityClass
+public class Cancellation {
+
+  private static final ThreadLocal<Budget> BUDGET = new ThreadLocal<>();
+
+
+  public static void checkpoint() {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("Search is cancelled.");
+    }
+
+    val budget = BUDGET.get();
+    if (budget != null && budget.isExhausted()) {
+      throw new BudgetExhaustedException(budget.isCancelled() ? "Search is cancelled." : "Time budget is exhausted.");
+    }
+  }
+
+  /* Runs search within given budget, budget of enclosing search (if any) is restored after */
+
+  public static <T> T within(@NonNull final Budget budget, @NonNull final Supplier<T> search) {
+    val enclosingBudget = BUDGET.get();
+    BUDGET.set(budget);
+    try {
+      return search.get();
+    } finally {
+      if (enclosingBudget == null) {
+        BUDGET.remove();
+      } else {
+        BUDGET.set(enclosingBudget);
+      }
+    }
+  }
+
+  public static Optional<Budget> currentBudget() {
+    return Optional.ofNullable(BUDGET.get());
+  }
+}
@@ -1,5 +1,7 @@
 package agp.util;
 
+import static com.google.common.base.Preconditions.checkElementIndex;
+
 import java.util.List;
 
 import com.google.common.collect.ForwardingList;
@@ -8,18 +10,25 @@ import com.google.common.collect.ImmutableList;
 import lombok.NonNull;
 import lombok.val;
 
+/* Persistent list: all tails share elements of original list & differ only by offset,
+   so both 'head' & 'tail' take constant time & never copy elements. */
+
 public final class HeadTailImmutableList<E> extends ForwardingList<E> {
 
+  private final ImmutableList<E> elements;
+  private final int offset;
   private final ImmutableList<E> delegate;
 
 
   public static <E> HeadTailImmutableList<E> of(@NonNull List<E> elements) {
     val original = ImmutableList.copyOf(elements);
-    return new HeadTailImmutableList<>(original);
+    return new HeadTailImmutableList<>(original, 0);
   }
 
-  private HeadTailImmutableList(ImmutableList<E> original) {
-    this.delegate = original;
+  private HeadTailImmutableList(ImmutableList<E> elements, int offset) {
+    this.elements = elements;
+    this.offset = offset;
+    this.delegate = elements.subList(offset, elements.size()); // view, not a copy
   }
 
   public E head() {
@@ -27,8 +36,8 @@ public final class HeadTailImmutableList<E> extends ForwardingList<E> {
   }
 
   public HeadTailImmutableList<E> tail() {
-    val tailElements = delegate.subList(1, delegate.size());
-    return HeadTailImmutableList.of(tailElements);
+    checkElementIndex(offset, elements.size(), "Tail of empty list");
+    return new HeadTailImmutableList<>(elements, offset + 1);
   }
 
   @Override
@@ -0,0 +1,83 @@
+package agp.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.NonNull;
+import lombok.val;
+
+/* Fixed number of threads for parallel schedulers & optimizer. One shared instance is
+   their default, so nested ones (e.g. portfolio of strategies inside partitioned scheduler)
+   don't start more threads then there are processors. Task submitted from thread of this
+   executor is run by that thread at once: processors are busy already, and waiting for
+   queued task could block all threads. */
+
+public final class SchedulingExecutor extends AbstractExecutorService {
+
+  private static final SchedulingExecutor SHARED = new SchedulingExecutor(Runtime.getRuntime().availableProcessors());
+
+  private final ThreadLocal<Boolean> isOwnThread = ThreadLocal.withInitial(() -> false);
+
+  private final ThreadPoolExecutor pool;
+
+
+  /* Shared instance, its threads are daemons living as long as process */
+
+  public static ExecutorService shared() {
+    return SHARED;
+  }
+
+  public SchedulingExecutor(final int threadsNumber) {
+    checkArgument(threadsNumber > 0, "Number of threads must be positive.");
+    val threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("scheduling-%d").build();
+    this.pool = new ThreadPoolExecutor(
+      threadsNumber, threadsNumber, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+      task -> threadFactory.newThread(() -> {
+        isOwnThread.set(true);
+        task.run();
+      })
+    );
+  }
+
+  @Override
+  public void execute(@NonNull final Runnable task) {
+    if (isOwnThread.get()) {
+      task.run();
+    } else {
+      pool.execute(task);
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return pool.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return pool.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return pool.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(final long timeout, @NonNull final TimeUnit unit) throws InterruptedException {
+    return pool.awaitTermination(timeout, unit);
+  }
+}
@@ -0,0 +1,78 @@
+package agp.util;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import agp.vo.Talk;
+import lombok.NonNull;
+import lombok.val;
+
+/* Dense int ids (0 until size) of distinct talks, in order of their first occurrence.
+   Solvers work on ids (and on bitsets of them), so talk is hashed once, when catalog is
+   made, and is looked up by id when sessions are finally built. */
+
+public final class TalkCatalog {
+
+  public static final int UNKNOWN_ID = -1;
+
+  private final Talk[] talks;
+  private final int[] minutes;
+  private final int[] hashCodes;
+  private final Map<Talk, Integer> ids;
+
+
+  public static TalkCatalog of(@NonNull final Collection<Talk> talks) {
+    return new TalkCatalog(talks);
+  }
+
+  private TalkCatalog(Collection<Talk> talks) {
+    this.ids = new HashMap<>(talks.size() * 4 / 3 + 1);
+    for (Talk talk : talks) {
+      ids.putIfAbsent(talk, ids.size());
+    }
+
+    this.talks = new Talk[ids.size()];
+    this.minutes = new int[ids.size()];
+    this.hashCodes = new int[ids.size()];
+    for (Map.Entry<Talk, Integer> entry : ids.entrySet()) {
+      val id = entry.getValue();
+      this.talks[id] = entry.getKey();
+      this.minutes[id] = (int) entry.getKey().duration().toMinutes();
+      this.hashCodes[id] = entry.getKey().hashCode();
+    }
+  }
+
+  public int size() {
+    return talks.length;
+  }
+
+  public Talk talk(final int id) {
+    checkElementIndex(id, talks.length, "Talk id");
+    return talks[id];
+  }
+
+  /* Duration of talk in minutes */
+  public int minutes(final int id) {
+    checkElementIndex(id, minutes.length, "Talk id");
+    return minutes[id];
+  }
+
+  /* Hash code of talk, computed once */
+  public int hashCode(final int id) {
+    checkElementIndex(id, hashCodes.length, "Talk id");
+    return hashCodes[id];
+  }
+
+  /* Id of talk or UNKNOWN_ID for talk out of catalog */
+  public int idOf(final Object talk) {
+    val id = ids.get(talk);
+    return id == null ? UNKNOWN_ID : id;
+  }
+
+  public boolean contains(final Object talk) {
+    return ids.containsKey(talk);
+  }
+}
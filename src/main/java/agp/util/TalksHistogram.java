@@ -0,0 +1,96 @@
+package agp.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Comparator.reverseOrder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import agp.vo.Talk;
+import lombok.NonNull;
+import lombok.val;
+
+/* Compressed representation of talks: number of talks per distinct duration (in minutes).
+   Durations of talks are limited, so even huge catalogs have few distinct durations & any
+   search over counts scales with their number. Concrete talks are kept in per-duration
+   queues & taken from them only when sessions are finally built. */
+
+public final class TalksHistogram {
+
+  private final int[] durations;
+  private final int[] counts;
+  private final List<Deque<Talk>> talks;
+  private long totalMinutes;
+  private int size;
+
+
+  public static TalksHistogram of(@NonNull final Collection<Talk> talks) {
+    val talksByMinutes = new TreeMap<Integer, Deque<Talk>>(reverseOrder());
+    for (Talk talk : talks) {
+      val minutes = (int) talk.duration().toMinutes();
+      talksByMinutes.computeIfAbsent(minutes, key -> new ArrayDeque<>()).add(talk);
+    }
+    return new TalksHistogram(talksByMinutes);
+  }
+
+  private TalksHistogram(Map<Integer, Deque<Talk>> talksByDescendingMinutes) {
+    this.durations = talksByDescendingMinutes.keySet().stream().mapToInt(Integer::intValue).toArray();
+    this.counts = talksByDescendingMinutes.values().stream().mapToInt(Deque::size).toArray();
+    this.talks = new ArrayList<>(talksByDescendingMinutes.values());
+    for (int i = 0; i < durations.length; i++) {
+      totalMinutes += (long) durations[i] * counts[i];
+      size += counts[i];
+    }
+  }
+
+  /* Distinct durations in minutes, longest first */
+  public int[] durations() {
+    return durations.clone();
+  }
+
+  /* Numbers of talks not taken yet per each of durations */
+  public int[] counts() {
+    return counts.clone();
+  }
+
+  public long totalMinutes() {
+    return totalMinutes;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /* Takes pattern[i] talks of durations[i] for each i */
+  public Set<Talk> take(@NonNull final int[] pattern) {
+    checkArgument(pattern.length == durations.length, "Pattern must have count per each duration.");
+
+    val takenTalks = new HashSet<Talk>();
+    for (int i = 0; i < pattern.length; i++) {
+      checkArgument(0 <= pattern[i] && pattern[i] <= counts[i], "Not enough talks of %s minutes.", durations[i]);
+      for (int taken = 0; taken < pattern[i]; taken++) {
+        takenTalks.add(talks.get(i).poll());
+      }
+      counts[i] -= pattern[i];
+      totalMinutes -= (long) durations[i] * pattern[i];
+      size -= pattern[i];
+    }
+    return takenTalks;
+  }
+
+  /* Takes all talks not taken yet */
+  public Set<Talk> takeRemaining() {
+    return take(counts());
+  }
+}
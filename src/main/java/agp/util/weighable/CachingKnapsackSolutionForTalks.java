@@ -0,0 +1,127 @@
+package agp.util.weighable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.stream.Collectors.toSet;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.Multiset;
+
+import agp.vo.Talk;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.experimental.Accessors;
+import lombok.val;
+
+/* Decorator remembering first answer of another solution. Answer depends only on durations
+   of talks, not on their titles, so it's cached as pattern (multiset of minutes) under key
+   made of goal & multiset of minutes of all talks. On hit pattern is mapped back onto given
+   talks. Absence of answer is cached as well. Cache is bounded & evicts least recently used. */
+
+@Accessors(fluent = true)
+public final class CachingKnapsackSolutionForTalks implements KnapsackSolutionForTalks {
+
+  public static final long DEFAULT_MAXIMUM_SIZE = 1024;
+
+  @Getter @NonNull
+  private final KnapsackSolutionForTalks delegate;
+
+  private final Cache<Key, Optional<ImmutableMultiset<Integer>>> winningPatterns;
+
+
+  public CachingKnapsackSolutionForTalks(@NonNull final KnapsackSolutionForTalks delegate) {
+    this(delegate, DEFAULT_MAXIMUM_SIZE);
+  }
+
+  public CachingKnapsackSolutionForTalks(
+    @NonNull final KnapsackSolutionForTalks delegate, final long maximumSize) {
+
+    checkArgument(maximumSize > 0, "Maximum size must be positive.");
+    this.delegate = delegate;
+    this.winningPatterns = CacheBuilder.newBuilder()
+      .concurrencyLevel(1) // single segment, so eviction order is LRU for whole cache
+      .maximumSize(maximumSize)
+      .recordStats()
+      .build();
+  }
+
+  /* Only first answer is cached, so at most one answer is returned */
+
+  @Override
+  public Set<Answer> apply(@NonNull final Set<Talk> talks, @NonNull final Duration goal) {
+    return stream(talks, goal).collect(toSet());
+  }
+
+  @Override
+  public Stream<Answer> stream(@NonNull final Set<Talk> talks, @NonNull final Duration goal) {
+    checkArgument(goal.toMinutes() > 0, "Goal must be positive.");
+    checkArgument(!talks.isEmpty(), "At least one talk is required.");
+
+    val key = new Key(minutesOf(talks), goal.toMinutes());
+    Optional<ImmutableMultiset<Integer>> pattern = winningPatterns.getIfPresent(key);
+
+    if (pattern == null) {
+      pattern = delegate.stream(talks, goal).findFirst().map(CachingKnapsackSolutionForTalks::minutesOf);
+      winningPatterns.put(key, pattern);
+    }
+
+    return pattern.map(it -> answerMatching(it, talks)).map(Stream::of).orElseGet(Stream::empty);
+  }
+
+  private static ImmutableMultiset<Integer> minutesOf(Set<Talk> talks) {
+    val minutes = ImmutableMultiset.<Integer>builder();
+    talks.forEach(talk -> minutes.add((int) talk.duration().toMinutes()));
+    return minutes.build();
+  }
+
+  private static Answer answerMatching(ImmutableMultiset<Integer> pattern, Set<Talk> talks) {
+    val givenTalks = Answer.of(talks);
+    val catalog = givenTalks.catalog();
+    val idsByMinutes = ArrayListMultimap.<Integer, Integer>create();
+    for (int id : givenTalks.ids()) {
+      idsByMinutes.put(catalog.minutes(id), id);
+    }
+
+    val answerIds = new int[pattern.size()];
+    int size = 0;
+    for (Multiset.Entry<Integer> entry : pattern.entrySet()) {
+      for (int id : idsByMinutes.get(entry.getElement()).subList(0, entry.getCount())) {
+        answerIds[size++] = id;
+      }
+    }
+    return Answer.of(catalog, answerIds);
+  }
+
+  /* Cache statistics */
+
+  public CacheStats stats() {
+    return winningPatterns.stats();
+  }
+
+  public long hitCount() {
+    return stats().hitCount();
+  }
+
+  public long missCount() {
+    return stats().missCount();
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                Auxiliary Classes                                */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  @Value
+  private static class Key {
+    private final ImmutableMultiset<Integer> minutes;
+    private final long goalMinutes;
+  }
+}
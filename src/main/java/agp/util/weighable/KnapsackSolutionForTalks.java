@@ -1,19 +1,218 @@
 package agp.util.weighable;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.time.Duration;
-import java.util.HashSet;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
+import agp.util.TalkCatalog;
 import agp.vo.Talk;
 import lombok.NonNull;
+import lombok.val;
 
 public interface KnapsackSolutionForTalks extends
   BiFunction<Set<Talk>, Duration, Set<KnapsackSolutionForTalks.Answer>> {
 
-  final class Answer extends HashSet<Talk> {
+  /* Lazy variant of 'apply' for clients interested in first answer(s) only:
+     solutions able to find answers on demand should override it. */
+
+  default Stream<Answer> stream(@NonNull Set<Talk> talks, @NonNull Duration goal) {
+    return apply(talks, goal).stream();
+  }
+
+  /* Immutable set of talks as bitset of their ids in catalog. Answers of the same catalog
+     are united, subtracted & compared word by word, without hashing of talks; solutions
+     given Answer as talks find answers over its catalog, so it's shared by all of them.
+     Hash code is the one of Set<Talk>, summed up once from hash codes kept by catalog. */
+
+  final class Answer extends AbstractSet<Talk> {
+
+    private final TalkCatalog catalog;
+    private final long[] words;
+    private final int size;
+    private final int hashCode;
+
+
     Answer(@NonNull Set<Talk> talks) {
-      super(talks);
+      this(of(talks));
+    }
+
+    private Answer(Answer answer) {
+      this(answer.catalog, answer.words);
+    }
+
+    private Answer(TalkCatalog catalog, long[] words) {
+      this.catalog = catalog;
+      this.words = words;
+      int bitsNumber = 0;
+      int hash = 0;
+      for (int wordIndex = 0; wordIndex < words.length; wordIndex++) {
+        bitsNumber += Long.bitCount(words[wordIndex]);
+        for (long word = words[wordIndex]; word != 0; word &= word - 1) {
+          hash += catalog.hashCode((wordIndex << 6) + Long.numberOfTrailingZeros(word));
+        }
+      }
+      this.size = bitsNumber;
+      this.hashCode = hash;
+    }
+
+    /* All talks of catalog */
+
+    public static Answer allOf(@NonNull final TalkCatalog catalog) {
+      val words = new long[wordsNumberFor(catalog)];
+      for (int id = 0; id < catalog.size(); id++) {
+        words[id >>> 6] |= 1L << id;
+      }
+      return new Answer(catalog, words);
+    }
+
+    /* Given talks as Answer, the same instance if they are Answer already */
+
+    public static Answer of(@NonNull final Set<Talk> talks) {
+      return talks instanceof Answer ? (Answer) talks : allOf(TalkCatalog.of(talks));
+    }
+
+    /* Talks of given ids in catalog */
+
+    static Answer of(TalkCatalog catalog, int... ids) {
+      val words = new long[wordsNumberFor(catalog)];
+      for (int id : ids) {
+        words[id >>> 6] |= 1L << id;
+      }
+      return new Answer(catalog, words);
+    }
+
+    public TalkCatalog catalog() {
+      return catalog;
+    }
+
+    /* Ids of talks in ascending order */
+
+    public int[] ids() {
+      val ids = new int[size];
+      int i = 0;
+      for (int wordIndex = 0; wordIndex < words.length; wordIndex++) {
+        for (long word = words[wordIndex]; word != 0; word &= word - 1) {
+          ids[i++] = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+        }
+      }
+      return ids;
+    }
+
+    public boolean contains(final int id) {
+      return id >= 0 && id < catalog.size() && (words[id >>> 6] & 1L << id) != 0;
+    }
+
+    @Override
+    public boolean contains(final Object talk) {
+      return contains(catalog.idOf(talk));
+    }
+
+    @Override
+    public boolean containsAll(@NonNull final Collection<?> talks) {
+      if (isOfTheSameCatalog(talks)) {
+        val otherWords = ((Answer) talks).words;
+        for (int i = 0; i < words.length; i++) {
+          if ((otherWords[i] & ~words[i]) != 0) {
+            return false;
+          }
+        }
+        return true;
+      }
+      return super.containsAll(talks);
+    }
+
+    /* Talks of this answer except given ones */
+
+    public Answer minus(@NonNull final Collection<?> talks) {
+      val newWords = words.clone();
+      if (isOfTheSameCatalog(talks)) {
+        val otherWords = ((Answer) talks).words;
+        for (int i = 0; i < newWords.length; i++) {
+          newWords[i] &= ~otherWords[i];
+        }
+      } else {
+        for (Object talk : talks) {
+          val id = catalog.idOf(talk);
+          if (id != TalkCatalog.UNKNOWN_ID) {
+            newWords[id >>> 6] &= ~(1L << id);
+          }
+        }
+      }
+      return new Answer(catalog, newWords);
+    }
+
+    /* Talks of both answers, which must share catalog */
+
+    public Answer plus(@NonNull final Answer answer) {
+      checkArgument(answer.catalog == catalog, "Answers of different catalogs can't be united.");
+      val newWords = words.clone();
+      for (int i = 0; i < newWords.length; i++) {
+        newWords[i] |= answer.words[i];
+      }
+      return new Answer(catalog, newWords);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    /* Talks in order of their ids */
+
+    @Override
+    public Iterator<Talk> iterator() {
+      return new Iterator<Talk>() {
+
+        private int wordIndex = 0;
+        private long word = words.length == 0 ? 0 : words[0];
+
+        @Override
+        public boolean hasNext() {
+          while (word == 0 && wordIndex + 1 < words.length) {
+            word = words[++wordIndex];
+          }
+          return word != 0;
+        }
+
+        @Override
+        public Talk next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          val id = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+          word &= word - 1;
+          return catalog.talk(id);
+        }
+      };
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (isOfTheSameCatalog(other)) {
+        return Arrays.equals(words, ((Answer) other).words);
+      }
+      return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    private boolean isOfTheSameCatalog(Object other) {
+      return other instanceof Answer && ((Answer) other).catalog == catalog;
+    }
+
+    private static int wordsNumberFor(TalkCatalog catalog) {
+      return (catalog.size() + 63) >>> 6;
     }
   }
 
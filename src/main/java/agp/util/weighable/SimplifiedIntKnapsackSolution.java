@@ -0,0 +1,152 @@
+package agp.util.weighable;
+
+import static agp.metrics.SchedulerMetrics.metrics;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Comparator.comparingInt;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.common.collect.AbstractIterator;
+
+import agp.util.Cancellation;
+import lombok.NonNull;
+import lombok.val;
+
+/* Primitive specialization of SimplifiedKnapsackSolution for int weights (e.g. minutes).
+   Combinations are enumerated in the same order, but each of them is given as array of
+   indexes of original weights & search itself works on preallocated int arrays only. */
+
+final class SimplifiedIntKnapsackSolution implements BiFunction<int[], Integer, List<int[]>> {
+
+  @Override
+  public List<int[]> apply(@NonNull final int[] weights, @NonNull final Integer goal) {
+    return stream(weights, goal).collect(toList());
+  }
+
+  public Stream<int[]> stream(@NonNull final int[] weights, final int goal) {
+    checkArgument(goal > 0, "Goal must be positive.");
+    checkArgument(weights.length > 0, "At least one weighable is required.");
+    checkArgument(Arrays.stream(weights).allMatch(w -> w > 0), "All weighables must be positive.");
+    Cancellation.checkpoint();    // search may take less steps then between checkpoints
+
+    val combinations = new CombinationsIterator(weights, descendingOrderOf(weights), goal);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(combinations, ORDERED | NONNULL), false);
+  }
+
+  /* stable, so equal weights keep their original order like in SimplifiedKnapsackSolution */
+  private static int[] descendingOrderOf(int[] weights) {
+    return IntStream.range(0, weights.length)
+      .boxed()
+      .sorted(comparingInt(i -> -weights[i]))
+      .mapToInt(Integer::intValue)
+      .toArray();
+  }
+
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                Auxiliary Classes                                */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  /* Depth-first search with explicit stack instead of recursion: on each depth it holds
+     position (in descending order) of currently tried weight & goal remaining for it.
+     Steps are added to metrics in batches: on checkpoints, answers & end of search.
+
+     Like in SimplifiedKnapsackSolution, depth is left once suffix sum of weights is less
+     then its goal, & weight equal to the one whose subtree gave no answers is skipped. */
+
+  private static final class CombinationsIterator extends AbstractIterator<int[]> {
+
+    private static final int STEPS_BETWEEN_CHECKPOINTS = 1 << 12;
+
+    private final int[] sortedWeights;
+    private final int[] originalIndexes;
+    private final long[] suffixSums;
+    private final int[] positions;
+    private final int[] goals;
+    private final int[] failedWeights;
+    private final long[] answersNumbersOnDescent;
+    private int depth;
+    private long answersNumber;
+    private int unreportedSteps;
+
+
+    private CombinationsIterator(int[] weights, int[] descendingOrder, int goal) {
+      this.sortedWeights = new int[weights.length];
+      for (int i = 0; i < weights.length; i++) {
+        sortedWeights[i] = weights[descendingOrder[i]];
+      }
+      this.originalIndexes = descendingOrder;
+      this.suffixSums = new long[weights.length + 1];
+      for (int i = weights.length - 1; i >= 0; i--) {
+        suffixSums[i] = suffixSums[i + 1] + sortedWeights[i];
+      }
+      this.positions = new int[weights.length + 1];
+      this.goals = new int[weights.length + 1];
+      this.failedWeights = new int[weights.length + 1];
+      this.answersNumbersOnDescent = new long[weights.length + 1];
+      this.goals[0] = goal;
+    }
+
+    @Override
+    protected int[] computeNext() {
+      while (true) {
+        if (++unreportedSteps == STEPS_BETWEEN_CHECKPOINTS) {
+          reportSteps();
+          Cancellation.checkpoint();
+        }
+        if (suffixSums[positions[depth]] < goals[depth]) {
+          if (depth == 0) {
+            reportSteps();
+            return endOfData();
+          }
+          depth--;
+          val hasSubtreeGivenAnswers = answersNumber > answersNumbersOnDescent[depth];
+          failedWeights[depth] = hasSubtreeGivenAnswers ? 0 : sortedWeights[positions[depth]];
+          positions[depth]++;
+          continue;
+        }
+
+        val weight = sortedWeights[positions[depth]];
+        val goal = goals[depth];
+
+        if (weight > goal || weight == failedWeights[depth]) {
+          positions[depth]++;
+        } else if (weight == goal) {
+          val combination = currentCombination();
+          positions[depth]++;
+          answersNumber++;
+          reportSteps();
+          metrics().answersProduced().increment();
+          return combination;
+        } else {
+          answersNumbersOnDescent[depth] = answersNumber;
+          goals[depth + 1] = goal - weight;
+          positions[depth + 1] = positions[depth] + 1;
+          failedWeights[depth + 1] = 0;
+          depth++;
+        }
+      }
+    }
+
+    private void reportSteps() {
+      metrics().combinationsExplored().add(unreportedSteps);
+      unreportedSteps = 0;
+    }
+
+    private int[] currentCombination() {
+      val combination = new int[depth + 1];
+      for (int i = 0; i <= depth; i++) {
+        combination[i] = originalIndexes[positions[i]];
+      }
+      return combination;
+    }
+  }
+}
@@ -1,20 +1,37 @@
 package agp.util.weighable;
 
+import static agp.metrics.SchedulerMetrics.metrics;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Iterables.all;
 import static java.util.Collections.*;
-import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 
+import agp.util.Cancellation;
 import agp.util.Collections;
 import agp.util.HeadTailImmutableList;
 import lombok.NonNull;
 import lombok.val;
 
+/* Combinations are enumerated lazily (with lazy Guava Iterables views), so each
+   of them is found only when requested & 'stream' can stop on the first one.
+
+   Search is pruned by two bounds, each checked in O(1):
+   - weighables are sorted in descending order, so suffix sums tell how much all of
+     remaining ones weigh & siblings are not tried once it's less then remaining goal;
+   - sibling of the same weight as previous one has the same goal & only part of its
+     weighables to choose from, so it's skipped when previous one gave no combinations
+     (it isn't skipped otherwise, as it gives other combinations of the same weights). */
+
 final class SimplifiedKnapsackSolution<W extends Weighable<C>, C extends Comparable<C>>
   implements BiFunction<WeighablesCombination<W>, Weighable<C>, List<WeighablesCombination<W>>> {
 
@@ -23,53 +40,148 @@ final class SimplifiedKnapsackSolution<W extends Weighable<C>, C extends Compara
     @NonNull final WeighablesCombination<W> weighables,
     @NonNull final Weighable<C> goal) {
 
+    return ImmutableList.copyOf(lazyCombinationsFor(weighables, goal));
+  }
+
+  public Stream<WeighablesCombination<W>> stream(
+    @NonNull final WeighablesCombination<W> weighables,
+    @NonNull final Weighable<C> goal) {
+
+    return StreamSupport.stream(lazyCombinationsFor(weighables, goal).spliterator(), false);
+  }
+
+  private Iterable<WeighablesCombination<W>> lazyCombinationsFor(
+    final WeighablesCombination<W> weighables, final Weighable<C> goal) {
+
     checkArgument(goal.isPositive(), "Goal must be positive.");
     checkArgument(!weighables.isEmpty(), "At least one weighable is required.");
     checkArgument(all(weighables, Weighable::isPositive), "All weighables must be positive.");
 
     val descSortedWeighables = Collections.sortIntoList(weighables, reverseOrder());
-    return allCombinationsFor(HeadTailImmutableList.of(descSortedWeighables), goal);
+    return new Search(descSortedWeighables).allCombinationsFor(HeadTailImmutableList.of(descSortedWeighables), goal);
   }
 
-  private List<WeighablesCombination<W>> allCombinationsFor(
-    final HeadTailImmutableList<W> weighables, final Weighable<C> goal) {
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+  /*                                     Search                                      */
+  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
+
+  /* Steps are added to metrics in batches: every so many steps, on answers & at the end
+     of search (like in SimplifiedIntKnapsackSolution) */
+
+  private final class Search {
 
-    val allCombinations = ImmutableList.<WeighablesCombination<W>>builder();
+    private static final int STEPS_BETWEEN_REPORTS = 1 << 12;
 
-    for (HeadTailImmutableList<W> unprocessedWeighables = weighables;
-         !unprocessedWeighables.isEmpty();
-         unprocessedWeighables = unprocessedWeighables.tail()) {
+    /* sum of weighables from i-th one to the last one */
+    private final List<Weighable<C>> suffixSums;
 
-      allCombinations.addAll(combinationsStartingWithHeadFor(unprocessedWeighables, goal));
+    private int unreportedSteps;
+
+
+    private Search(List<W> descSortedWeighables) {
+      val sums = new ArrayList<Weighable<C>>(descSortedWeighables.size());
+      Weighable<C> sum = null;
+      for (W weighable : Lists.reverse(descSortedWeighables)) {
+        sum = sum == null ? weighable : sum.add(weighable.weight());
+        sums.add(sum);
+      }
+      this.suffixSums = Lists.reverse(sums);
     }
 
-    return allCombinations.build();
-  }
+    private boolean canReach(HeadTailImmutableList<W> weighables, Weighable<C> goal) {
+      return !weighables.isEmpty() && !suffixSumOf(weighables).isLighterThan(goal);
+    }
 
-  private List<WeighablesCombination<W>> combinationsStartingWithHeadFor(
-    final HeadTailImmutableList<W> weighables, final Weighable<C> goal) {
+    private Weighable<C> suffixSumOf(HeadTailImmutableList<W> weighables) {
+      return suffixSums.get(suffixSums.size() - weighables.size());
+    }
 
-    val headElement = weighables.head();
+    private Iterable<WeighablesCombination<W>> allCombinationsFor(
+      final HeadTailImmutableList<W> weighables, final Weighable<C> goal) {
 
-    if (weighables.isEmpty() || headElement.isHeavierThan(goal))
-      return emptyList();
+      final Iterable<Iterable<WeighablesCombination<W>>> siblings = () -> new Siblings(weighables, goal);
+      return Iterables.concat(siblings);
+    }
 
-    else if (headElement.isLighterThan(goal))
-      return headAndTailUnionCombinationsFor(weighables, goal);
+    private Iterable<WeighablesCombination<W>> combinationsStartingWithHeadFor(
+      final HeadTailImmutableList<W> weighables, final Weighable<C> goal) {
 
-    return listWithOneCombinationOf(headElement);
-  }
+      val headElement = weighables.head();
+      if (++unreportedSteps == STEPS_BETWEEN_REPORTS) {
+        reportSteps();
+      }
+      Cancellation.checkpoint();
 
-  private List<WeighablesCombination<W>> listWithOneCombinationOf(W weighable) {
-    return singletonList(WeighablesCombination.of(weighable));
-  }
+      if (headElement.isHeavierThan(goal))
+        return emptyList();
+
+      else if (headElement.isLighterThan(goal))
+        return headAndTailUnionCombinationsFor(weighables, goal);
 
-  private List<WeighablesCombination<W>> headAndTailUnionCombinationsFor(
-    final HeadTailImmutableList<W> weighables, final Weighable<C> goal) {
+      return listWithOneCombinationOf(headElement);
+    }
 
-    val thisHeadCombination = WeighablesCombination.of(weighables.head());
-    val desiredTailWeight = goal.subtract(weighables.head().weight());
-    val tailCombinations = allCombinationsFor(weighables.tail(), desiredTailWeight);
-    return tailCombinations.stream().map(thisHeadCombination::union).collect(toList());
+    private List<WeighablesCombination<W>> listWithOneCombinationOf(W weighable) {
+      reportSteps();
+      metrics().answersProduced().increment();
+      return singletonList(WeighablesCombination.of(weighable));
+    }
+
+    private void reportSteps() {
+      metrics().combinationsExplored().add(unreportedSteps);
+      unreportedSteps = 0;
+    }
+
+    private Iterable<WeighablesCombination<W>> headAndTailUnionCombinationsFor(
+      final HeadTailImmutableList<W> weighables, final Weighable<C> goal) {
+
+      val thisHeadCombination = WeighablesCombination.of(weighables.head());
+      val desiredTailWeight = goal.subtract(weighables.head().weight());
+      val tailCombinations = allCombinationsFor(weighables.tail(), desiredTailWeight);
+      return Iterables.transform(tailCombinations, thisHeadCombination::union);
+    }
+
+    /* Combinations starting with each of non-empty suffixes still able to reach the goal.
+       Concatenation takes next suffix only when previous one is exhausted, so by then it's
+       known whether previous one gave any combinations. */
+
+    private final class Siblings extends AbstractIterator<Iterable<WeighablesCombination<W>>> {
+
+      private final Weighable<C> goal;
+      private final boolean isOutermost;
+      private HeadTailImmutableList<W> nextWeighables;
+      private W previousHead;
+      private boolean hasPreviousGivenCombinations;
+
+
+      private Siblings(HeadTailImmutableList<W> weighables, Weighable<C> goal) {
+        this.goal = goal;
+        this.isOutermost = weighables.size() == suffixSums.size();
+        this.nextWeighables = weighables;
+      }
+
+      @Override
+      protected Iterable<WeighablesCombination<W>> computeNext() {
+        while (canReach(nextWeighables, goal)) {
+          val weighables = nextWeighables;
+          nextWeighables = weighables.tail();
+
+          val head = weighables.head();
+          if (previousHead != null && !hasPreviousGivenCombinations && head.compareTo(previousHead) == 0) {
+            continue;
+          }
+          previousHead = head;
+          hasPreviousGivenCombinations = false;
+          return Iterables.transform(combinationsStartingWithHeadFor(weighables, goal), combination -> {
+            hasPreviousGivenCombinations = true;
+            return combination;
+          });
+        }
+        if (isOutermost) {
+          reportSteps();
+        }
+        return endOfData();
+      }
+    }
   }
 }
@@ -1,110 +1,59 @@
 package agp.util.weighable;
 
-import static agp.util.Collections.mapIntoSet;
+import static java.util.stream.Collectors.toSet;
 
 import java.time.Duration;
-import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
+import agp.util.TalkCatalog;
 import agp.vo.Talk;
 import lombok.NonNull;
-import lombok.Value;
-import lombok.experimental.Accessors;
-import lombok.experimental.Delegate;
+import lombok.val;
 
 public final class SimplifiedKnapsackSolutionForTalks implements KnapsackSolutionForTalks {
 
-  private final SimplifiedKnapsackSolution<WeighableTalk, Duration> generalSolution =
-    new SimplifiedKnapsackSolution<>();
+  private final SimplifiedIntKnapsackSolution intSolution = new SimplifiedIntKnapsackSolution();
 
 
   @Override
   public Set<Answer> apply(@NonNull Set<Talk> talks, @NonNull Duration goal) {
-    return simplifyIntoAnswers(
-      generalSolution.apply(
-        adaptTalksForGeneralSolution(talks),
-        adaptGoalForGeneralSolution(goal)
-      )
-    );
+    return stream(talks, goal).collect(toSet());
   }
 
-  /* Methods to adapt (wrap) arguments for contract of general solution */
+  /* Answers are over catalog of given talks (shared one if they are Answer themselves) */
 
-  private WeighablesCombination<WeighableTalk> adaptTalksForGeneralSolution(Set<Talk> talks) {
-    Set<WeighableTalk> weighableTalks = mapIntoSet(talks, WeighableTalk::new);
-    return WeighablesCombination.of(weighableTalks);
-  }
-
-  private WeighableDuration adaptGoalForGeneralSolution(Duration duration) {
-    return new WeighableDuration(duration);
-  }
-
-  /* Methods to simplify (unwrap) general generalSolution result into client-known types */
-
-  private Set<Answer> simplifyIntoAnswers(List<WeighablesCombination<WeighableTalk>> combinations) {
-    return mapIntoSet(combinations, this::simplifyIntoAnswer);
-  }
-
-  private Answer simplifyIntoAnswer(WeighablesCombination<WeighableTalk> combination) {
-    Set<Talk> talks = mapIntoSet(combination, WeighableTalk::delegate);
-    return new Answer(talks);
+  @Override
+  public Stream<Answer> stream(@NonNull Set<Talk> talks, @NonNull Duration goal) {
+    val givenTalks = Answer.of(talks);
+    val catalog = givenTalks.catalog();
+    val ids = givenTalks.ids();
+    return intSolution
+      .stream(adaptTalksForIntSolution(catalog, ids), adaptGoalForIntSolution(goal))
+      .map(indexes -> simplifyIntoAnswer(catalog, ids, indexes));
   }
 
-  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
-  /*                                Auxiliary Classes                                */
-  /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
-
-  @Value
-  @Accessors(fluent = true)
-  private static class WeighableTalk implements Weighable<Duration> {
+  /* Methods to adapt arguments for contract of int solution */
 
-    @Delegate
-    private final Talk delegate;
-
-    @Override
-    public Duration weight() {
-      return this.duration();
-    }
-
-    @Override
-    public boolean isPositive() {
-      return this.duration().toMinutes() > 0;
-    }
-
-    @Override
-    public Weighable<Duration> subtract(@NonNull Duration otherDuration) {
-      return new WeighableDuration(this.duration().minus(otherDuration));
-    }
-
-    @Override
-    public String toString() {
-      return String.format(
-        "WeighableTalk[%s, %s minutes]",
-        this.title(), this.duration().toMinutes()
-      );
+  private int[] adaptTalksForIntSolution(TalkCatalog catalog, int[] ids) {
+    val minutes = new int[ids.length];
+    for (int i = 0; i < ids.length; i++) {
+      minutes[i] = catalog.minutes(ids[i]);
     }
+    return minutes;
   }
 
-  @Value
-  @Accessors(fluent = true)
-  private static final class WeighableDuration implements Weighable<Duration> {
-
-    @Delegate
-    private final Duration weight;
-
-    @Override
-    public boolean isPositive() {
-      return this.toMinutes() > 0;
-    }
+  private int adaptGoalForIntSolution(Duration duration) {
+    return Math.toIntExact(duration.toMinutes());
+  }
 
-    @Override
-    public Weighable<Duration> subtract(Duration otherDuration) {
-      return new WeighableDuration(this.minus(otherDuration));
-    }
+  /* Methods to simplify int solution result (indexes of talks) into client-known types */
 
-    @Override
-    public String toString() {
-      return String.format("WeighableDuration[%s minutes]", this.toMinutes());
+  private Answer simplifyIntoAnswer(TalkCatalog catalog, int[] ids, int[] indexes) {
+    val answerIds = new int[indexes.length];
+    for (int i = 0; i < indexes.length; i++) {
+      answerIds[i] = ids[indexes[i]];
     }
+    return Answer.of(catalog, answerIds);
   }
 }
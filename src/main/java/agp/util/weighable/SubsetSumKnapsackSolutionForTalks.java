@@ -0,0 +1,83 @@
+package agp.util.weighable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Comparator.comparingInt;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Set;
+
+import agp.util.TalkCatalog;
+import agp.vo.Talk;
+import lombok.NonNull;
+import lombok.val;
+
+/* Pseudo-polynomial alternative to SimplifiedKnapsackSolutionForTalks: instead of
+   enumerating every combination it builds table of reachable sums (in minutes) and
+   rebuilds exactly one combination reaching the goal, so it costs O(talks * goal). */
+
+public final class SubsetSumKnapsackSolutionForTalks implements KnapsackSolutionForTalks {
+
+  private static final int UNREACHABLE = -1;
+
+
+  @Override
+  public Set<Answer> apply(@NonNull final Set<Talk> talks, @NonNull final Duration goal) {
+    checkArgument(goal.toMinutes() > 0, "Goal must be positive.");
+    checkArgument(!talks.isEmpty(), "At least one talk is required.");
+
+    val givenTalks = Answer.of(talks);
+    val catalog = givenTalks.catalog();
+    val descSortedIds = Arrays.stream(givenTalks.ids()).boxed()
+      .sorted(comparingInt(catalog::minutes).reversed())
+      .mapToInt(Integer::intValue)
+      .toArray();
+
+    val goalMinutes = Math.toIntExact(goal.toMinutes());
+    val lastTalkIndexBySum = tableOfReachableSumsFor(catalog, descSortedIds, goalMinutes);
+
+    if (lastTalkIndexBySum[goalMinutes] == UNREACHABLE) {
+      return emptySet();
+    }
+    return singleton(rebuildCombinationFor(catalog, descSortedIds, goalMinutes, lastTalkIndexBySum));
+  }
+
+  /* For each reachable sum table holds index of talk which made it reachable first,
+     so index of talk used for (sum - talk minutes) is always less then talk's own. */
+
+  private static int[] tableOfReachableSumsFor(TalkCatalog catalog, int[] ids, int goal) {
+    val reachableSums = new BitSet(goal + 1);
+    val lastTalkIndexBySum = new int[goal + 1];
+    Arrays.fill(lastTalkIndexBySum, UNREACHABLE);
+    reachableSums.set(0);
+
+    for (int i = 0; i < ids.length && !reachableSums.get(goal); i++) {
+      val minutes = catalog.minutes(ids[i]);
+
+      for (int sum = goal; sum >= minutes; sum--) {
+        if (!reachableSums.get(sum) && reachableSums.get(sum - minutes)) {
+          reachableSums.set(sum);
+          lastTalkIndexBySum[sum] = i;
+        }
+      }
+    }
+
+    return lastTalkIndexBySum;
+  }
+
+  private static Answer rebuildCombinationFor(TalkCatalog catalog, int[] ids, int goal, int[] lastTalkIndexBySum) {
+    val combination = new int[goal];
+    int size = 0;
+
+    for (int sum = goal; sum > 0; ) {
+      val id = ids[lastTalkIndexBySum[sum]];
+      combination[size++] = id;
+      sum -= catalog.minutes(id);
+    }
+
+    return Answer.of(catalog, Arrays.copyOf(combination, size));
+  }
+}
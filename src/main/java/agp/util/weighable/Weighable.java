@@ -21,4 +21,6 @@ interface Weighable<C extends Comparable<C>> extends Comparable<Weighable<C>> {
   boolean isPositive();
 
   Weighable<C> subtract(C otherWeight);
+
+  Weighable<C> add(C otherWeight);
 }
@@ -1,42 +1,131 @@
 package agp.vo;
 
-import static com.google.common.base.Preconditions.*;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
 
+import java.time.Duration;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
-import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.Value;
 import lombok.experimental.Delegate;
 import lombok.val;
 
+/* Events are kept in array with start of each one (in minutes of day) in parallel array,
+   so building & querying of track allocates neither LocalTime nor ScheduledEvent per event.
+   ScheduledEvent views & set of talks are made on first demand & cached. */
 
-@Value
-@EqualsAndHashCode(callSuper = true)
 public final class ConferenceTrack extends EventSequence<ConferenceTrack.ScheduledEvent> {
 
   public static final LocalTime START_TIME = LocalTime.of(9, 0);
 
+  private static final int MINUTES_PER_DAY = 24 * 60;
 
-  private ConferenceTrack(List<ScheduledEvent> events) {
-    super("Conference track", events);
+  private final Event[] events;
+  private final int[] startMinutes;
+  private final int endMinute;
+
+  private ImmutableList<ScheduledEvent> scheduledEvents;
+  private ImmutableSet<Talk> talks;
+
+
+  private ConferenceTrack(Event[] events, int[] startMinutes, int endMinute) {
+    super("Conference track", Duration.ofMinutes(endMinute - startMinutes[0]));
+    this.events = events;
+    this.startMinutes = startMinutes;
+    this.endMinute = endMinute;
+  }
+
+  /* Number of events */
+  @Override
+  public int size() {
+    return events.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return false;
+  }
+
+  public Event event(final int index) {
+    checkElementIndex(index, events.length, "Event index");
+    return events[index];
+  }
+
+  /* Start of event in minutes of day (may exceed one day for tracks ending after midnight) */
+  public int startMinute(final int index) {
+    checkElementIndex(index, events.length, "Event index");
+    return startMinutes[index];
+  }
+
+  /* End of event in minutes of day, i.e. start of the next one */
+  public int endMinute(final int index) {
+    checkElementIndex(index, events.length, "Event index");
+    return index + 1 < events.length ? startMinutes[index + 1] : endMinute;
+  }
+
+  /* Racy single-check caching: views are immutable & equal whichever thread makes them */
+
+  @Override
+  public ImmutableList<ScheduledEvent> events() {
+    ImmutableList<ScheduledEvent> views = scheduledEvents;
+    if (views == null) {
+      val builder = ImmutableList.<ScheduledEvent>builder();
+      for (int i = 0; i < events.length; i++) {
+        builder.add(new ScheduledEvent(timeOf(startMinutes[i]), events[i]));
+      }
+      views = builder.build();
+      scheduledEvents = views;
+    }
+    return views;
   }
 
   public Set<Talk> talks() {
-    return this.stream()
-      .map(ScheduledEvent::delegate)
-      .filter(Talk.class::isInstance)
-      .map(Talk.class::cast)
-      .collect(Collectors.toSet());
+    ImmutableSet<Talk> trackTalks = talks;
+    if (trackTalks == null) {
+      val builder = ImmutableSet.<Talk>builder();
+      for (Event event : events) {
+        if (event instanceof Talk) {
+          builder.add((Talk) event);
+        }
+      }
+      trackTalks = builder.build();
+      talks = trackTalks;
+    }
+    return trackTalks;
+  }
+
+  private static LocalTime timeOf(int minuteOfDay) {
+    return LocalTime.ofSecondOfDay(minuteOfDay % MINUTES_PER_DAY * 60L);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ConferenceTrack)) {
+      return false;
+    }
+    val that = (ConferenceTrack) o;
+    return endMinute == that.endMinute &&
+      Arrays.equals(startMinutes, that.startMinutes) &&
+      Arrays.equals(events, that.events);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(startMinutes) + Arrays.hashCode(events);
+  }
+
+  @Override
+  public String toString() {
+    return events().toString();
   }
 
   /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
@@ -47,41 +136,65 @@ public final class ConferenceTrack extends EventSequence<ConferenceTrack.Schedul
     return new Builder();
   }
 
+  public static Builder startingAt(@NonNull final LocalTime startTime) {
+    return builder().startTime(startTime);
+  }
+
   public static final class Builder {
 
-    private List<ScheduledEvent> scheduledEvents = new ArrayList<>();
+    private static final int INITIAL_CAPACITY = 16;
 
-    public Builder scheduleSequence(EventSequence<? extends Event> eventSequence) {
-      eventSequence.forEach(this::scheduleEvent);
+    private Event[] events = new Event[INITIAL_CAPACITY];
+    private int[] startMinutes = new int[INITIAL_CAPACITY];
+    private int size = 0;
+    private int nextStartMinute = minuteOf(START_TIME);
+
+    /* Start of the first event, START_TIME by default */
+    public Builder startTime(@NonNull LocalTime startTime) {
+      checkArgument(size == 0, "Start time must be set before events are scheduled.");
+      nextStartMinute = minuteOf(startTime);
       return this;
     }
 
-    public Builder scheduleEvent(Event event) {
-      requireNonSequence(event);
-      if (scheduledEvents.isEmpty()) {
-        scheduleFirst(event);
-      } else {
-        scheduleAfterLast(event);
+    public Builder scheduleSequence(EventSequence<? extends Event> eventSequence) {
+      for (Event event : eventSequence) {
+        scheduleEvent(event);
       }
       return this;
     }
 
-    private void scheduleFirst(Event event) {
-      checkState(scheduledEvents.isEmpty(), "This should've never happened.");
-      scheduledEvents.add(new ScheduledEvent(START_TIME, event));
+    public Builder scheduleEvent(@NonNull Event event) {
+      requireNonSequence(event);
+      val minutes = minutesOf(event);
+      if (size == events.length) {
+        events = Arrays.copyOf(events, size * 2);
+        startMinutes = Arrays.copyOf(startMinutes, size * 2);
+      }
+      events[size] = event;
+      startMinutes[size] = nextStartMinute;
+      size++;
+      nextStartMinute = Math.addExact(nextStartMinute, minutes);
+      return this;
     }
 
-    private void scheduleAfterLast(Event event) {
-      val lastEvent = Iterables.getLast(scheduledEvents);
-      scheduledEvents.add(new ScheduledEvent(lastEvent.endTime(), event));
+    private static int minuteOf(LocalTime time) {
+      return time.getHour() * 60 + time.getMinute();
     }
 
     private static void requireNonSequence(Event event) {
       checkArgument(!(event instanceof EventSequence), "EventSequence is not allowed here.");
     }
 
+    private static int minutesOf(Event event) {
+      val duration = event.duration();
+      checkArgument(duration.getSeconds() % 60 == 0 && duration.getNano() == 0 && !duration.isNegative(),
+        "Duration of event must be whole number of minutes.");
+      return Math.toIntExact(duration.toMinutes());
+    }
+
     public ConferenceTrack build() {
-      return new ConferenceTrack(scheduledEvents);
+      checkArgument(size > 0, "EventSequence must have events.");
+      return new ConferenceTrack(Arrays.copyOf(events, size), Arrays.copyOf(startMinutes, size), nextStartMinute);
     }
   }
 
@@ -28,7 +28,6 @@ public abstract class EventSequence<E extends Event> extends ForwardingCollectio
   @NonNull
   private final Duration duration;
 
-  @NonNull
   private final ImmutableCollection<E> events;
 
 
@@ -47,17 +46,29 @@ public abstract class EventSequence<E extends Event> extends ForwardingCollectio
     this.duration = Events.durationOf(events);
   }
 
+  /* For sequences making their events on demand, they must override events() */
+
+  EventSequence(@NonNull final String title, @NonNull final Duration duration) {
+    this.title = title;
+    this.events = null;
+    this.duration = duration;
+  }
+
   private static void requireNonEmpty(Collection<?> events) {
     checkArgument(!events.isEmpty(), "EventSequence must have events.");
   }
 
+  public ImmutableCollection<E> events() {
+    return events;
+  }
+
   @Override
   protected ImmutableCollection<E> delegate() {
-    return events;
+    return events();
   }
 
   public boolean isConsistsOf(E event) {
-    return this.events.equals(singleton(event));
+    return this.events().equals(singleton(event));
   }
 
   public boolean hasExactlyOne(Predicate<E> predicate) {
@@ -65,7 +76,7 @@ public abstract class EventSequence<E extends Event> extends ForwardingCollectio
   }
 
   public long count(Predicate<E> predicate) {
-    return this.events.stream().filter(predicate).count();
+    return this.events().stream().filter(predicate).count();
   }
 
   @Override
@@ -79,14 +90,14 @@ public abstract class EventSequence<E extends Event> extends ForwardingCollectio
     EventSequence<?> that = (EventSequence<?>) o;
     return Objects.equals(title, that.title) &&
       Objects.equals(duration, that.duration) &&
-      Objects.equals(events, that.events);
+      Objects.equals(events(), that.events());
   }
 
   @Override
   public int hashCode() {
     int result = title.hashCode();
     result = 31 * result + duration.hashCode();
-    result = 31 * result + events.hashCode();
+    result = 31 * result + events().hashCode();
     return result;
   }
 }
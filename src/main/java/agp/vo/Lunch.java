@@ -1,9 +1,27 @@
 package agp.vo;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.time.Duration;
 
+import lombok.NonNull;
+
 public class Lunch implements Event {
 
+  public static final Duration DEFAULT_DURATION = Duration.ofHours(1);
+
+  private final Duration duration;
+
+
+  public Lunch() {
+    this(DEFAULT_DURATION);
+  }
+
+  public Lunch(@NonNull final Duration duration) {
+    checkArgument(!duration.isNegative() && !duration.isZero(), "Duration of lunch must be positive.");
+    this.duration = duration;
+  }
+
   @Override
   public String title() {
     return "Lunch";
@@ -11,6 +29,6 @@ public class Lunch implements Event {
 
   @Override
   public Duration duration() {
-    return Duration.ofHours(1);
+    return duration;
   }
 }
@@ -1,9 +1,27 @@
 package agp.vo;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.time.Duration;
 
+import lombok.NonNull;
+
 public class NetworkingEvent implements Event {
 
+  public static final Duration DEFAULT_DURATION = Duration.ofHours(2);
+
+  private final Duration duration;
+
+
+  public NetworkingEvent() {
+    this(DEFAULT_DURATION);
+  }
+
+  public NetworkingEvent(@NonNull final Duration duration) {
+    checkArgument(!duration.isNegative() && !duration.isZero(), "Duration of networking event must be positive.");
+    this.duration = duration;
+  }
+
   @Override
   public String title() {
     return "Networking event";
@@ -11,6 +29,6 @@ public class NetworkingEvent implements Event {
 
   @Override
   public Duration duration() {
-    return Duration.ofHours(2);
+    return duration;
   }
 }
@@ -0,0 +1,156 @@
+package agp
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+import java.time.Duration
+import java.time.Instant
+
+import static agp.Utils.set
+import static agp.Utils.talk
+
+class AgendaCacheSpec extends Specification {
+
+  final Path directory = Files.createTempDirectory("agenda-cache")
+
+  final def cache = new AgendaCache(directory)
+
+  final def talks = set(talk("Title A", 30), talk("Title B", 60))
+
+
+  def cleanup() {
+    directory.toFile().deleteDir()
+  }
+
+  def "Agenda should be returned for the same talks & configuration"() {
+
+    when: "Agenda is put into cache"
+      cache.put(talks, "configuration", "agenda")
+
+    then: "It should be returned for the same talks in any order"
+      cache.get(set(talk("Title B", 60), talk("Title A", 30)), "configuration") == Optional.of("agenda")
+
+    and: "It should be returned by another cache over the same directory"
+      new AgendaCache(directory).get(talks, "configuration") == Optional.of("agenda")
+  }
+
+  def "Agenda should not be returned for other talks or configuration"() {
+
+    given: "Some agenda in cache"
+      cache.put(talks, "configuration", "agenda")
+
+    expect: "Miss for other talks or configuration"
+      !cache.get(set(talk("Title A", 30)), "configuration").isPresent()
+      !cache.get(set(talk("Title A", 30), talk("Title B", 45)), "configuration").isPresent()
+      !cache.get(talks, "another configuration").isPresent()
+  }
+
+  def "Corrupted entry should be treated as miss & deleted"() {
+
+    given: "Some agenda in cache"
+      cache.put(talks, "configuration", "agenda " * 100)
+      Path entry = Files.list(directory).findFirst().get()
+
+    when: "Entry is corrupted"
+      def bytes = Files.readAllBytes(entry)
+      corrupt(bytes)
+      Files.write(entry, bytes)
+
+    then: "Entry should be a miss"
+      !cache.get(talks, "configuration").isPresent()
+
+    and: "Entry should be deleted"
+      !Files.exists(entry)
+
+    where: "Header or payload is corrupted"
+      corrupt << [
+        { byte[] content -> content[0] = 0 },                       // magic
+        { byte[] content -> content[4] = 42 },                      // version
+        { byte[] content -> content[6] ^= 1 },                      // CRC
+        { byte[] content -> content[12] ^= 1 },                     // length
+        { byte[] content -> content[content.length - 3] ^= 0x55 }     // payload
+      ]
+  }
+
+  def "Entries older then maximum age should be evicted"() {
+
+    given: "Old agenda in cache"
+      cache.put(talks, "old configuration", "old agenda")
+      makeEntriesOlder(Duration.ofDays(8))
+
+    when: "Another agenda is put into cache"
+      cache.put(talks, "configuration", "agenda")
+
+    then: "Only new agenda should be present"
+      !cache.get(talks, "old configuration").isPresent()
+      cache.get(talks, "configuration").isPresent()
+  }
+
+  def "Least recently used entries should be evicted when cache is too large"() {
+
+    given: "Cache for about 2 entries"
+      def smallCache = new AgendaCache(directory, 80, Duration.ofDays(1))
+
+    when: "3 entries are put, the first one being used before the third one is put"
+      smallCache.put(talks, "first", "first agenda")
+      smallCache.put(talks, "second", "second agenda")
+      makeEntriesOlder(Duration.ofMinutes(1))
+      smallCache.get(talks, "first")
+      smallCache.put(talks, "third", "third agenda")
+
+    then: "The least recently used entry should be evicted"
+      smallCache.get(talks, "first").isPresent()
+      !smallCache.get(talks, "second").isPresent()
+      smallCache.get(talks, "third").isPresent()
+  }
+
+  def "Expired entry should be a miss without any eviction"() {
+
+    given: "Agenda older then maximum age"
+      cache.put(talks, "configuration", "agenda")
+      makeEntriesOlder(Duration.ofDays(8))
+
+    expect: "Entry should be a miss"
+      !cache.get(talks, "configuration").isPresent()
+  }
+
+  def "Directory should not be scanned while cache is within maximum size"() {
+
+    given: "Old agenda in cache"
+      cache.put(talks, "old configuration", "old agenda")
+      makeEntriesOlder(Duration.ofDays(8))
+
+    when: "Another agenda is put into cache far below maximum size"
+      cache.put(talks, "configuration", "agenda")
+
+    then: "Old entry should be still in directory, but not returned"
+      Files.list(directory).count() == 2
+      !cache.get(talks, "old configuration").isPresent()
+  }
+
+  def "Temporary file should be deleted when entry can't be written"() {
+
+    given: "Directory in place of entry file"
+      cache.put(talks, "configuration", "agenda")
+      Path entry = Files.list(directory).findFirst().get()
+      Files.delete(entry)
+      Files.createFile(Files.createDirectory(entry).resolve("blocker"))
+
+    when: "Agenda is put into cache"
+      cache.put(talks, "configuration", "agenda")
+
+    then: "Exception should be thrown"
+      thrown(IllegalStateException)
+
+    and: "No temporary file should be left"
+      Files.list(directory).collect { it.fileName.toString() } == [entry.fileName.toString()]
+  }
+
+  /* utils */
+
+  def makeEntriesOlder(Duration age) {
+    Files.list(directory).each { Files.setLastModifiedTime(it, FileTime.from(Instant.now() - age)) }
+  }
+}
@@ -0,0 +1,95 @@
+package agp
+
+import agp.scheduler.ConferenceAgendaSchedulerImpl
+import agp.scheduler.ConferenceShape
+import agp.scheduler.LocalSearchAgendaOptimizer
+import agp.scheduler.MorningSessionsSchedulerImpl
+import agp.scheduler.OptimizingConferenceAgendaScheduler
+import agp.scheduler.PartitionedConferenceAgendaScheduler
+import agp.scheduler.PortfolioConferenceAgendaScheduler
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+import java.util.function.Consumer
+import java.util.function.Function
+
+import static agp.Utils.nHourTalks
+
+class AgendaPipelineSpec extends Specification {
+
+  final Path directory = Files.createTempDirectory("pipeline")
+
+
+  def cleanup() {
+    directory.toFile().deleteDir()
+  }
+
+  def "Agenda should be returned & listener notified when cache can't be written"() {
+
+    given: "Cache over regular file instead of directory"
+      def listener = Mock(Consumer)
+      def pipeline = AgendaPipeline.builder()
+        .cache(Optional.of(new AgendaCache(Files.createFile(directory.resolve("file")))))
+        .cacheFailureListener(listener)
+        .build()
+
+    when: "Talks are rendered"
+      def agenda = pipeline.render(nHourTalks(7))
+
+    then: "Listener should be notified of failure with its cause"
+      1 * listener.accept({ it instanceof IllegalStateException && it.cause instanceof IOException })
+
+    and: "Agenda should be rendered anyway"
+      agenda.contains("Title 1")
+  }
+
+  def "Agendas of different optimization limits should not share cache entry"() {
+
+    given: "Pipelines over the same cache optimizing for 10 & 20 milliseconds"
+      def cache = Optional.of(new AgendaCache(directory))
+      def pipelines = [10, 20].collect {
+        AgendaPipeline.builder().cache(cache).scheduler(optimizing(Duration.ofMillis(it))).build()
+      }
+
+    when: "The same talks are rendered by both pipelines"
+      pipelines.each { it.render(nHourTalks(14)) }
+
+    then: "Configurations should differ"
+      pipelines[0].configuration() != pipelines[1].configuration()
+
+    and: "Each agenda should be cached on its own"
+      Files.list(directory).count() == 2
+  }
+
+  def "Configuration should depend on parameters & wrapped schedulers"() {
+
+    given: "Pipelines differing by wrapped scheduler, morning sessions scheduler, shape or time limit"
+      def pipelines = [
+        AgendaPipeline.builder().build(),
+        AgendaPipeline.builder().scheduler(
+          new ConferenceAgendaSchedulerImpl("oneByOne", { Integer n -> new MorningSessionsSchedulerImpl(n) } as Function)
+        ).build(),
+        AgendaPipeline.builder().timeLimit(Optional.of(Duration.ofSeconds(1))).build(),
+        AgendaPipeline.builder().scheduler(new PortfolioConferenceAgendaScheduler()).build(),
+        AgendaPipeline.builder().scheduler(optimizing(Duration.ofMillis(10))).build(),
+        AgendaPipeline.builder().scheduler(new OptimizingConferenceAgendaScheduler(
+          new PortfolioConferenceAgendaScheduler(), LocalSearchAgendaOptimizer.builder().timeLimit(Duration.ofMillis(10)).build()
+        )).build(),
+        AgendaPipeline.builder().scheduler(optimizing(Duration.ofMillis(10)))
+          .timeLimit(Optional.of(Duration.ofSeconds(1))).build(),
+        AgendaPipeline.builder().scheduler(new PartitionedConferenceAgendaScheduler(ConferenceShape.of(1, 2).build())).build(),
+        AgendaPipeline.builder().scheduler(new PartitionedConferenceAgendaScheduler(ConferenceShape.of(2, 1).build())).build()
+      ]
+
+    expect: "Configurations of all pipelines to differ"
+      pipelines*.configuration().toSet().size() == pipelines.size()
+  }
+
+  /* utils */
+
+  private static def optimizing(Duration timeLimit) {
+    new OptimizingConferenceAgendaScheduler(LocalSearchAgendaOptimizer.builder().timeLimit(timeLimit).build())
+  }
+}
@@ -0,0 +1,145 @@
+package agp
+
+import agp.util.TestResources
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class AgendaServerSpec extends Specification {
+
+  final def server = new AgendaServer(
+    AgendaPipeline.builder().build(), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 4096
+  ).start()
+
+
+  def cleanup() {
+    server.close()
+  }
+
+  def "Health should be reported"() {
+
+    when: "Health is requested"
+      def response = request("GET", "/health", null)
+
+    then: "Server should be OK"
+      response == [200, "OK"]
+  }
+
+  def "Agenda should be scheduled for talks of request"() {
+
+    given: "Content of sample input file"
+      def input = Files.readAllBytes(TestResources.get("SampleInput.txt"))
+
+    when: "Talks are posted"
+      def response = request("POST", "/schedule", input)
+
+    then: "Agenda should be returned"
+      response[0] == 200
+      response[1].contains("Track 1:")
+      response[1].contains("Lunch")
+      response[1].contains("Networking event")
+      response[1].contains("Track 2:")
+  }
+
+  def "Agenda should be rendered in format of query"() {
+
+    given: "Content of sample input file"
+      def input = Files.readAllBytes(TestResources.get("SampleInput.txt"))
+
+    when: "Talks are posted with format in query"
+      def response = request("POST", "/schedule?format=json", input)
+
+    then: "Agenda should be JSON"
+      response[0] == 200
+      new JsonSlurper().parseText(response[1]).tracks.size() == 2
+
+    and: "Unknown format should be rejected"
+      request("POST", "/schedule?format=xml", input)[0] == 400
+  }
+
+  def "Error should be reported by status"() {
+
+    when: "Request is sent"
+      def response = request(method, "/schedule", body?.getBytes("UTF-8"))
+
+    then: "Status should be expected"
+      response[0] == status
+
+    where:
+      method | body                                         | status
+      "GET"  | null                                         | 405
+      "POST" | "2\nSome talk\nAnother talk 30min"           | 400
+      "POST" | "1\nThe only talk 30min"                     | 400
+      "POST" | "1\n" + "Talk 60min\n" * 1000                 | 413
+  }
+
+  def "Error should be reported for talks which can't be scheduled"() {
+
+    given: "Talks which can't fill morning session"
+      def body = "4\nTalk A 55min\nTalk B 55min\nTalk C 55min\nTalk D 55min".getBytes("UTF-8")
+
+    when: "Talks are posted"
+      def response = request("POST", "/schedule", body)
+
+    then: "Talks should be unprocessable"
+      response[0] == 422
+      response[1] == "Failed to schedule conference agenda."
+  }
+
+  def "Timeout should be reported for talks not scheduled within time limit"() {
+
+    given: "Server scheduling with time limit too small for anything"
+      def pipeline = AgendaPipeline.builder().timeLimit(Optional.of(Duration.ZERO)).build()
+      def limitedServer = new AgendaServer(pipeline, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 4096).start()
+
+    when: "Talks are posted"
+      def response = request(limitedServer, "POST", "/schedule", Files.readAllBytes(TestResources.get("SampleInput.txt")))
+
+    then: "Service should be unavailable"
+      response[0] == 503
+
+    cleanup:
+      limitedServer.close()
+  }
+
+  def "Requests should be handled concurrently"() {
+
+    given: "Content of sample input file"
+      def input = Files.readAllBytes(TestResources.get("SampleInput.txt"))
+
+    and: "Clients sending requests at once"
+      def clients = Executors.newFixedThreadPool(8)
+
+    when: "Many requests are sent"
+      def responses = (1..32).collect { clients.submit({ request("POST", "/schedule", input) } as Callable) }*.get()
+
+    then: "All of them should succeed"
+      responses*.get(0).every { it == 200 }
+      responses*.get(1).every { it.contains("Track 2:") }
+
+    cleanup:
+      clients.shutdown()
+  }
+
+  private List request(String method, String path, byte[] body) {
+    request(server, method, path, body)
+  }
+
+  private static List request(AgendaServer server, String method, String path, byte[] body) {
+    def url = new URL("http://${server.address().hostString}:${server.address().port}${path}")
+    def connection = (HttpURLConnection) url.openConnection()
+    connection.requestMethod = method
+    if (body != null) {
+      connection.doOutput = true
+      connection.fixedLengthStreamingMode = body.length
+      connection.outputStream.withStream { it.write(body) }
+    }
+    def status = connection.responseCode
+    def stream = status < 400 ? connection.inputStream : connection.errorStream
+    [status, stream == null ? "" : stream.getText("UTF-8")]
+  }
+}
@@ -0,0 +1,128 @@
+package agp
+
+import agp.render.AgendaFormat
+import spock.lang.Specification
+
+import java.nio.file.Paths
+import java.time.Duration
+
+class AppOptionsSpec extends Specification {
+
+  def "Arguments & options should be parsed"() {
+
+    when: "Command line is parsed"
+      def options = AppOptions.parse("--cache-dir", "/tmp/cache", "input.txt")
+
+    then: "Input file & cache directory should be expected"
+      options.inputFile() == Optional.of(Paths.get("input.txt"))
+      options.cacheDirectory() == Optional.of(Paths.get("/tmp/cache"))
+  }
+
+  def "Options should be optional"() {
+
+    when: "Empty command line is parsed"
+      def options = AppOptions.parse()
+
+    then: "Nothing should be present"
+      !options.inputFile().isPresent()
+      !options.cacheDirectory().isPresent()
+      !options.batch().isPresent()
+
+    and: "Batch should be run on all processors into default directory"
+      options.threadsNumber() == Runtime.getRuntime().availableProcessors()
+      options.outputDirectory() == Paths.get("agendas")
+
+    and: "Server should not be run"
+      !options.port().isPresent()
+      options.maxRequestBytes() == AgendaServer.DEFAULT_MAX_REQUEST_BYTES
+  }
+
+  def "Batch options should be parsed"() {
+
+    when: "Command line of batch is parsed"
+      def options = AppOptions.parse("--batch", "events/*.txt", "--output-dir", "out", "--threads", "3")
+
+    then: "Batch options should be expected"
+      options.batch() == Optional.of("events/*.txt")
+      options.outputDirectory() == Paths.get("out")
+      options.threadsNumber() == 3
+  }
+
+  def "Server options should be parsed"() {
+
+    when: "Command line of server is parsed"
+      def options = AppOptions.parse("--port", "8080", "--workers", "4", "--max-request-size", "1024")
+
+    then: "Server options should be expected"
+      options.port() == Optional.of(8080)
+      options.workersNumber() == 4
+      options.maxRequestBytes() == 1024
+  }
+
+  def "Format should be parsed case-insensitively"() {
+
+    expect:
+      AppOptions.parse("--format", "json").format() == AgendaFormat.JSON
+      AppOptions.parse("--format", "CSV").format() == AgendaFormat.CSV
+      AppOptions.parse().format() == AgendaFormat.TEXT
+  }
+
+  def "Exception should be thrown for unknown format"() {
+
+    when: "Unknown format is requested"
+      AppOptions.parse("--format", "xml").format()
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+
+  def "Time limit should be parsed in milliseconds"() {
+
+    expect:
+      AppOptions.parse("--time-limit", "250").timeLimit() == Optional.of(Duration.ofMillis(250))
+      !AppOptions.parse().timeLimit().isPresent()
+  }
+
+  def "Optimization time limit should be parsed in milliseconds"() {
+
+    expect:
+      AppOptions.parse("--optimize", "200").optimizationTimeLimit() == Optional.of(Duration.ofMillis(200))
+      !AppOptions.parse().optimizationTimeLimit().isPresent()
+  }
+
+  def "Exception should be thrown for invalid port"() {
+
+    when: "Port is requested"
+      AppOptions.parse("--port", port).port()
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+
+    where:
+      port << ["0", "65536", "http"]
+  }
+
+  def "Exception should be thrown for invalid number of threads"() {
+
+    when: "Number of threads is requested"
+      AppOptions.parse("--threads", threads).threadsNumber()
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+
+    where: "Number is not positive or not a number"
+      threads << ["0", "-2", "many", "99999999999"]
+  }
+
+  def "Exception should be thrown for invalid command line"() {
+
+    when: "Invalid command line is parsed"
+      AppOptions.parse(args as String[])
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+
+    where: "Option is unknown or has no value"
+      args << [["--unknown", "value"], ["input.txt", "--cache-dir"]]
+  }
+}
@@ -0,0 +1,147 @@
+package agp
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.function.Function
+
+class BatchRunnerSpec extends Specification {
+
+  final Path directory = Files.createTempDirectory("batch")
+
+  final Path outputDirectory = directory.resolve("out")
+
+
+  def cleanup() {
+    directory.toFile().deleteDir()
+  }
+
+  def "Agenda of each file should be written under the same relative path"() {
+
+    given: "Input files in nested directories"
+      def inputFiles = [file("a.txt"), file("nested/b.txt"), file("nested/deeper/c.txt")]
+
+    and: "Runner with pipeline returning name of file"
+      def runner = new BatchRunner({ Path it -> it.fileName.toString() } as Function, outputDirectory, 2)
+
+    when: "Batch is run"
+      def summary = runner.run(directory, inputFiles)
+
+    then: "Output files should be written"
+      new String(Files.readAllBytes(outputDirectory.resolve("a.txt.agenda.txt"))) == "a.txt"
+      new String(Files.readAllBytes(outputDirectory.resolve("nested/b.txt.agenda.txt"))) == "b.txt"
+      new String(Files.readAllBytes(outputDirectory.resolve("nested/deeper/c.txt.agenda.txt"))) == "c.txt"
+
+    and: "Summary should report all files in order of input"
+      summary.results()*.inputFile() == inputFiles
+      !summary.hasFailures()
+      summary.threadsNumber() == 2
+  }
+
+  def "Failed file should not stop other files"() {
+
+    given: "Input files one of which fails"
+      def inputFiles = [file("a.txt"), file("broken.txt"), file("c.txt")]
+
+    and: "Runner with pipeline failing for one file"
+      def pipeline = { Path it ->
+        if (it.fileName.toString() == "broken.txt") throw new IllegalArgumentException("Invalid file format.")
+        "agenda"
+      }
+      def runner = new BatchRunner(pipeline as Function, outputDirectory, 3)
+
+    when: "Batch is run"
+      def summary = runner.run(directory, inputFiles)
+
+    then: "Failure should be reported for failed file only"
+      summary.failuresNumber() == 1
+      summary.results()*.failure() == [Optional.empty(), Optional.of("Invalid file format."), Optional.empty()]
+
+    and: "Output should be written for other files"
+      Files.exists(outputDirectory.resolve("a.txt.agenda.txt"))
+      !Files.exists(outputDirectory.resolve("broken.txt.agenda.txt"))
+      Files.exists(outputDirectory.resolve("c.txt.agenda.txt"))
+
+    and: "Summary should mention failure"
+      summary.format().contains("FAILED")
+      summary.format().contains("broken.txt: Invalid file format.")
+  }
+
+  def "Error should stop batch & name its file"() {
+
+    given: "Runner with pipeline overflowing stack for one file"
+      def pipeline = { Path it ->
+        if (it.fileName.toString() == "deep.txt") throw new StackOverflowError()
+        "agenda"
+      }
+      def runner = new BatchRunner(pipeline as Function, outputDirectory, 2)
+
+    when: "Batch is run"
+      runner.run(directory, [file("a.txt"), file("deep.txt")])
+
+    then: "Batch should fail with error of that file"
+      def ex = thrown(IllegalStateException)
+      ex.message.contains("deep.txt")
+      ex.cause instanceof StackOverflowError
+  }
+
+  def "Real files should be scheduled by default pipeline"() {
+
+    given: "Copies of sample input"
+      def sample = new File(getClass().getResource("/SampleInput.txt").toURI()).toPath()
+      def inputFiles = (1..4).collect { Files.copy(sample, directory.resolve("event-${it}.txt")) }
+
+    when: "Batch is run by default pipeline"
+      def summary = new BatchRunner(AgendaPipeline.builder().build(), outputDirectory, 2).run(directory, inputFiles)
+
+    then: "Agenda should be written for each file"
+      !summary.hasFailures()
+      inputFiles.every {
+        def agenda = new String(Files.readAllBytes(outputDirectory.resolve("${it.fileName}.agenda.txt")))
+        agenda.contains("Track 1:") && agenda.contains("Lunch")
+      }
+  }
+
+  def "Input files should be listed by directory or glob"() {
+
+    given: "Files in nested directories"
+      file("a.txt"); file("b.csv"); file("nested/c.txt"); file("nested/deeper/d.txt")
+
+    expect: "Files to be matched"
+      BatchRunner.inputFilesOf(pattern(directoryOrGlob))*.fileName*.toString() == names
+
+    where:
+      directoryOrGlob   | names
+      ""                | ["a.txt", "b.csv"]
+      "/*.txt"          | ["a.txt"]
+      "/nested/*.txt"   | ["c.txt"]
+      "/**.txt"         | ["a.txt", "c.txt", "d.txt"]
+      "/*/*.txt"        | ["c.txt"]
+  }
+
+  def "Latency percentiles should be taken by nearest rank"() {
+
+    given: "Summary of files with different latencies"
+      def results = (1..10).collect {
+        new BatchRunner.FileResult(directory, Optional.empty(), Optional.empty(), java.time.Duration.ofMillis(it * 10))
+      }
+      def summary = new BatchRunner.Summary(results, 1, java.time.Duration.ofMillis(100))
+
+    expect:
+      summary.latencyAt(50).toMillis() == 50
+      summary.latencyAt(95).toMillis() == 100
+      summary.latencyAt(100).toMillis() == 100
+  }
+
+  private Path file(String name) {
+    def file = directory.resolve(name)
+    Files.createDirectories(file.parent)
+    Files.write(file, "content".bytes)
+    file
+  }
+
+  private String pattern(String suffix) {
+    directory.toString() + suffix
+  }
+}
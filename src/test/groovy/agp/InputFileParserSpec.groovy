@@ -57,4 +57,22 @@ class InputFileParserSpec extends Specification {
         talk("User Interface CSS in AngularJS Apps", 30)
       )
   }
-}
\ No newline at end of file
+
+  def "Talks should be parsed from lines of input"() {
+
+    when: "Parser is applied to lines"
+      Set<Talk> talks = parser.parse(["2", "Java Is Not Magic 60min", "Rails for Java Developers lightning"].stream())
+
+    then: "Count line should be skipped"
+      talks == set(talk("Java Is Not Magic", 60), talk("Rails for Java Developers", 5))
+  }
+
+  def "Exception should be thrown for malformed lines"() {
+
+    when: "Parser is applied to malformed lines"
+      parser.parse(["1", "Java Is Not Magic"].stream())
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+}
@@ -0,0 +1,114 @@
+package agp
+
+import agp.util.TestResources
+import agp.vo.Talk
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.util.concurrent.ForkJoinPool
+
+import static agp.Utils.variedTalks
+
+class ParallelInputFileParserSpec extends Specification {
+
+  final def parser = new ParallelInputFileParser()
+
+  /* tiny chunks, so even small files are split & parsed in parallel */
+  final def chunkedParser = new ParallelInputFileParser(ForkJoinPool.commonPool(), 16)
+
+
+  def "Exception should be thrown for non-existing file"() {
+
+    when: "Parser is applied to invalid path"
+      parser.apply(Paths.get("./some-file.txt"))
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+
+  def "Talks should be the same as parsed by InputFileParser"() {
+
+    given: "Sample input file"
+      def path = TestResources.get("SampleInput.txt")
+
+    expect: "Both parsers to produce the same talks"
+      parser.apply(path) == new InputFileParser().apply(path)
+      chunkedParser.apply(path) == new InputFileParser().apply(path)
+  }
+
+  def "Unusual lines should be parsed like by InputFileParser"() {
+
+    given: "File with unusual line endings, tokens & titles"
+      def path = fileOf(
+        "5\r\n" +
+          "Plain Talk 45min\r\n" +
+          "Lightning Talk lightning\r" +
+          "Talk With Trailing Spaces 30min   \n" +
+          "Talk About 30min Talks 30min\n" +
+          "Leading Zeros 045min\n" +
+          "Über Unicode Talk 60min\n" +
+          "Last Talk Without Newline 15min"
+      )
+
+    expect: "Both parsers to produce the same talks"
+      Set<Talk> talks = new InputFileParser().apply(path)
+      talks.size() == 7
+      parser.apply(path) == talks
+      chunkedParser.apply(path) == talks
+  }
+
+  def "Large file should be parsed like by InputFileParser"() {
+
+    given: "File of many talks"
+      def lines = ["3000"] + variedTalks(3000, 1, { "Talk ${titleOf(it)}" }).collect {
+        "${it.title()} ${it.duration().toMinutes() == 5 ? 'lightning' : it.duration().toMinutes() + 'min'}"
+      }
+      def path = fileOf(lines.join("\n"))
+
+    expect: "Both parsers to produce the same talks"
+      Set<Talk> talks = new InputFileParser().apply(path)
+      talks.size() == 3000
+      new ParallelInputFileParser(ForkJoinPool.commonPool(), 1024).apply(path) == talks
+  }
+
+  def "Malformed line should be reported with its number"() {
+
+    given: "File with malformed 4th line"
+      def path = fileOf(lines.join("\n"))
+
+    when: "Parser is applied"
+      chunkedParser.apply(path)
+
+    then: "Exception should tell number of malformed line"
+      def ex = thrown(IllegalArgumentException)
+      ex.message.contains("line 4")
+
+    where: "Line is malformed in different ways"
+      lines << [
+        ["4", "Talk One 30min", "Talk Two 45min", "Too Long Talk 90min", "Talk Four 5min"],
+        ["4", "Talk One 30min", "Talk Two 45min", "No Duration Talk", "Talk Four 5min"],
+        ["4", "Talk One 30min", "Talk Two 45min", "", "Talk Four 5min"],
+        ["4", "Talk One 30min", "Talk Two 45min", "Sixty Talk sixtymin", "Talk Four 5min"]
+      ]
+  }
+
+  /* utils */
+
+  def fileOf(String content) {
+    Path path = Files.createTempFile("talks", ".txt")
+    path.toFile().deleteOnExit()
+    Files.write(path, content.getBytes(StandardCharsets.UTF_8))
+    path
+  }
+
+  def titleOf(int index) {
+    def title = ""
+    for (int i = index; i > 0; i = i.intdiv(26)) {
+      title += (char) ((('a' as char) as int) + i % 26)
+    }
+    title
+  }
+}
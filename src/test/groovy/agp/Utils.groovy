@@ -22,4 +22,10 @@ class Utils {
     }
     talks.toSet()
   }
+
+  /* Talks of durations from 5 to 60 minutes, spread by the step, in order of numbers */
+
+  static def variedTalks(int n, int step = 13, Closure<String> titleOf = { "Title ${it}" }) {
+    new LinkedHashSet((1..n).collect { talk(titleOf(it), 5 + (it * step) % 56) })
+  }
 }
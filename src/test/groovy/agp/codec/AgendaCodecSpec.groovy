@@ -0,0 +1,198 @@
+package agp.codec
+
+import agp.scheduler.ConferenceAgendaSchedulerImpl
+import agp.vo.ConferenceTrack
+import agp.vo.Lunch
+import agp.vo.MorningSession
+import agp.vo.NetworkingEvent
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.channels.Channels
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.time.Duration
+import java.time.LocalTime
+
+import static agp.Utils.set
+import static agp.Utils.talk
+import static agp.Utils.variedTalks
+import static java.nio.file.StandardOpenOption.READ
+
+class AgendaCodecSpec extends Specification {
+
+  final def codec = new AgendaCodec()
+
+  final def tracks = new ConferenceAgendaSchedulerImpl().apply(
+    variedTalks(300, 7, { "Talk ${it % 100}" })
+  )
+
+
+  def "Decoded agenda should be equal to encoded one"() {
+
+    expect: "Agenda to survive round trip"
+      eventsOf(codec.decode(codec.encode(tracks))) == eventsOf(tracks)
+  }
+
+  def "Titles of any characters should survive round trip"() {
+
+    given: "Track of talk with special characters in title"
+      def track = ConferenceTrack.builder()
+        .scheduleSequence(MorningSession.of(set(talk("Юникод & emoji 😀", 30))))
+        .scheduleEvent(new Lunch())
+        .scheduleEvent(new NetworkingEvent())
+        .build()
+
+    expect: "Track to be decoded as it was"
+      eventsOf(codec.decode(codec.encode(set(track)))) == eventsOf(set(track))
+  }
+
+  def "Track of custom start time & durations of events should survive round trip"() {
+
+    given: "Track starting at 10:30 with short lunch & long networking event"
+      def track = ConferenceTrack.startingAt(LocalTime.of(10, 30))
+        .scheduleEvent(talk("Java", 60))
+        .scheduleEvent(new Lunch(Duration.ofMinutes(45)))
+        .scheduleEvent(new NetworkingEvent(Duration.ofHours(3)))
+        .build()
+
+    when: "Track is decoded"
+      def decoded = codec.decode(codec.encode(set(track))).first()
+
+    then: "Start & durations of events to be the same"
+      (0..<decoded.size()).collect { [decoded.startMinute(it), decoded.endMinute(it)] } ==
+        [[630, 690], [690, 735], [735, 915]]
+      decoded.event(1) instanceof Lunch
+      decoded.event(2) instanceof NetworkingEvent
+  }
+
+  def "Repeated titles should be stored once"() {
+
+    given: "Agenda of 300 talks with 10 distinct long titles"
+      def agenda = new ConferenceAgendaSchedulerImpl().apply(
+        variedTalks(300, 7, { "Talk ${it % 10}".padRight(40, ".") })
+      )
+      def buffer = codec.encode(agenda)
+
+    expect: "Encoding to be much shorter then titles of all talks"
+      buffer.remaining() < 300 * 40 / 2
+  }
+
+  def "Any track should be decoded alone"() {
+
+    given: "Encoded agenda"
+      def encodedTracks = tracks.toList()
+      def agenda = codec.open(codec.encode(tracks))
+
+    expect: "Each track to be decoded by its number"
+      agenda.tracksNumber() == encodedTracks.size()
+      (0..<encodedTracks.size()).every { eventsOf(agenda.track(it)) == eventsOf(encodedTracks[it]) }
+  }
+
+  def "Track number out of range should be rejected"() {
+
+    when: "Track after the last one is requested"
+      def agenda = codec.open(codec.encode(tracks))
+      agenda.track(agenda.tracksNumber())
+
+    then: "Exception should be thrown"
+      thrown(IndexOutOfBoundsException)
+  }
+
+  def "Agenda should be written into channel & mapped from file"() {
+
+    given: "File of encoded agenda"
+      def file = Files.createTempFile("agenda", ".bin")
+      Files.newOutputStream(file).withCloseable { codec.write(tracks, Channels.newChannel(it)) }
+
+    when: "File is opened"
+      def decoded = FileChannel.open(file, READ).withCloseable { codec.open(it).tracks() }
+
+    then: "Agenda should be decoded as it was"
+      eventsOf(decoded) == eventsOf(tracks)
+
+    cleanup:
+      Files.deleteIfExists(file)
+  }
+
+  def "Agenda encoded in version 1 layout should be decoded"() {
+
+    given: "Bytes of version 1: track at 9:00 of talk, lunch & networking event"
+      def bytes = [0x41, 0x47, 0x50, 0x42, 1] +     // magic & version
+        [1, 4] + "Java".bytes.toList() +              // string table
+        [1, 0, 0, 0, 16] +                            // tracks number & offset of track
+        [0x9C, 0x04, 3, 0, 0, 60, 1, 2]               // start minute 540 & events
+
+    when: "Agenda is decoded"
+      def decoded = codec.decode(ByteBuffer.wrap(bytes as byte[])).first()
+
+    then: "Track to start at 9:00 with events of default durations"
+      (0..<decoded.size()).collect { [decoded.startMinute(it), decoded.endMinute(it)] } ==
+        [[540, 600], [600, 660], [660, 780]]
+      decoded.event(0).title() == "Java"
+      decoded.event(1) instanceof Lunch
+      decoded.event(2) instanceof NetworkingEvent
+  }
+
+  def "Agenda should be encoded in version 2"() {
+
+    expect: "Version byte right after magic"
+      codec.encode(tracks).get(4) == 2
+  }
+
+  def "Features of version 2 should be rejected in version 1 layout"() {
+
+    when: "Version 1 bytes with custom start or lunch of minutes are decoded"
+      codec.decode(ByteBuffer.wrap(bytes as byte[]))
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+
+    where:
+      bytes << [
+        [0x41, 0x47, 0x50, 0x42, 1, 0, 1, 0, 0, 0, 11, 0xA0, 0x04, 0],   // track at 9:04
+        [0x41, 0x47, 0x50, 0x42, 1, 0, 1, 0, 0, 0, 11, 0x9C, 0x04, 1, 3, 45]   // lunch of 45 minutes
+      ]
+  }
+
+  def "Malformed agenda should be rejected"() {
+
+    when: "Malformed bytes are decoded"
+      codec.decode(ByteBuffer.wrap(bytes as byte[]))
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+
+    where:
+      bytes << [
+        [],
+        [0x41, 0x47, 0x50, 0x43, 1, 0, 0],           // unknown magic
+        [0x41, 0x47, 0x50, 0x42, 3, 0, 0],           // unsupported version
+        [0x41, 0x47, 0x50, 0x42, 1, 0, 1],           // truncated index
+        [0x41, 0x47, 0x50, 0x42, 1, 0x80, 0x80]      // truncated varint
+      ]
+  }
+
+  def "Truncated track should be rejected"() {
+
+    given: "Agenda without its last bytes"
+      def buffer = codec.encode(tracks)
+      buffer.limit(buffer.limit() - 1)
+
+    when: "All tracks are decoded"
+      codec.decode(buffer)
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+
+  /* Lunch & networking event have no equality of their own, so events are compared by value */
+
+  private static def eventsOf(ConferenceTrack track) {
+    track.events().collect { [it.startTime(), it.title(), it.duration()] }
+  }
+
+  private static def eventsOf(Set<ConferenceTrack> tracks) {
+    tracks.collect { eventsOf(it) }
+  }
+}
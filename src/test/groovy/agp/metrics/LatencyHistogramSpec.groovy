@@ -0,0 +1,73 @@
+package agp.metrics
+
+import spock.lang.Specification
+
+class LatencyHistogramSpec extends Specification {
+
+  final def histogram = new LatencyHistogram("phase")
+
+
+  def "Empty histogram should report zeros"() {
+
+    expect: "Nothing to be recorded"
+      histogram.count == 0
+      histogram.meanMillis == 0
+      histogram.maxMillis == 0
+      histogram.percentileNanos(99) == 0
+  }
+
+  def "Latency should be recorded into bucket of its power of two"() {
+
+    when: "Latencies are recorded"
+      [0L, 1L, 2L, 3L, 4L, 1000L].each { histogram.record(it) }
+
+    then: "Buckets should hold expected counts"
+      def buckets = histogram.buckets
+      buckets[0] == 1     // 0
+      buckets[1] == 1     // 1
+      buckets[2] == 2     // 2..3
+      buckets[3] == 1     // 4..7
+      buckets[10] == 1    // 512..1023
+      buckets.sum() == 6
+  }
+
+  def "Percentile should be bounded by upper bound of its bucket & maximum"() {
+
+    when: "Latencies of 1..100 microseconds are recorded"
+      (1..100).each { histogram.record(it * 1000L) }
+
+    then: "Totals should be exact"
+      histogram.count == 100
+      histogram.totalMillis == 5.05d
+      histogram.maxMillis == 0.1d
+
+    and: "Percentiles should be at most twice larger"
+      def p50 = histogram.percentileNanos(50)
+      p50 >= 50_000 && p50 < 100_000
+      histogram.percentileNanos(100) == 100_000
+  }
+
+  def "Reset should clear histogram"() {
+
+    given: "Some recorded latencies"
+      (1..10).each { histogram.record(it) }
+
+    when: "Histogram is reset"
+      histogram.reset()
+
+    then: "Nothing should be recorded"
+      histogram.count == 0
+      histogram.buckets.sum() == 0
+      histogram.maxMillis == 0
+  }
+
+  def "Latencies should be recorded concurrently"() {
+
+    when: "Latencies are recorded by many threads"
+      (1..8).collect { Thread.start { 10_000.times { histogram.record(it) } } }*.join()
+
+    then: "None of them should be lost"
+      histogram.count == 80_000
+      histogram.buckets.sum() == 80_000
+  }
+}
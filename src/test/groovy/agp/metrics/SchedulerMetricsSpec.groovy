@@ -0,0 +1,79 @@
+package agp.metrics
+
+import agp.InputFileParser
+import agp.scheduler.ConferenceAgendaSchedulerImpl
+import agp.scheduler.MorningSessionsSchedulerImpl
+import agp.util.TestResources
+import spock.lang.Specification
+
+import javax.management.ObjectName
+import java.lang.management.ManagementFactory
+
+import static agp.metrics.SchedulerMetrics.metrics
+
+class SchedulerMetricsSpec extends Specification {
+
+  final def server = ManagementFactory.getPlatformMBeanServer()
+
+
+  def "Metrics should be registered as platform MBeans"() {
+
+    given: "Metrics are initialized"
+      metrics()
+
+    expect: "Counters & histograms to be registered"
+      !metrics().registrationFailure().isPresent()
+      server.isRegistered(new ObjectName("agp:type=SchedulerMetrics"))
+      ["parsing", "morningSession", "morningSessions", "tracks", "agenda"].every {
+        server.isRegistered(new ObjectName("agp:type=SchedulerLatency,phase=${it}"))
+      }
+  }
+
+  def "Parsing & scheduling should be counted & timed"() {
+
+    given: "Values before scheduling"
+      def before = snapshot()
+
+    when: "Sample input is parsed & scheduled"
+      def talks = new InputFileParser().apply(TestResources.get("SampleInput.txt"))
+      def tracks = new ConferenceAgendaSchedulerImpl().apply(talks)
+
+    then: "Counters should grow at least by own work"
+      def after = snapshot()
+      after.TalksParsed - before.TalksParsed >= talks.size()
+      after.MorningSessionsScheduled - before.MorningSessionsScheduled >= tracks.size()
+      after.TracksScheduled - before.TracksScheduled >= tracks.size()
+      after.CombinationsExplored > before.CombinationsExplored
+
+    and: "Phases should be timed"
+      after.parsing > before.parsing
+      after.morningSessions > before.morningSessions
+      after.tracks > before.tracks
+      after.agenda > before.agenda
+  }
+
+  def "Knapsack answers & morning session should be counted & timed"() {
+
+    given: "Values before scheduling"
+      def before = snapshot()
+
+    when: "Morning sessions are scheduled one by one"
+      def talks = new InputFileParser().apply(TestResources.get("SampleInput.txt"))
+      new MorningSessionsSchedulerImpl(2).apply(talks)
+
+    then: "Answers should be counted & each session should be timed"
+      def after = snapshot()
+      after.AnswersProduced - before.AnswersProduced >= 2
+      after.morningSession - before.morningSession >= 2
+  }
+
+  /* Counters read via JMX & counts of latencies per phase */
+
+  private Map snapshot() {
+    def name = new ObjectName("agp:type=SchedulerMetrics")
+    def values = ["TalksParsed", "CombinationsExplored", "AnswersProduced", "MorningSessionsScheduled", "TracksScheduled"]
+      .collectEntries { [(it): server.getAttribute(name, it)] }
+    metrics().histograms().each { values[it.phase()] = it.count }
+    values
+  }
+}
@@ -0,0 +1,49 @@
+package agp.render
+
+import agp.vo.ConferenceTrack
+import agp.vo.Lunch
+import agp.vo.MorningSession
+import spock.lang.Specification
+
+import static agp.Utils.set
+import static agp.Utils.talk
+
+class CsvAgendaRendererSpec extends Specification {
+
+  final def renderer = new CsvAgendaRenderer()
+
+
+  def "Agenda should be rendered as header & row per event"() {
+
+    given: "Track of talks & lunch"
+      def track = ConferenceTrack.builder()
+        .scheduleSequence(MorningSession.of(set(talk("Java", 60))))
+        .scheduleEvent(new Lunch())
+        .build()
+
+    expect: "Expected rows"
+      renderer.apply(set(track)) == [
+        "track,start,end,title,minutes,type",
+        "1,09:00,10:00,Java,60,talk",
+        "1,10:00,11:00,Lunch,60,lunch",
+        ""
+      ].join("\r\n")
+  }
+
+  def "Title should be quoted only when required"() {
+
+    given: "Track with talk of given title"
+      def track = ConferenceTrack.builder()
+        .scheduleSequence(MorningSession.of(set(talk(title, 30))))
+        .build()
+
+    expect: "Field of title to be expected"
+      renderer.apply(set(track)).readLines()[1] == "1,09:00,09:30,${field},30,talk"
+
+    where:
+      title             | field
+      "Plain title"     | "Plain title"
+      "Maven, Gradle"   | '"Maven, Gradle"'
+      'Say "Hi"'        | '"Say ""Hi"""'
+  }
+}
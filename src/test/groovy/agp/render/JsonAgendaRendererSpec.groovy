@@ -0,0 +1,67 @@
+package agp.render
+
+import agp.scheduler.ConferenceAgendaSchedulerImpl
+import agp.vo.ConferenceTrack
+import agp.vo.Lunch
+import agp.vo.MorningSession
+import agp.vo.NetworkingEvent
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+import static agp.Utils.set
+import static agp.Utils.talk
+import static agp.Utils.variedTalks
+
+class JsonAgendaRendererSpec extends Specification {
+
+  final def renderer = new JsonAgendaRenderer()
+
+
+  def "Track should be rendered as object with events"() {
+
+    given: "Track of talk, lunch & networking event"
+      def track = ConferenceTrack.builder()
+        .scheduleSequence(MorningSession.of(set(talk("Java", 60))))
+        .scheduleEvent(new Lunch())
+        .scheduleEvent(new NetworkingEvent())
+        .build()
+
+    when: "Agenda is rendered & parsed"
+      def json = new JsonSlurper().parseText(renderer.apply(set(track)))
+
+    then: "Expected object should be parsed"
+      json == [tracks: [[track: 1, events: [
+        [start: "09:00", end: "10:00", title: "Java", minutes: 60, type: "talk"],
+        [start: "10:00", end: "11:00", title: "Lunch", minutes: 60, type: "lunch"],
+        [start: "11:00", end: "13:00", title: "Networking event", minutes: 120, type: "networking"]
+      ]]]]
+  }
+
+  def "Titles should be escaped"() {
+
+    given: "Track with talk of special characters in title"
+      def track = ConferenceTrack.builder()
+        .scheduleSequence(MorningSession.of(set(talk(title, 30))))
+        .build()
+
+    expect: "Title to be parsed back"
+      new JsonSlurper().parseText(renderer.apply(set(track))).tracks[0].events[0].title == title
+
+    where:
+      title << ['Say "Hi"', 'C:\\Temp', "Tab\tinside", "Bell\u0007inside", "Юникод & emoji \uD83D\uDE00"]
+  }
+
+  def "Each talk of agenda should be rendered"() {
+
+    given: "Agenda of many tracks"
+      def talks = variedTalks(300, 7)
+      def tracks = new ConferenceAgendaSchedulerImpl().apply(talks)
+
+    when: "Agenda is rendered & parsed"
+      def json = new JsonSlurper().parseText(renderer.apply(tracks))
+
+    then: "All tracks & talks should be present"
+      json.tracks*.track == (1..tracks.size()).toList()
+      json.tracks.collectMany { it.events.findAll { it.type == "talk" } }*.title.toSet() == talks*.title.toSet()
+  }
+}
@@ -0,0 +1,85 @@
+package agp.render
+
+import agp.scheduler.ConferenceAgendaSchedulerImpl
+import agp.vo.AfternoonSession
+import agp.vo.ConferenceTrack
+import agp.vo.Lunch
+import agp.vo.MorningSession
+import agp.vo.NetworkingEvent
+import spock.lang.Specification
+
+import java.time.format.DateTimeFormatter
+
+import static agp.Utils.set
+import static agp.Utils.talk
+import static agp.Utils.variedTalks
+
+class TextAgendaRendererSpec extends Specification {
+
+  final def renderer = new TextAgendaRenderer()
+
+  final def separator = System.lineSeparator()
+
+
+  def "Track should be rendered as lines of events"() {
+
+    given: "Track of talks, lunch & networking event"
+      def track = ConferenceTrack.builder()
+        .scheduleSequence(MorningSession.of(set(talk("Java", 60))))
+        .scheduleEvent(new Lunch())
+        .scheduleSequence(AfternoonSession.of(set(talk("Rails", 5))))
+        .scheduleEvent(new NetworkingEvent())
+        .build()
+
+    expect: "Expected text"
+      renderer.apply(set(track)) == [
+        "",
+        "Track 1:",
+        "09:00 AM Java 60min",
+        "10:00 AM Lunch ",
+        "11:00 AM Rails lightning",
+        "11:05 AM Networking event ",
+        "",
+        ""
+      ].join(separator)
+  }
+
+  def "Agenda should be rendered the same as by formatting of each event"() {
+
+    given: "Agenda of many tracks"
+      def tracks = new ConferenceAgendaSchedulerImpl().apply(variedTalks(300, 7))
+
+    expect: "Text to be equal to the one built by formatter"
+      renderer.apply(tracks) == formatted(tracks)
+  }
+
+  def "Agenda should be streamed into writer"() {
+
+    given: "Some agenda & writer"
+      def tracks = new ConferenceAgendaSchedulerImpl().apply((1..50).collect { talk("Talk ${it}", 30) }.toSet())
+      def out = new StringWriter()
+
+    when: "Agenda is rendered into writer"
+      renderer.render(tracks, out)
+
+    then: "Written text should be the same as returned one"
+      out.toString() == renderer.apply(tracks)
+  }
+
+  /* Straightforward formatting of the text format */
+
+  private String formatted(Set<ConferenceTrack> tracks) {
+    def formatter = DateTimeFormatter.ofPattern("hh:mm a")
+    def text = new StringBuilder(separator)
+    tracks.eachWithIndex { track, i ->
+      text.append("Track ${i + 1}:").append(separator)
+      track.events().each { event ->
+        def duration = event.delegate() instanceof Lunch || event.delegate() instanceof NetworkingEvent ? "" :
+          event.duration().toMinutes() == 5 ? "lightning" : "${event.duration().toMinutes()}min"
+        text.append("${formatter.format(event.startTime())} ${event.title()} ${duration}").append(separator)
+      }
+      text.append(separator)
+    }
+    text.toString()
+  }
+}
@@ -0,0 +1,76 @@
+package agp.scheduler
+
+import agp.util.TalksHistogram
+import agp.vo.Talk
+import spock.lang.Specification
+
+import java.time.Duration
+
+import static agp.Utils.*
+
+class AfternoonTalksPackerSpec extends Specification {
+
+  final def packer = new AfternoonTalksPacker(Duration.ofHours(4))
+
+
+  def "Exception should be thrown when talks can't fit into sessions"() {
+
+    when: "Packer is applied"
+      packer.pack(talks, sessionsNumber)
+
+    then: "Exception should be thrown"
+      thrown(SchedulingException)
+
+    where: "Talks are longer then all sessions or can't be split among them"
+      talks                                          | sessionsNumber
+      nHourTalks(5)                                  | 1
+      (1..9).collect { talk("Title ${it}", 50) } as Set | 2
+  }
+
+  def "Each session should fit maximum duration & all talks should be packed"() {
+
+    when: "Packer is applied"
+      List<Set<Talk>> sessions = packer.pack(talks, sessionsNumber)
+
+    then: "Number of sessions should be expected"
+      sessions.size() == sessionsNumber
+
+    and: "Each session should fit 4 hours"
+      sessions.every { minutesOf(it) <= 240 }
+
+    and: "Each talk should be packed exactly once"
+      sessions.sum { it.size() } == talks.size()
+      sessions.collectMany { it }.toSet() == talks
+
+    where: "Talks fit into sessions"
+      talks                                                            | sessionsNumber
+      nHourTalks(4)                                                    | 1
+      nHourTalks(8)                                                    | 2
+      (1..15).collect { talk("Title ${it}", 45) } as Set               | 3
+      variedTalks(100, 7)                                              | 15
+  }
+
+  def "Sessions should be balanced"() {
+
+    when: "Packer is applied to talks enough to fill 3 sessions by half"
+      List<Set<Talk>> sessions = packer.pack(nHourTalks(6), 3)
+
+    then: "Each session should have 2 talks"
+      sessions.every { it.size() == 2 }
+  }
+
+  def "Each session should fit its own maximum duration"() {
+
+    when: "Talks are packed into sessions of different durations"
+      List<Set<Talk>> sessions = AfternoonTalksPacker.packInto(TalksHistogram.of(nHourTalks(6)), [60, 180, 120] as int[])
+
+    then: "Sessions to be filled up in order of their durations"
+      sessions*.size() == [1, 3, 2]
+  }
+
+  /* utils */
+
+  def minutesOf(Set<Talk> talks) {
+    talks.sum(0) { it.duration().toMinutes() }
+  }
+}
@@ -1,5 +1,6 @@
 package agp.scheduler
 
+import agp.util.Budget
 import agp.vo.ConferenceTrack
 import agp.vo.ConferenceTrack.ScheduledEvent
 import agp.vo.Lunch
@@ -7,12 +8,22 @@ import agp.vo.NetworkingEvent
 import agp.vo.Talk
 import spock.lang.Specification
 
+import java.time.Duration
 import java.time.LocalTime
+import java.util.function.Function
 
 import static agp.Utils.*
 
 class ConferenceAgendaSchedulerImplSpec extends Specification {
 
+  def "Default morning sessions scheduler should be JointMorningSessionsSchedulerImpl"() {
+
+    expect: "JointMorningSessionsSchedulerImpl as default morning sessions scheduler"
+      new ConferenceAgendaSchedulerImpl()
+        .morningSessionsSchedulerFactory()
+        .apply(2) instanceof JointMorningSessionsSchedulerImpl
+  }
+
   def "Exception should be thrown when overall duration of talks is <= 3 hours"() {
 
     given: "Some valid scheduler instance"
@@ -79,6 +90,22 @@ class ConferenceAgendaSchedulerImplSpec extends Specification {
       nHourTalks(15) | 3
   }
 
+  def "Smallest number of tracks should be found when afternoon talks don't fit estimated one"() {
+
+    given: "Some valid scheduler instance"
+      def scheduler = new ConferenceAgendaSchedulerImpl()
+
+    and: "Talks of 2 tracks by duration, but at most 7 of them fit morning & afternoon session"
+      def talks = nHourTalks(9) + (1..6).collect { talk("Short ${it}", 50) }.toSet()
+
+    when: "Scheduler is applied"
+      Set<ConferenceTrack> tracks = scheduler.apply(talks)
+
+    then: "3 tracks should be scheduled with all talks"
+      tracks.size() == 3
+      tracks.collectMany { it.talks() }.toSet() == talks
+  }
+
   def "No talks should be left unused"() {
 
     given: "Some valid scheduler instance"
@@ -141,6 +168,75 @@ class ConferenceAgendaSchedulerImplSpec extends Specification {
       }
   }
 
+  def "Each talk of large catalog should be scheduled before 5:00 PM"() {
+
+    given: "Some valid scheduler instance"
+      def scheduler = new ConferenceAgendaSchedulerImpl()
+
+    and: "Large catalog of talks of various durations"
+      def talks = variedTalks(100)
+
+    when: "Scheduler is applied"
+      Set<ConferenceTrack> tracks = scheduler.apply(talks)
+
+    then: "All talks should be used"
+      tracks.collectMany { it.talks() }.toSet() == talks
+
+    and: "Each track should end with networking event at 5:00 PM or earlier"
+      tracks.each { assert hasExactlyOneNetworkingEvent(it) }
+  }
+
+  def "Huge catalog should be scheduled in terms of distinct durations"() {
+
+    given: "Some valid scheduler instance"
+      def scheduler = new ConferenceAgendaSchedulerImpl()
+
+    and: "Huge catalog of talks of few distinct durations"
+      def talks = variedTalks(19995)
+
+    when: "Scheduler is applied"
+      Set<ConferenceTrack> tracks = scheduler.apply(talks)
+
+    then: "All talks should be used exactly once"
+      tracks.sum { it.talks().size() } == talks.size()
+      tracks.collectMany { it.talks() }.toSet() == talks
+
+    and: "Each track should end with networking event at 5:00 PM or earlier"
+      tracks.each { assert hasExactlyOneNetworkingEvent(it) }
+  }
+
+  def "Agenda should be scheduled within budget left"() {
+
+    when: "Scheduler is applied within budget"
+      def tracks = new ConferenceAgendaSchedulerImpl().apply(nHourTalks(14), budget)
+
+    then: "Agenda should be scheduled"
+      tracks.size() == 2
+
+    where:
+      budget << [Budget.unlimited(), Budget.of(Duration.ofMinutes(1))]
+  }
+
+  def "Exception with partial result should be thrown when budget is exhausted"() {
+
+    given: "Talks of several tracks"
+      def talks = nHourTalks(14)
+
+    when: "Scheduler is applied within exhausted budget"
+      scheduler.apply(talks, Budget.of(Duration.ZERO))
+
+    then: "Timeout should be reported with all talks left unscheduled"
+      def ex = thrown(SchedulingTimeoutException)
+      ex.partialResult().sessions().isEmpty()
+      ex.partialResult().unusedTalks() == talks
+
+    where: "Morning sessions are scheduled jointly or one by one"
+      scheduler << [
+        new ConferenceAgendaSchedulerImpl(),
+        new ConferenceAgendaSchedulerImpl("oneByOne", { Integer n -> new MorningSessionsSchedulerImpl(n) } as Function)
+      ]
+  }
+
   /* utils */
 
   def hasExactlyOneLunch(ConferenceTrack track) {
@@ -181,4 +277,4 @@ class ConferenceAgendaSchedulerImplSpec extends Specification {
       event.startTime().isAfter(LocalTime.of(13, 0)) &&
       event.endTime().isBefore(LocalTime.of(17, 1))
   }
-}
\ No newline at end of file
+}
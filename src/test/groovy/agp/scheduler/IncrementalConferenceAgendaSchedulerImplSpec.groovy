@@ -0,0 +1,164 @@
+package agp.scheduler
+
+import agp.vo.ConferenceTrack
+import agp.vo.ConferenceTrack.ScheduledEvent
+import agp.vo.Lunch
+import agp.vo.MorningSession
+import agp.vo.NetworkingEvent
+import agp.vo.Talk
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.LocalTime
+
+import static agp.Utils.*
+import static agp.scheduler.IncrementalConferenceAgendaScheduler.Change
+
+class IncrementalConferenceAgendaSchedulerImplSpec extends Specification {
+
+  final def scheduler = new IncrementalConferenceAgendaSchedulerImpl()
+
+  final def talks = variedTalks(100)
+
+  final Set<ConferenceTrack> agenda = new ConferenceAgendaSchedulerImpl().apply(talks)
+
+
+  def "Removed afternoon talk should only leave its track"() {
+
+    given: "Some talk of afternoon session"
+      def track = agenda.find { !afternoonTalksOf(it).isEmpty() }
+      def removedTalk = afternoonTalksOf(track).first()
+
+    when: "Talk is removed"
+      Set<ConferenceTrack> newAgenda = scheduler.apply(agenda, Change.removing([removedTalk] as Set))
+
+    then: "All other talks should be scheduled"
+      talksOf(newAgenda) == talks - removedTalk
+      newAgenda.every { isValid(it) }
+
+    and: "All other tracks should be kept"
+      newAgenda.size() == agenda.size()
+      newAgenda.containsAll(agenda.findAll { !it.is(track) })
+  }
+
+  def "Removed morning talk should lead to re-solve of at most two tracks"() {
+
+    given: "Some talk of morning session"
+      def removedTalk = morningTalksOf(agenda.first()).first()
+
+    when: "Talk is removed"
+      Set<ConferenceTrack> newAgenda = scheduler.apply(agenda, Change.removing([removedTalk] as Set))
+
+    then: "All other talks should be scheduled exactly once"
+      talksOf(newAgenda) == talks - removedTalk
+      newAgenda.sum { it.talks().size() } == talks.size() - 1
+      newAgenda.every { isValid(it) }
+
+    and: "At least all tracks except two should be kept"
+      newAgenda.intersect(agenda).size() >= agenda.size() - 2
+  }
+
+  def "Added talk should be placed without re-solving other tracks"() {
+
+    given: "Some new talk"
+      def addedTalk = talk("New Talk", 5)
+
+    when: "Talk is added"
+      Set<ConferenceTrack> newAgenda = scheduler.apply(agenda, Change.adding([addedTalk] as Set))
+
+    then: "All talks should be scheduled exactly once"
+      talksOf(newAgenda) == talks + addedTalk
+      newAgenda.sum { it.talks().size() } == talks.size() + 1
+      newAgenda.every { isValid(it) }
+
+    and: "At least all tracks except two should be kept"
+      newAgenda.intersect(agenda).size() >= agenda.size() - 2
+  }
+
+  def "Added talk should not make afternoon session longer then its maximum"() {
+
+    given: "Tracks of afternoon sessions of 170 & 120 minutes"
+      def fuller = newTrack([talk("A", 60), talk("B", 60), talk("C", 60)], [talk("D", 60), talk("E", 60), talk("F", 50)])
+      def emptier = newTrack([talk("G", 60), talk("H", 60), talk("I", 60)], [talk("J", 60), talk("K", 60)])
+
+    and: "Scheduler of afternoon sessions up to 3 hours"
+      def shorterAfternoons = new IncrementalConferenceAgendaSchedulerImpl(
+        new ConferenceAgendaSchedulerImpl(), Duration.ofHours(3)
+      )
+
+    when: "Talk of 30 minutes is added"
+      Set<ConferenceTrack> newAgenda = shorterAfternoons.apply(set(fuller, emptier), Change.adding([talk("New Talk", 30)] as Set))
+
+    then: "Talk should go to session still having room for it"
+      newAgenda.contains(fuller)
+      newAgenda.every { afternoonTalksOf(it).sum { it.duration().toMinutes() } <= 180 }
+  }
+
+  def "Agenda should be scheduled from scratch when local repair fails"() {
+
+    given: "Agenda of the only full track"
+      def fullAgenda = new ConferenceAgendaSchedulerImpl().apply(nHourTalks(7))
+
+    when: "One more talk is added"
+      Set<ConferenceTrack> newAgenda = scheduler.apply(fullAgenda, Change.adding([talk("New Talk", 60)] as Set))
+
+    then: "New track should be scheduled"
+      newAgenda.size() == 2
+      talksOf(newAgenda) == nHourTalks(7) + talk("New Talk", 60)
+      newAgenda.every { isValid(it) }
+  }
+
+  def "Exception should be thrown for invalid change"() {
+
+    when: "Invalid change is applied"
+      scheduler.apply(agenda, change)
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+
+    where: "Talk is removed before being scheduled or added twice"
+      change << [
+        Change.removing([talk("Unknown Talk", 30)] as Set),
+        Change.adding([talk("Title 1", 5 + 13)] as Set)
+      ]
+  }
+
+  def "Exception should be thrown when talk is both added & removed"() {
+
+    when: "Change is created"
+      new Change([talk("Title", 30)] as Set, [talk("Title", 30)] as Set)
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+
+  /* utils */
+
+  def newTrack(List<Talk> morningTalks, List<Talk> afternoonTalks) {
+    ConferenceAgendaSchedulerImpl.newConferenceTrack(MorningSession.of(morningTalks.toSet()), afternoonTalks.toSet())
+  }
+
+  def talksOf(Set<ConferenceTrack> tracks) {
+    tracks.collectMany { it.talks() }.toSet()
+  }
+
+  def morningTalksOf(ConferenceTrack track) {
+    track.takeWhile { !(it.delegate() instanceof Lunch) }.collect { it.delegate() as Talk }
+  }
+
+  def afternoonTalksOf(ConferenceTrack track) {
+    track.dropWhile { !(it.delegate() instanceof Lunch) }.findAll { it.delegate() instanceof Talk }.collect { it.delegate() as Talk }
+  }
+
+  def isValid(ConferenceTrack track) {
+    track.hasExactlyOne { isLunch(it) } && track.hasExactlyOne { isNetworking(it) }
+  }
+
+  def isLunch(ScheduledEvent event) {
+    event.delegate() instanceof Lunch && event.startTime() == LocalTime.of(12, 0)
+  }
+
+  def isNetworking(ScheduledEvent event) {
+    event.delegate() instanceof NetworkingEvent && event.startTime().isBefore(LocalTime.of(17, 1))
+  }
+}
@@ -0,0 +1,169 @@
+package agp.scheduler
+
+import agp.vo.Talk
+import spock.lang.Specification
+
+import java.time.Duration
+
+import static agp.Utils.*
+import static java.util.Collections.emptySet
+
+class JointMorningSessionsSchedulerImplSpec extends Specification {
+
+  def "Default session goal duration should be 3 hours"() {
+
+    expect: "Sessions of 3 hours by default"
+      scheduler.sessionGoalDuration() == Duration.ofHours(3)
+
+    where: "Scheduler has default session goal duration"
+      scheduler << [
+        new JointMorningSessionsSchedulerImpl(2),
+        JointMorningSessionsSchedulerImpl.builder().requiredSessionsNumber(2).build()
+      ]
+  }
+
+  def """Exception should be thrown when given number of talks
+      is less then required number of morning sessions"""() {
+
+    given: "Some valid scheduler instance"
+      def scheduler = new JointMorningSessionsSchedulerImpl(2)
+
+    when: "Scheduler is applied"
+      scheduler.apply(availableTalks)
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+
+    where: "Number of available talks is < required number of sessions"
+      availableTalks << [emptySet(), set(talk("Title 1", 60))]
+  }
+
+  def "Exception should be thrown when it's not possible to create required number of sessions"() {
+
+    given: "Scheduler of two 1 hour sessions"
+      def scheduler = JointMorningSessionsSchedulerImpl
+        .using(Duration.ofHours(1))
+        .requiredSessionsNumber(2)
+        .build()
+
+    when: "Scheduler is applied to talks enough for one session only"
+      scheduler.apply(set(
+        talk("Title 1", 30), talk("Title 2", 30), talk("Title 3", 25), talk("Title 4", 25)
+      ))
+
+    then: "Exception should be thrown"
+      thrown(SchedulingException)
+  }
+
+  def "Sessions should be found when first possible session leaves no way to fill the second one"() {
+
+    given: "Talks for two 1 hour sessions where first possible session is 25 + 25 + 10"
+      def talks = set(
+        talk("Title 1", 25), talk("Title 2", 25), talk("Title 3", 20), talk("Title 4", 20),
+        talk("Title 5", 15), talk("Title 6", 15), talk("Title 7", 10)
+      )
+
+    and: "Greedy & joint schedulers of two 1 hour sessions"
+      def greedyScheduler = MorningSessionsSchedulerImpl
+        .using(MorningSessionSchedulerImpl.using(Duration.ofHours(1)).build())
+        .requiredSessionsNumber(2)
+        .build()
+      def jointScheduler = JointMorningSessionsSchedulerImpl
+        .using(Duration.ofHours(1))
+        .requiredSessionsNumber(2)
+        .build()
+
+    when: "Greedy scheduler is applied"
+      greedyScheduler.apply(talks)
+
+    then: "It should fail"
+      thrown(SchedulingException)
+
+    when: "Joint scheduler is applied"
+      def result = jointScheduler.apply(talks)
+
+    then: "Both sessions should be 25 + 20 + 15"
+      result.sessions().size() == 2
+      result.sessions().every { it.duration() == Duration.ofHours(1) && it.size() == 3 }
+
+    and: "Only 10 minutes talk should be unused"
+      result.unusedTalks() == set(talk("Title 7", 10))
+  }
+
+  def "Each talk should be used at most once"() {
+
+    given: "Scheduler of 3 hours sessions"
+      def scheduler = new JointMorningSessionsSchedulerImpl(sessionsNumber)
+
+    when: "Scheduler is applied"
+      def result = scheduler.apply(talks)
+      def sessionTalks = result.sessions().collectMany { it.events() as List<Talk> }
+
+    then: "Each session should be 3 hours long"
+      result.sessions().size() == sessionsNumber
+      result.sessions().every { it.duration() == Duration.ofHours(3) }
+
+    and: "All talks should be either in sessions or unused"
+      sessionTalks.toSet().size() == sessionTalks.size()
+      (sessionTalks + result.unusedTalks()).toSet() == talks
+
+    where: "Talks are enough for required number of sessions"
+      sessionsNumber | talks
+      1              | nHourTalks(4)
+      3              | nHourTalks(15)
+      20             | variousTalks(300)
+  }
+
+  def "States failed for fewer sessions should not be explored again by schedulers sharing search"() {
+
+    given: "Talks of enough minutes for 4 sessions of 1 hour, but only 35 + 25 fill one"
+      def talks = set(
+        talk("Title 1", 35), talk("Title 2", 35), talk("Title 3", 35), talk("Title 4", 35),
+        talk("Title 5", 25), talk("Title 6", 25), talk("Title 7", 50), talk("Title 8", 50)
+      )
+
+    and: "Schedulers of 1 hour sessions sharing search"
+      def memo = new JointMorningSessionsSchedulerImpl.SearchMemo()
+      def schedulerOf = { Integer n ->
+        JointMorningSessionsSchedulerImpl.using(Duration.ofHours(1)).requiredSessionsNumber(n).searchMemo(memo).build()
+      }
+
+    when: "3 sessions are scheduled"
+      schedulerOf(3).apply(talks)
+
+    then: "It should fail after some combinations explored"
+      thrown(SchedulingException)
+      def explored = memo.exploredCombinations()
+      explored > 0
+
+    when: "4 sessions are scheduled for the same talks"
+      schedulerOf(4).apply(talks)
+
+    then: "It should fail without any combination explored"
+      thrown(SchedulingException)
+      memo.exploredCombinations() == explored
+
+    when: "2 sessions are scheduled for the same talks"
+      def result = schedulerOf(2).apply(talks)
+
+    then: "Sessions should be found"
+      result.sessions().size() == 2
+  }
+
+  def "Schedulers sharing search should find sessions for other talks"() {
+
+    given: "Factory of schedulers sharing search"
+      def factory = JointMorningSessionsSchedulerImpl.sharingSearch()
+
+    expect: "Sessions for different talks"
+      factory.apply(1).apply(nHourTalks(4)).sessions().size() == 1
+      factory.apply(2).apply(variousTalks(60)).sessions().size() == 2
+      factory.apply(3).apply(nHourTalks(9)).sessions().size() == 3
+  }
+
+  /* utils */
+
+  def variousTalks(int n) {
+    (1..n).collect { talk("Title ${it}", [5, 15, 25, 30, 45, 60][it % 6]) }.toSet()
+  }
+}
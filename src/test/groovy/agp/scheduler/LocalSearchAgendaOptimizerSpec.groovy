@@ -0,0 +1,154 @@
+package agp.scheduler
+
+import agp.vo.ConferenceTrack
+import agp.vo.Lunch
+import agp.vo.MorningSession
+import agp.vo.Talk
+import spock.lang.Specification
+
+import java.time.Duration
+
+import static agp.Utils.talk
+import static agp.Utils.variedTalks
+import static agp.scheduler.ConferenceAgendaSchedulerImpl.newConferenceTrack
+
+class LocalSearchAgendaOptimizerSpec extends Specification {
+
+  final def talks = variedTalks(300)
+
+  final Set<ConferenceTrack> agenda = new ConferenceAgendaSchedulerImpl().apply(talks)
+
+  final def optimizer = LocalSearchAgendaOptimizer.builder()
+    .timeLimit(Duration.ofSeconds(10))
+    .restartsNumber(2)
+    .iterationsPerRestart(50_000)
+    .build()
+
+
+  def "Optimized agenda should keep all talks & shape of tracks"() {
+
+    when: "Agenda is optimized"
+      def optimized = optimizer.apply(agenda)
+
+    then: "Each talk should be scheduled exactly once"
+      optimized.sum { it.talks().size() } == talks.size()
+      optimized.collectMany { it.talks() }.toSet() == talks
+
+    and: "Sessions should keep their limits"
+      optimized.every { minutesOf(morningTalksOf(it)) == 180 && minutesOf(afternoonTalksOf(it)) <= 240 }
+  }
+
+  def "Afternoon sessions should become balanced"() {
+
+    when: "Agenda is optimized"
+      def optimized = optimizer.apply(agenda)
+
+    then: "Number of tracks should not grow"
+      optimized.size() <= agenda.size()
+
+    and: "Afternoon sessions should differ by less then the shortest talk"
+      spreadOf(optimized) < 5
+      spreadOf(optimized) <= spreadOf(agenda)
+  }
+
+  def "Track should be eliminated when its talks fit into other tracks"() {
+
+    given: "Agenda of three tracks fitting into two"
+      def tracks = [
+        track(["A1", "A2", "A3"], ["A4"]),
+        track(["B1", "B2", "B3"], ["B4"]),
+        track(["C1", "C2", "C3"], [])
+      ].toSet()
+
+    when: "Agenda is optimized"
+      def optimized = optimizer.apply(tracks)
+
+    then: "Two tracks with all talks should be left"
+      optimized.size() == 2
+      optimized.collectMany { it.talks() }.size() == 11
+      optimized.every { minutesOf(afternoonTalksOf(it)) == 120 }
+  }
+
+  def "Afternoon sessions should not become longer then their maximum"() {
+
+    given: "Agenda of three tracks fitting into two only with afternoons longer then 90 minutes"
+      def tracks = [
+        track(["A1", "A2", "A3"], ["A4"]),
+        track(["B1", "B2", "B3"], ["B4"]),
+        track(["C1", "C2", "C3"], [])
+      ].toSet()
+
+    and: "Optimizer of afternoon sessions up to 90 minutes"
+      def shorterAfternoons = LocalSearchAgendaOptimizer.builder().maxAfternoonSessionDuration(Duration.ofMinutes(90)).build()
+
+    when: "Agenda is optimized"
+      def optimized = shorterAfternoons.apply(tracks)
+
+    then: "No track should be eliminated & afternoons should keep their maximum"
+      optimized.size() == 3
+      optimized.every { minutesOf(afternoonTalksOf(it)) <= 90 }
+  }
+
+  def "Optimization should be reproducible for the same seed"() {
+
+    expect: "The same tracks for the same seed & iterations"
+      talksPerTrackOf(optimizer.apply(agenda)) == talksPerTrackOf(optimizer.apply(agenda))
+  }
+
+  def "Optimization should not depend on order of tracks & their talks"() {
+
+    given: "The same tracks rebuilt with new lunches & networking events in reverse order"
+      def rebuilt = new LinkedHashSet<ConferenceTrack>(agenda.toList().reverse().collect {
+        newConferenceTrack(MorningSession.of(morningTalksOf(it).reverse().toSet()), afternoonTalksOf(it).reverse().toSet())
+      })
+
+    expect: "The same tracks for the same seed & iterations"
+      talksPerTrackOf(optimizer.apply(rebuilt)) == talksPerTrackOf(optimizer.apply(agenda))
+  }
+
+  def "Optimization should stop on time limit"() {
+
+    given: "Optimizer of unlimited iterations & short time limit"
+      def limitedOptimizer = LocalSearchAgendaOptimizer.builder()
+        .timeLimit(Duration.ofMillis(100))
+        .iterationsPerRestart(Integer.MAX_VALUE)
+        .build()
+
+    when: "Agenda is optimized"
+      def startTime = System.nanoTime()
+      def optimized = limitedOptimizer.apply(agenda)
+
+    then: "It should stop soon with valid agenda"
+      System.nanoTime() - startTime < Duration.ofSeconds(5).toNanos()
+      optimized.collectMany { it.talks() }.toSet() == talks
+  }
+
+  /* utils */
+
+  private static ConferenceTrack track(List<String> morningTitles, List<String> afternoonTitles) {
+    def morningTalks = morningTitles.collect { talk(it, 60) }.toSet()
+    def afternoonTalks = afternoonTitles.collect { talk(it, 30) }.toSet() as Set<Talk>
+    newConferenceTrack(MorningSession.of(morningTalks), afternoonTalks)
+  }
+
+  private static List<Talk> morningTalksOf(ConferenceTrack track) {
+    track.takeWhile { !(it.delegate() instanceof Lunch) }.collect { it.delegate() as Talk }
+  }
+
+  private static List<Talk> afternoonTalksOf(ConferenceTrack track) {
+    track.dropWhile { !(it.delegate() instanceof Lunch) }.findAll { it.delegate() instanceof Talk }.collect { it.delegate() as Talk }
+  }
+
+  private static long minutesOf(List<Talk> talks) {
+    talks.sum(0L) { it.duration().toMinutes() } as long
+  }
+
+  private static long spreadOf(Set<ConferenceTrack> tracks) {
+    def minutes = tracks.collect { minutesOf(afternoonTalksOf(it)) }
+    minutes.max() - minutes.min()
+  }
+
+  private static Set<Set<Talk>> talksPerTrackOf(Set<ConferenceTrack> tracks) {
+    tracks.collect { it.talks() }.toSet()
+  }
+}
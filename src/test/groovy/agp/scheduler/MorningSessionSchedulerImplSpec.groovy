@@ -7,6 +7,7 @@ import spock.lang.Shared
 import spock.lang.Specification
 
 import java.time.Duration
+import java.util.stream.Stream
 
 import static agp.Utils.set
 import static agp.Utils.talk
@@ -114,12 +115,14 @@ class MorningSessionSchedulerImplSpec extends Specification {
   def newFailingKnapsackSolution() {
     Mock(KnapsackSolutionForTalks) {
       apply(*_) >> emptySet()
+      stream(*_) >> { Stream.empty() }
     }
   }
 
   def newKnapsackSolutionReturning(Answer... answers) {
     Mock(KnapsackSolutionForTalks) {
       apply(*_) >> answers.toList().toSet()
+      stream(*_) >> { answers.toList().stream() }
     }
   }
 
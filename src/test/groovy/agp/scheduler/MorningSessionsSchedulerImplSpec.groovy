@@ -1,10 +1,13 @@
 package agp.scheduler
 
+import agp.util.Budget
+import agp.util.Cancellation
 import agp.vo.MorningSession
 import agp.vo.Talk
 import spock.lang.Specification
 
 import java.time.Duration
+import java.util.function.Supplier
 
 import static agp.Utils.*
 import static java.util.Collections.emptySet
@@ -144,4 +147,30 @@ class MorningSessionsSchedulerImplSpec extends Specification {
   def morningSessionSchedulerResult(MorningSession session, Set<Talk> unusedTalks) {
     new MorningSessionScheduler.Result(session, unusedTalks)
   }
-}
\ No newline at end of file
+
+  def "Sessions scheduled so far should be partial result when budget is exhausted"() {
+
+    given: "Budget cancelled on scheduling of the third session"
+      def budget = Budget.unlimited()
+      def sessionScheduler = MorningSessionSchedulerImpl.using(Duration.ofHours(1)).build()
+      def calls = 0
+      def cancellingScheduler = { Set<Talk> talks ->
+        if (++calls == 3) {
+          budget.cancel()
+          Cancellation.checkpoint()
+        }
+        sessionScheduler.apply(talks)
+      } as MorningSessionScheduler
+
+    and: "Scheduler of 3 sessions using it"
+      def scheduler = MorningSessionsSchedulerImpl.using(cancellingScheduler).requiredSessionsNumber(3).build()
+
+    when: "Scheduler is applied within budget"
+      Cancellation.within(budget, { scheduler.apply(nHourTalks(4)) } as Supplier)
+
+    then: "Partial result should hold two sessions & unused talks"
+      def ex = thrown(SchedulingTimeoutException)
+      ex.partialResult().sessions().size() == 2
+      ex.partialResult().unusedTalks().size() == 2
+  }
+}
@@ -0,0 +1,153 @@
+package agp.scheduler
+
+import agp.vo.ConferenceTrack
+import agp.vo.Lunch
+import agp.vo.NetworkingEvent
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.LocalTime
+import java.util.concurrent.Callable
+import java.util.concurrent.Future
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+import static agp.Utils.*
+
+class PartitionedConferenceAgendaSchedulerSpec extends Specification {
+
+  /* Records numbers of partitions scheduled at once */
+  @Shared
+  def rounds = []
+
+  @Shared
+  def executor = new ThreadPoolExecutor(4, 4, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>()) {
+    @Override
+    def <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) {
+      rounds.add(tasks.size())
+      super.invokeAll(tasks)
+    }
+  }
+
+
+  def setup() {
+    rounds.clear()
+  }
+
+  def cleanupSpec() {
+    executor.shutdownNow()
+  }
+
+  def "Tracks of each day & room should follow default template"() {
+
+    given: "Scheduler of 2 days with 2 rooms each"
+      def scheduler = new PartitionedConferenceAgendaScheduler(ConferenceShape.of(2, 2).build(), executor)
+      def talks = nHourTalks(24)
+
+    when: "Scheduler is applied"
+      def days = scheduler.schedule(talks)
+
+    then: "Track for each day & room"
+      days.size() == 2
+      days.every { it.size() == 2 }
+
+    and: "All talks to be scheduled once"
+      List<ConferenceTrack> tracks = days.collectMany { it }
+      tracks.collectMany { it.talks() }.size() == 24
+      tracks.collectMany { it.talks() }.toSet() == talks
+
+    and: "Morning session of 3 hours, lunch, afternoon session & networking event in each track"
+      tracks.every { track ->
+        def lunchIndex = (0..<track.size()).find { track.event(it) instanceof Lunch }
+        track.startMinute(0) == 9 * 60 && track.startMinute(lunchIndex) == 12 * 60 &&
+          track.event(track.size() - 1) instanceof NetworkingEvent &&
+          track.startMinute(track.size() - 1) <= 17 * 60
+      }
+
+    and: "All tracks scheduled in one round"
+      rounds == [4]
+  }
+
+  def "Tracks should follow custom template"() {
+
+    given: "Template of exactly filled sessions & session filled up to its duration"
+      def template = TrackTemplate.startingAt(LocalTime.of(10, 0))
+        .sessionOf(Duration.ofMinutes(90))
+        .event({ new Lunch(Duration.ofMinutes(30)) })
+        .sessionOf(Duration.ofMinutes(60))
+        .sessionUpTo(Duration.ofMinutes(45))
+        .build()
+      def shape = ConferenceShape.builder().rooms(3).trackTemplate(template).build()
+      def talks = (1..6).collect { talk("Long $it", 45) } + (1..6).collect { talk("Short $it", 30) }
+
+    when: "Scheduler is applied"
+      def tracks = new PartitionedConferenceAgendaScheduler(shape, executor).apply(talks.toSet())
+
+    then: "Tracks of 3 rooms with all talks"
+      tracks.size() == 3
+      tracks.collectMany { it.talks() }.toSet() == talks.toSet()
+
+    and: "Lunch of 30 minutes right after session of 90 minutes"
+      tracks.every { track ->
+        def lunchIndex = (0..<track.size()).find { track.event(it) instanceof Lunch }
+        track.startMinute(0) == 10 * 60 && track.startMinute(lunchIndex) == 11 * 60 + 30 &&
+          track.endMinute(lunchIndex) == 12 * 60 && track.endMinute(track.size() - 1) <= 13 * 60 + 45
+      }
+  }
+
+  def "Failed partition should be merged with its neighbour & scheduled again"() {
+
+    given: "Talks dealt so that one track can't fill its session of 60 minutes"
+      def template = TrackTemplate.startingAt(LocalTime.of(9, 0))
+        .sessionOf(Duration.ofMinutes(60))
+        .sessionUpTo(Duration.ofMinutes(30))
+        .build()
+      def shape = ConferenceShape.builder().rooms(2).trackTemplate(template).build()
+      def talks = set(talk("A", 55), talk("B", 55), talk("C", 10), talk("D", 5), talk("E", 5))
+
+    when: "Scheduler is applied"
+      def tracks = new PartitionedConferenceAgendaScheduler(shape, executor).apply(talks)
+
+    then: "Both tracks should be scheduled with all talks"
+      tracks.size() == 2
+      tracks.collectMany { it.talks() }.toSet() == talks
+
+    and: "Tracks rescheduled jointly as one partition"
+      rounds == [2, 1]
+  }
+
+  def "Exception should be thrown when all tracks together can't be scheduled"() {
+
+    given: "Talks which can't fill sessions of 60 minutes"
+      def template = TrackTemplate.startingAt(LocalTime.of(9, 0)).sessionOf(Duration.ofMinutes(60)).build()
+      def shape = ConferenceShape.builder().rooms(2).trackTemplate(template).build()
+      def talks = set(talk("A", 50), talk("B", 50), talk("C", 20))
+
+    when: "Scheduler is applied"
+      new PartitionedConferenceAgendaScheduler(shape, executor).apply(talks)
+
+    then: "Exception should be thrown after partitions are merged"
+      thrown(SchedulingException)
+      rounds == [2, 1]
+  }
+
+  def "Exception should be thrown when talks don't fit shape"() {
+
+    when: "Scheduler is applied to too many talks"
+      new PartitionedConferenceAgendaScheduler(ConferenceShape.of(1, 2).build(), executor).apply(nHourTalks(15))
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+
+  def "Exception should be thrown for template without sessions"() {
+
+    when: "Template of events only is built"
+      TrackTemplate.startingAt(LocalTime.of(9, 0)).event({ new Lunch() }).build()
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+}
@@ -0,0 +1,132 @@
+package agp.scheduler
+
+import agp.util.Budget
+import agp.vo.ConferenceTrack
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import static agp.Utils.*
+
+class PortfolioConferenceAgendaSchedulerSpec extends Specification {
+
+  @Shared
+  def executor = Executors.newFixedThreadPool(4)
+
+
+  def cleanupSpec() {
+    executor.shutdownNow()
+  }
+
+  def "Exception should be thrown when there are no strategies"() {
+
+    when: "Scheduler is created without strategies"
+      new PortfolioConferenceAgendaScheduler([], executor)
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+
+  def "Result of default strategies should be valid agenda"() {
+
+    given: "Scheduler with default strategies"
+      def scheduler = new PortfolioConferenceAgendaScheduler()
+
+    when: "Scheduler is applied"
+      Set<ConferenceTrack> tracks = scheduler.apply(nHourTalks(15))
+
+    then: "All talks should be scheduled in expected number of tracks"
+      tracks.size() == 3
+      tracks.collectMany { it.talks() }.toSet() == nHourTalks(15)
+  }
+
+  def "Result of succeeded strategy should be returned when others fail"() {
+
+    given: "Scheduler with failing & succeeding strategies"
+      def expectedTracks = new ConferenceAgendaSchedulerImpl().apply(nHourTalks(4))
+      def scheduler = new PortfolioConferenceAgendaScheduler([
+        failingStrategy(),
+        { expectedTracks } as ConferenceAgendaScheduler,
+        failingStrategy()
+      ], executor)
+
+    expect: "Result of succeeded strategy"
+      scheduler.apply(nHourTalks(4)) == expectedTracks
+  }
+
+  def "Other strategies should be cancelled when one of them succeeded"() {
+
+    given: "Strategy which waits until it's interrupted"
+      def started = new CountDownLatch(1)
+      def interrupted = new CountDownLatch(1)
+      def endlessStrategy = {
+        started.countDown()
+        try {
+          Thread.sleep(Long.MAX_VALUE)
+        } catch (InterruptedException ignored) {
+          interrupted.countDown()
+        }
+        null
+      } as ConferenceAgendaScheduler
+
+    and: "Scheduler using it together with strategy succeeding as soon as first one is started"
+      def scheduler = new PortfolioConferenceAgendaScheduler([
+        endlessStrategy,
+        { started.await(); new ConferenceAgendaSchedulerImpl().apply(it) } as ConferenceAgendaScheduler
+      ], executor)
+
+    when: "Scheduler is applied"
+      scheduler.apply(nHourTalks(4))
+
+    then: "Endless strategy should be interrupted"
+      interrupted.await(5, TimeUnit.SECONDS)
+  }
+
+  def "Budget should be shared by all strategies"() {
+
+    given: "Scheduler with default strategies"
+      def scheduler = new PortfolioConferenceAgendaScheduler(PortfolioConferenceAgendaScheduler.defaultStrategies(), executor)
+
+    when: "Scheduler is applied within exhausted budget"
+      scheduler.apply(nHourTalks(15), Budget.of(Duration.ZERO))
+
+    then: "Timeout should be reported"
+      thrown(SchedulingTimeoutException)
+  }
+
+  def "Exception should be thrown when all strategies fail"() {
+
+    given: "Scheduler with failing strategies only"
+      def scheduler = new PortfolioConferenceAgendaScheduler(
+        [failingStrategy(), failingStrategy()], executor
+      )
+
+    when: "Scheduler is applied"
+      scheduler.apply(nHourTalks(4))
+
+    then: "Exception should be thrown"
+      thrown(SchedulingException)
+  }
+
+  def "Exception should be thrown for invalid talks"() {
+
+    given: "Scheduler with default strategies"
+      def scheduler = new PortfolioConferenceAgendaScheduler()
+
+    when: "Scheduler is applied to talks shorter then 3 hours"
+      scheduler.apply(nHourTalks(2))
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+
+  /* utils */
+
+  def failingStrategy() {
+    { talks -> throw new SchedulingException("Failed.") } as ConferenceAgendaScheduler
+  }
+}
@@ -0,0 +1,79 @@
+package agp.util
+
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CancellationException
+import java.util.function.Supplier
+
+class CancellationSpec extends Specification {
+
+  def "Checkpoint should pass without budget & within budget left"() {
+
+    when: "Checkpoint is reached"
+      Cancellation.checkpoint()
+      Cancellation.within(Budget.unlimited(), { Cancellation.checkpoint() } as Supplier)
+      Cancellation.within(Budget.of(Duration.ofHours(1)), { Cancellation.checkpoint() } as Supplier)
+
+    then: "Nothing should be thrown"
+      noExceptionThrown()
+  }
+
+  def "Checkpoint should stop search out of budget"() {
+
+    when: "Checkpoint is reached within exhausted budget"
+      Cancellation.within(budget, { Cancellation.checkpoint() } as Supplier)
+
+    then: "Exception should be thrown"
+      def ex = thrown(BudgetExhaustedException)
+      ex.message == message
+
+    where:
+      budget                                 | message
+      Budget.of(Duration.ZERO)               | "Time budget is exhausted."
+      Budget.unlimited().tap { it.cancel() } | "Search is cancelled."
+  }
+
+  def "Checkpoint should stop interrupted search"() {
+
+    given: "Interrupted thread"
+      Thread.currentThread().interrupt()
+
+    when: "Checkpoint is reached"
+      Cancellation.checkpoint()
+
+    then: "Exception should be thrown"
+      thrown(CancellationException)
+
+    cleanup:
+      Thread.interrupted()
+  }
+
+  def "Budget should be bound to thread only within search"() {
+
+    given: "Budgets of enclosing & nested searches"
+      def enclosing = Budget.of(Duration.ofHours(1))
+      def nested = Budget.unlimited()
+
+    when: "Nested search is run within enclosing one"
+      def budgets = Cancellation.within(enclosing, {
+        def inner = Cancellation.within(nested, { Cancellation.currentBudget() } as Supplier)
+        [inner, Cancellation.currentBudget()]
+      } as Supplier)
+
+    then: "Budget of each search should be current for it"
+      budgets == [Optional.of(nested), Optional.of(enclosing)]
+
+    and: "No budget should be left after"
+      !Cancellation.currentBudget().isPresent()
+  }
+
+  def "Remaining time should be reported for budget with deadline only"() {
+
+    expect:
+      !Budget.unlimited().remaining().isPresent()
+      Budget.of(Duration.ofHours(1)).remaining().get() > Duration.ofMinutes(59)
+      Budget.of(Duration.ZERO).remaining().get() == Duration.ZERO
+      !Budget.of(Duration.ofSeconds(Long.MAX_VALUE)).isExhausted()
+  }
+}
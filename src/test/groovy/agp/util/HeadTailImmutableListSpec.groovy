@@ -0,0 +1,59 @@
+package agp.util
+
+import spock.lang.Specification
+
+class HeadTailImmutableListSpec extends Specification {
+
+  def "Head should be first element of list"() {
+
+    expect: "Head to be first element"
+      HeadTailImmutableList.of([1, 2, 3]).head() == 1
+  }
+
+  def "Tail should consist of all elements except the first one"() {
+
+    given: "Some list"
+      def list = HeadTailImmutableList.of([1, 2, 3])
+
+    expect: "Tails to behave like lists of remaining elements"
+      list.tail() == [2, 3]
+      list.tail().head() == 2
+      list.tail().tail() == [3]
+      list.tail().tail().tail().isEmpty()
+      list.tail().tail().tail() == []
+  }
+
+  def "Taking tail should not change original list"() {
+
+    given: "Some list"
+      def list = HeadTailImmutableList.of([1, 2, 3])
+
+    when: "Tail is taken"
+      list.tail().tail()
+
+    then: "Original list should stay the same"
+      list == [1, 2, 3]
+      list.size() == 3
+  }
+
+  def "Exception should be thrown on attempt to take tail or head of empty list"() {
+
+    when: "Tail or head of empty list is taken"
+      action(HeadTailImmutableList.of([]))
+
+    then: "Exception should be thrown"
+      thrown(IndexOutOfBoundsException)
+
+    where: "Action is taking of head or tail"
+      action << [{ it.head() }, { it.tail() }]
+  }
+
+  def "List should be immutable"() {
+
+    when: "List is modified"
+      HeadTailImmutableList.of([1, 2, 3]).tail().add(4)
+
+    then: "Exception should be thrown"
+      thrown(UnsupportedOperationException)
+  }
+}
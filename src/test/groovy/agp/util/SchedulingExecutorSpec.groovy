@@ -0,0 +1,46 @@
+package agp.util
+
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.TimeUnit
+
+class SchedulingExecutorSpec extends Specification {
+
+  final def executor = new SchedulingExecutor(1)
+
+
+  def cleanup() {
+    executor.shutdownNow()
+  }
+
+  def "Tasks should be run by threads of executor"() {
+
+    when: "Tasks are invoked from outside of executor"
+      def threads = executor.invokeAll((1..3).collect { { -> Thread.currentThread() } as Callable })*.get()
+
+    then: "They should be run by its thread"
+      threads.every { it != Thread.currentThread() && it.daemon }
+  }
+
+  def "Nested tasks should be run by thread submitting them"() {
+
+    when: "Task of single thread executor invokes more tasks of it"
+      def threads = executor.submit({ ->
+        [Thread.currentThread()] + executor.invokeAll((1..3).collect { { -> Thread.currentThread() } as Callable })*.get()
+      } as Callable).get(5, TimeUnit.SECONDS)
+
+    then: "All of them should be run by the same thread without waiting for each other"
+      threads.toSet().size() == 1
+  }
+
+  def "Executor should be shut down"() {
+
+    when: "Executor is shut down"
+      executor.shutdown()
+
+    then: "It should terminate"
+      executor.awaitTermination(5, TimeUnit.SECONDS)
+      executor.isShutdown()
+  }
+}
@@ -0,0 +1,45 @@
+package agp.util
+
+import spock.lang.Specification
+
+import static agp.Utils.talk
+
+class TalkCatalogSpec extends Specification {
+
+  def "Talks should get dense ids in order of first occurrence"() {
+
+    given: "Talks with one repeated"
+      def talks = [talk("A", 30), talk("B", 60), talk("A", 30), talk("C", 5)]
+
+    when: "Catalog is made"
+      def catalog = TalkCatalog.of(talks)
+
+    then: "Each distinct talk should get its id"
+      catalog.size() == 3
+      (0..<3).collect { catalog.talk(it) } == [talk("A", 30), talk("B", 60), talk("C", 5)]
+      (0..<3).collect { catalog.minutes(it) } == [30, 60, 5]
+
+    and: "Ids should be found by talks"
+      catalog.idOf(talk("B", 60)) == 1
+      catalog.contains(talk("C", 5))
+  }
+
+  def "Talk out of catalog should have no id"() {
+
+    given: "Catalog of one talk"
+      def catalog = TalkCatalog.of([talk("A", 30)])
+
+    expect: "Other talk to be unknown"
+      catalog.idOf(talk("A", 60)) == TalkCatalog.UNKNOWN_ID
+      !catalog.contains(talk("A", 60))
+  }
+
+  def "Id out of catalog should be rejected"() {
+
+    when: "Talk of id after the last one is requested"
+      TalkCatalog.of([talk("A", 30)]).talk(1)
+
+    then: "Exception should be thrown"
+      thrown(IndexOutOfBoundsException)
+  }
+}
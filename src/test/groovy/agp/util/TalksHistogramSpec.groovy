@@ -0,0 +1,63 @@
+package agp.util
+
+import spock.lang.Specification
+
+import static agp.Utils.talk
+
+class TalksHistogramSpec extends Specification {
+
+  def "Talks should be counted per distinct duration, longest first"() {
+
+    given: "Talks of 3 distinct durations"
+      def talks = [talk("A", 30), talk("B", 60), talk("C", 30), talk("D", 5)]
+
+    when: "Histogram is built"
+      def histogram = TalksHistogram.of(talks)
+
+    then: "Durations should be distinct & descending"
+      histogram.durations() == [60, 30, 5] as int[]
+
+    and: "Counts should match durations"
+      histogram.counts() == [1, 2, 1] as int[]
+
+    and: "Totals should be sums over all talks"
+      histogram.size() == 4
+      histogram.totalMinutes() == 125
+  }
+
+  def "Talks should be taken according to pattern"() {
+
+    given: "Histogram of some talks"
+      def talks = [talk("A", 30), talk("B", 60), talk("C", 30), talk("D", 5)]
+      def histogram = TalksHistogram.of(talks)
+
+    when: "One talk of 60 & one of 30 minutes are taken"
+      def taken = histogram.take([1, 1, 0] as int[])
+
+    then: "Taken talks should have durations from pattern"
+      taken.collect { it.duration().toMinutes() }.sort() == [30, 60]
+
+    and: "Histogram should count only remaining talks"
+      histogram.counts() == [0, 1, 1] as int[]
+      histogram.totalMinutes() == 35
+
+    and: "Remaining talks should be the rest of talks"
+      histogram.takeRemaining() + taken == talks.toSet()
+      histogram.isEmpty()
+  }
+
+  def "Exception should be thrown when pattern can't be taken"() {
+
+    given: "Histogram of some talks"
+      def histogram = TalksHistogram.of([talk("A", 30), talk("B", 60)])
+
+    when: "Invalid pattern is taken"
+      histogram.take(pattern as int[])
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+
+    where: "Pattern has wrong length or too many talks"
+      pattern << [[1], [1, 1, 1], [2, 0], [0, -1]]
+  }
+}
@@ -0,0 +1,96 @@
+package agp.util.weighable
+
+import agp.util.TalkCatalog
+import spock.lang.Specification
+
+import static agp.Utils.talk
+import static agp.Utils.variedTalks
+import static agp.util.weighable.KnapsackSolutionForTalks.Answer
+
+class AnswerSpec extends Specification {
+
+  final def talks = variedTalks(130, 1).toList()
+
+  final def catalog = TalkCatalog.of(talks)
+
+
+  def "Answer should be equal to set of the same talks"() {
+
+    given: "Answer of some talks"
+      def answer = Answer.of(catalog, 0, 64, 129)
+
+    expect: "It to behave as set of talks"
+      answer.size() == 3
+      answer == [talks[0], talks[64], talks[129]].toSet()
+      [talks[0], talks[64], talks[129]].toSet() == answer
+      answer.hashCode() == [talks[0], talks[64], talks[129]].toSet().hashCode()
+      answer.contains(talks[64])
+      !answer.contains(talks[65])
+      !answer.contains("Talk 1")
+  }
+
+  def "Hash code should be the one of set of talks across catalogs & operations"() {
+
+    given: "Answers of the same talks made in different ways"
+      def other = Answer.of(TalkCatalog.of(talks.reverse()), 0, 1, 66)
+      def united = Answer.of(catalog, 63).plus(Answer.of(catalog, 64, 129))
+      def subtracted = Answer.allOf(catalog).minus(Answer.of(catalog, (0..129).findAll { it != 5 } as int[]))
+
+    expect: "Hash codes to be equal to ones of sets"
+      other == [talks[129], talks[128], talks[63]].toSet()
+      other.hashCode() == [talks[129], talks[128], talks[63]].toSet().hashCode()
+      united.hashCode() == [talks[63], talks[64], talks[129]].toSet().hashCode()
+      subtracted.hashCode() == [talks[5]].toSet().hashCode()
+      Answer.of(catalog).hashCode() == 0
+  }
+
+  def "Talks should be iterated in order of ids"() {
+
+    expect: "Ids & talks of answer to be in ascending order"
+      Answer.of(catalog, 129, 3, 64, 63).ids() == [3, 63, 64, 129] as int[]
+      Answer.of(catalog, 129, 3, 64, 63).toList() == [talks[3], talks[63], talks[64], talks[129]]
+  }
+
+  def "Answers of the same catalog should be combined"() {
+
+    given: "All talks & some of them"
+      def all = Answer.allOf(catalog)
+      def some = Answer.of(catalog, 1, 70, 100)
+
+    when: "Some talks are subtracted & added back"
+      def rest = all.minus(some)
+
+    then: "Rest should contain all other talks"
+      rest.size() == 127
+      !rest.contains(talks[70])
+      all.containsAll(rest)
+      !rest.containsAll(some)
+
+    and: "Union should give all talks back"
+      rest.plus(some) == all
+  }
+
+  def "Plain set of talks should be subtracted as well"() {
+
+    expect: "Its talks to be removed"
+      Answer.allOf(catalog).minus([talks[5], talk("Unknown", 30)].toSet()).size() == 129
+  }
+
+  def "Answers of different catalogs should not be united"() {
+
+    when: "Answers of different catalogs are united"
+      Answer.allOf(catalog).plus(Answer.allOf(TalkCatalog.of(talks)))
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+
+  def "Answer should be immutable"() {
+
+    when: "Talk is added into answer"
+      Answer.of(catalog, 1).add(talks[2])
+
+    then: "Exception should be thrown"
+      thrown(UnsupportedOperationException)
+  }
+}
@@ -0,0 +1,126 @@
+package agp.util.weighable
+
+import agp.vo.Talk
+import spock.lang.Specification
+
+import java.time.Duration
+
+import static java.util.Collections.singleton
+
+class CachingKnapsackSolutionForTalksSpec extends Specification {
+
+  def delegateCalls = 0
+
+  final def delegate = { talks, goal ->
+    delegateCalls++
+    new SimplifiedKnapsackSolutionForTalks().apply(talks, goal)
+  } as KnapsackSolutionForTalks
+
+  final def solution = new CachingKnapsackSolutionForTalks(delegate)
+
+
+  def "Exception should be thrown for invalid arguments"() {
+
+    when: "Solution is applied"
+      solution.apply(talks, goal)
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+
+    where: "Either goal is <= 0 or there are no talks"
+      talks                         | goal
+      combination(talk("Title", 5)) | Duration.ofMinutes(0)
+      combination()                 | Duration.ofMinutes(5)
+  }
+
+  def "Answer should be computed by delegate on first call"() {
+
+    when: "Solution is applied"
+      def answers = solution.apply(combination(talk("Title 1", 30), talk("Title 2", 20)), Duration.ofMinutes(50))
+
+    then: "Delegate should be used"
+      delegateCalls == 1
+
+    and: "Answer should be found"
+      answers == singleton(combination(talk("Title 1", 30), talk("Title 2", 20)))
+
+    and: "Miss should be counted"
+      solution.missCount() == 1
+      solution.hitCount() == 0
+  }
+
+  def "Cached answer should be mapped onto other talks of same durations"() {
+
+    given: "Solution applied to some talks"
+      solution.apply(combination(talk("Title 1", 30), talk("Title 2", 20), talk("Title 3", 45)), Duration.ofMinutes(50))
+
+    when: "Solution is applied to other talks of same durations"
+      def answers = solution.apply(combination(talk("Other 1", 30), talk("Other 2", 20), talk("Other 3", 45)), Duration.ofMinutes(50))
+
+    then: "Delegate should not be used once more"
+      delegateCalls == 1
+
+    and: "Answer should consist of other talks"
+      answers == singleton(combination(talk("Other 1", 30), talk("Other 2", 20)))
+
+    and: "Hit should be counted"
+      solution.hitCount() == 1
+      solution.missCount() == 1
+  }
+
+  def "Absence of answer should be cached as well"() {
+
+    given: "Solution applied to talks without answer"
+      solution.apply(combination(talk("Title 1", 30)), Duration.ofMinutes(50))
+
+    when: "Solution is applied again"
+      def answers = solution.apply(combination(talk("Other 1", 30)), Duration.ofMinutes(50))
+
+    then: "Delegate should not be used once more"
+      delegateCalls == 1
+
+    and: "There should be no answers"
+      answers.isEmpty()
+  }
+
+  def "Answer should be computed again for other goal or other durations"() {
+
+    given: "Solution applied to some talks"
+      solution.apply(combination(talk("Title 1", 30), talk("Title 2", 20)), Duration.ofMinutes(50))
+
+    when: "Solution is applied to other durations or goal"
+      solution.apply(talks, goal)
+
+    then: "Delegate should be used once more"
+      delegateCalls == 2
+
+    where: "Either goal or durations differ"
+      talks                                                    | goal
+      combination(talk("Title 1", 30), talk("Title 2", 20))    | Duration.ofMinutes(30)
+      combination(talk("Title 1", 30), talk("Title 2", 25))    | Duration.ofMinutes(50)
+  }
+
+  def "Least recently used answer should be evicted when cache is full"() {
+
+    given: "Solution with cache of size 1"
+      def solution = new CachingKnapsackSolutionForTalks(delegate, 1)
+
+    when: "Solution is applied to different talks & then to first ones again"
+      solution.apply(combination(talk("Title 1", 30)), Duration.ofMinutes(30))
+      solution.apply(combination(talk("Title 1", 20)), Duration.ofMinutes(20))
+      solution.apply(combination(talk("Title 1", 30)), Duration.ofMinutes(30))
+
+    then: "Delegate should be used each time"
+      delegateCalls == 3
+  }
+
+  /* utils */
+
+  private static Talk talk(String title, long minutes) {
+    new Talk(title, Duration.ofMinutes(minutes))
+  }
+
+  private static Set<Talk> combination(Talk... talks) {
+    Arrays.asList(talks).toSet()
+  }
+}
@@ -0,0 +1,11 @@
+package agp.util.weighable
+
+/* Same contract as for primitive int solution, but verified against general one */
+
+class GeneralKnapsackSolutionForIntsSpec extends SimplifiedKnapsackSolutionForIntsSpec {
+
+  @Override
+  def newSolution() {
+    SimplifiedKnapsackSolutionForInts.targetingGeneralSolution()
+  }
+}
@@ -1,12 +1,13 @@
 package agp.util.weighable
 
 import spock.lang.Specification
+import spock.lang.Timeout
 
 import static java.util.Collections.singletonList
 
 class SimplifiedKnapsackSolutionForIntsSpec extends Specification {
 
-  final def solution = new SimplifiedKnapsackSolutionForInts()
+  final def solution = newSolution()
 
 
   def "Solution should throw when provided input ints are invalid"() {
@@ -142,8 +143,54 @@ class SimplifiedKnapsackSolutionForIntsSpec extends Specification {
       ]
   }
 
+  def "Pruned search should give the same answers in the same order as exhaustive one"() {
+
+    given: "Pseudo-random ints"
+      def random = new Random(seed)
+      def input = (1..14).collect { 1 + random.nextInt(9) }
+
+    expect: "Answers of exhaustive enumeration"
+      solution.apply(input, 20) == exhaustiveAnswersFor(input, 20)
+
+    where:
+      seed << (1..20)
+  }
+
+  @Timeout(10)
+  def "Solution should fail fast for infeasible input"() {
+
+    expect: "No answers for goal not reachable by any combination"
+      solution.apply(input, goal).isEmpty()
+
+    where:
+      input                                   | goal
+      (1..60).collect { 7 }                   | 180
+      (1..60).collect { 51 + it % 6 }         | 180
+      (1..40).collect { it % 2 == 0 ? 4 : 6 } | 181
+  }
+
   /* utils */
 
+  private static List<List<Integer>> exhaustiveAnswersFor(List<Integer> ints, int goal) {
+    def answers = []
+    enumerate(ints.toSorted { a, b -> b <=> a }, 0, goal, [], answers)
+    answers
+  }
+
+  private static void enumerate(List<Integer> sorted, int from, int goal, List<Integer> prefix, List answers) {
+    for (int i = from; i < sorted.size(); i++) {
+      if (sorted[i] == goal) {
+        answers << prefix + sorted[i]
+      } else if (sorted[i] < goal) {
+        enumerate(sorted, i + 1, goal - sorted[i], prefix + sorted[i], answers)
+      }
+    }
+  }
+
+  def newSolution() {
+    new SimplifiedKnapsackSolutionForInts()
+  }
+
   private static List<Integer> combination(Integer... ints) {
     Arrays.asList(ints)
   }
@@ -10,6 +10,7 @@ import java.util.function.Function
 import static agp.util.weighable.KnapsackSolutionForTalks.Answer
 import static java.util.Collections.singleton
 import static java.util.Comparator.comparing
+import static java.util.stream.Collectors.toSet
 
 class SimplifiedKnapsackSolutionForTalksSpec extends Specification {
 
@@ -147,6 +148,32 @@ class SimplifiedKnapsackSolutionForTalksSpec extends Specification {
       )
   }
 
+  def "Streamed answers should be the same as applied ones"() {
+
+    given: "Combination of talks that must result in many answers"
+      def allTalks = combination(
+        talk("Title 1", 10), talk("Title 2", 10), talk("Title 3", 20),
+        talk("Title 4", 30), talk("Title 5", 50), talk("Title 6", 60),
+      )
+
+    expect: "Streamed answers to be equal to applied ones"
+      solution.stream(allTalks, Duration.ofMinutes(50)).collect(toSet()) ==
+        solution.apply(allTalks, Duration.ofMinutes(50))
+  }
+
+  def "First streamed answer should be found without enumeration of all answers"() {
+
+    given: "Combination of talks with astronomical number of answers"
+      def allTalks = (1..60).collect { talk("Title ${it}", 5) }.toSet()
+
+    when: "First answer is requested"
+      def answer = solution.stream(allTalks, Duration.ofHours(3)).findFirst()
+
+    then: "It should be found"
+      answer.isPresent()
+      answer.get().size() == 36
+  }
+
   /* utils */
 
   private static Talk talk(String title, long minutes) {
@@ -0,0 +1,146 @@
+package agp.util.weighable
+
+import agp.scheduler.MorningSessionSchedulerImpl
+import agp.vo.Talk
+import spock.lang.Specification
+
+import java.time.Duration
+
+import static java.util.Collections.singleton
+
+class SubsetSumKnapsackSolutionForTalksSpec extends Specification {
+
+  final def solution = new SubsetSumKnapsackSolutionForTalks()
+
+
+  def "Solution should throw when goal is <= 0"() {
+
+    given: "Some valid combination of talks"
+      def allTalks = combination(talk("Title 1", 30), talk("Title 2", 20))
+
+    when: "Solution is applied"
+      solution.apply(allTalks, nonPositiveGoal)
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+
+    where: "Goal is <= 0"
+      nonPositiveGoal << [
+        Duration.ofHours(0),
+        Duration.ofHours(-1),
+      ]
+  }
+
+  def "Solution should throw when there are no talks"() {
+
+    when: "Solution is applied"
+      solution.apply(combination(), Duration.ofMinutes(30))
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+
+  def "Solution should return no answers when goal can't be reached"() {
+
+    given: "Goal duration"
+      def goal = Duration.ofMinutes(30)
+
+    when: "Solution is applied"
+      def answers = solution.apply(allTalks, goal)
+
+    then: "Result should be empty"
+      answers.isEmpty()
+
+    where: "Every talk is either longer or barely shorter then goal"
+      allTalks << [
+        combination(talk("Title 1", 31)),
+        combination(talk("Title 1", 31), talk("Title 2", 31)),
+        combination(talk("Title 1", 29)),
+        combination(talk("Title 1", 29), talk("Title 2", 29)),
+      ]
+  }
+
+  def "Solution should result in one answer for talk with goal duration"() {
+
+    given: "Combination consists of one talk with goal duration"
+      def allTalks = combination(talk("Title 1", 30))
+
+    when: "Solution is applied"
+      def answers = solution.apply(allTalks, Duration.ofMinutes(30))
+
+    then: "Result should be one answer equal to only given talk"
+      answers == singleton(combination(talk("Title 1", 30)))
+  }
+
+  def "Solution should result in exactly one of possible answers"() {
+
+    when: "Solution is applied"
+      def answers = solution.apply(allTalks, goal)
+
+    then: "Result should consist of one of possible answers"
+      answers.size() == 1
+      possibleAnswers.contains(answers.first())
+
+    where: "Several combinations of talks have goal duration"
+      goal << [Duration.ofMinutes(30), Duration.ofMinutes(50)]
+      allTalks << [
+        combination(talk("Title 1", 30), talk("Title 2", 30), talk("Title 3", 25)),
+        combination( // 10, 10, 20, 30, 50, 60
+          talk("Title 1", 10), talk("Title 2", 10), talk("Title 3", 20),
+          talk("Title 4", 30), talk("Title 5", 50), talk("Title 6", 60),
+        )
+      ]
+      possibleAnswers << [
+        [
+          combination(talk("Title 1", 30)),
+          combination(talk("Title 2", 30))
+        ],
+        [
+          combination(talk("Title 5", 50)),
+          combination(talk("Title 4", 30), talk("Title 3", 20)),
+          combination(talk("Title 4", 30), talk("Title 1", 10), talk("Title 2", 10))
+        ]
+      ]
+  }
+
+  def "Solution should find morning session among many talks"() {
+
+    given: "Many talks where only few of them can fill the session"
+      def allTalks = (1..500).collect { talk("Title ${it}", 7) }.toSet() + talk("Title X", 5)
+
+    when: "Solution is applied"
+      def answers = solution.apply(allTalks, Duration.ofHours(3))
+
+    then: "Answer should fill the session exactly"
+      answers.size() == 1
+      answers.first().sum { it.duration().toMinutes() } == 180
+  }
+
+  def "Solution should be usable by morning session scheduler"() {
+
+    given: "Scheduler using this solution"
+      def scheduler = MorningSessionSchedulerImpl
+        .using(solution)
+        .sessionGoalDuration(Duration.ofMinutes(50))
+        .build()
+
+    when: "Scheduler is applied"
+      def result = scheduler.apply(combination(
+        talk("Title 1", 30), talk("Title 2", 20), talk("Title 3", 45)
+      ))
+
+    then: "Session should be created from the only possible answer"
+      result.session().events() == combination(talk("Title 1", 30), talk("Title 2", 20))
+      result.unusedTalks() == combination(talk("Title 3", 45))
+  }
+
+  /* utils */
+
+  private static Talk talk(String title, long minutes) {
+    new Talk(title, Duration.ofMinutes(minutes))
+  }
+
+  private static Set<Talk> combination(Talk... talks) {
+    Arrays.asList(talks).toSet()
+  }
+}
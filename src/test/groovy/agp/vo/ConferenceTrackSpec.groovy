@@ -0,0 +1,107 @@
+package agp.vo
+
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.LocalTime
+
+import static agp.Utils.set
+import static agp.Utils.talk
+
+class ConferenceTrackSpec extends Specification {
+
+  final def lunch = new Lunch()
+
+  final def track = ConferenceTrack.builder()
+    .scheduleSequence(MorningSession.of(set(talk("Java", 60))))
+    .scheduleEvent(talk("Groovy", 45))
+    .scheduleEvent(lunch)
+    .build()
+
+
+  def "Events should follow each other from the start of track"() {
+
+    expect: "Start & end of each event in minutes of day"
+      (0..<track.size()).collect { [track.startMinute(it), track.endMinute(it)] } ==
+        [[540, 600], [600, 645], [645, 705]]
+
+    and: "Duration of track to span all events"
+      track.duration() == Duration.ofMinutes(165)
+  }
+
+  def "Scheduled events should be made on demand with the same times"() {
+
+    expect: "Views of events with start & end times"
+      track.events().collect { [it.startTime(), it.endTime(), it.delegate()] } == [
+        [LocalTime.of(9, 0), LocalTime.of(10, 0), talk("Java", 60)],
+        [LocalTime.of(10, 0), LocalTime.of(10, 45), talk("Groovy", 45)],
+        [LocalTime.of(10, 45), LocalTime.of(11, 45), lunch]
+      ]
+
+    and: "The same views to be returned again"
+      track.events().is(track.events())
+  }
+
+  def "Talks of track should be cached"() {
+
+    expect: "Talks without other events"
+      track.talks() == set(talk("Java", 60), talk("Groovy", 45))
+      track.talks().is(track.talks())
+  }
+
+  def "Tracks of the same events should be equal"() {
+
+    given: "Track built of the same events"
+      def sameTrack = ConferenceTrack.builder()
+        .scheduleEvent(talk("Java", 60))
+        .scheduleEvent(talk("Groovy", 45))
+        .scheduleEvent(lunch)
+        .build()
+
+    expect: "Tracks to be equal"
+      sameTrack == track
+      sameTrack.hashCode() == track.hashCode()
+  }
+
+  def "Track should start at given time"() {
+
+    given: "Track starting in the afternoon"
+      def afternoonTrack = ConferenceTrack.startingAt(LocalTime.of(14, 30))
+        .scheduleEvent(talk("Java", 60))
+        .scheduleEvent(new NetworkingEvent(Duration.ofMinutes(90)))
+        .build()
+
+    expect: "Events to follow each other from its start"
+      afternoonTrack.events().collect { [it.startTime(), it.endTime()] } == [
+        [LocalTime.of(14, 30), LocalTime.of(15, 30)],
+        [LocalTime.of(15, 30), LocalTime.of(17, 0)]
+      ]
+  }
+
+  def "Start time should not be changed once events are scheduled"() {
+
+    when: "Start time is set after event"
+      ConferenceTrack.builder().scheduleEvent(talk("Java", 60)).startTime(LocalTime.NOON)
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+
+  def "Track without events should not be built"() {
+
+    when: "Empty track is built"
+      ConferenceTrack.builder().build()
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+
+  def "Event sequence should not be scheduled as single event"() {
+
+    when: "Morning session is scheduled as event"
+      ConferenceTrack.builder().scheduleEvent(MorningSession.of(set(talk("Java", 60))))
+
+    then: "Exception should be thrown"
+      thrown(IllegalArgumentException)
+  }
+}
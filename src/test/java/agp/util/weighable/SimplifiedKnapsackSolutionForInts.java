@@ -17,15 +17,44 @@ public class SimplifiedKnapsackSolutionForInts implements
   private final SimplifiedKnapsackSolution<WeighableInt, Integer> generalSolution =
     new SimplifiedKnapsackSolution<>();
 
+  private final SimplifiedIntKnapsackSolution intSolution =
+    new SimplifiedIntKnapsackSolution();
+
+  private final boolean targetsGeneralSolution;
+
+
+  /* Targets primitive int solution by default */
+
+  public SimplifiedKnapsackSolutionForInts() {
+    this(false);
+  }
+
+  public static SimplifiedKnapsackSolutionForInts targetingGeneralSolution() {
+    return new SimplifiedKnapsackSolutionForInts(true);
+  }
+
+  private SimplifiedKnapsackSolutionForInts(boolean targetsGeneralSolution) {
+    this.targetsGeneralSolution = targetsGeneralSolution;
+  }
 
   @Override
   public List<Answer> apply(@NonNull List<Integer> ints, @NonNull Integer goal) {
-    return simplifyIntoAnswers(
-      generalSolution.apply(
-        adaptIntsForGeneralSolution(ints),
-        adaptGoalForGeneralSolution(goal)
-      )
-    );
+    if (targetsGeneralSolution) {
+      return simplifyIntoAnswers(
+        generalSolution.apply(
+          adaptIntsForGeneralSolution(ints),
+          adaptGoalForGeneralSolution(goal)
+        )
+      );
+    } else {
+      return simplifyIntoAnswers(
+        ints,
+        intSolution.apply(
+          adaptIntsForIntSolution(ints),
+          goal
+        )
+      );
+    }
   }
 
   /* Methods to adapt (wrap) arguments for contract of general solution */
@@ -39,6 +68,12 @@ public class SimplifiedKnapsackSolutionForInts implements
     return new WeighableInt(integer);
   }
 
+  /* Methods to adapt (unbox) arguments for contract of int solution */
+
+  private int[] adaptIntsForIntSolution(List<Integer> ints) {
+    return ints.stream().mapToInt(Integer::intValue).toArray();
+  }
+
   /* Methods to simplify (unwrap) general generalSolution result into client-known types */
 
   private List<Answer> simplifyIntoAnswers(List<WeighablesCombination<WeighableInt>> combinations) {
@@ -50,6 +85,20 @@ public class SimplifiedKnapsackSolutionForInts implements
     return new Answer(ints);
   }
 
+  /* Methods to simplify int solution result (indexes of ints) into client-known types */
+
+  private List<Answer> simplifyIntoAnswers(List<Integer> ints, List<int[]> combinations) {
+    return mapIntoList(combinations, indexes -> simplifyIntoAnswer(ints, indexes));
+  }
+
+  private Answer simplifyIntoAnswer(List<Integer> ints, int[] indexes) {
+    List<Integer> answerInts = new ArrayList<>(indexes.length);
+    for (int index : indexes) {
+      answerInts.add(ints.get(index));
+    }
+    return new Answer(answerInts);
+  }
+
   /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
   /*                                Auxiliary Classes                                */
   /* - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - */
@@ -77,5 +126,10 @@ public class SimplifiedKnapsackSolutionForInts implements
     public WeighableInt subtract(@NonNull Integer otherWeight) {
       return new WeighableInt(this.weight - otherWeight);
     }
+
+    @Override
+    public WeighableInt add(@NonNull Integer otherWeight) {
+      return new WeighableInt(this.weight + otherWeight);
+    }
   }
 }